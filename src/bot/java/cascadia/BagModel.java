@@ -0,0 +1,133 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A model of what is in the bag, used to sample tiles and tokens that could
+ * be drawn without drawing them from the real bag.
+ * Samples are taken with replacement, and are weighted by how many of each
+ * habitat, tile type and token are in the model.
+ */
+public class BagModel {
+	private final int[] habitats;
+	private final int[] tokens;
+	private final int keystones;
+	private final int nonKeystones;
+
+	public BagModel(int[] habitats, int keystones, int nonKeystones, int[] tokens) {
+		this.habitats = habitats.clone();
+		this.tokens = tokens.clone();
+		this.keystones = keystones;
+		this.nonKeystones = nonKeystones;
+		for (int i = 0; i < habitats.length; i++) {
+			// every habitat and token can still be drawn, however unlikely
+			this.habitats[i] = Math.max(1, habitats[i]);
+		}
+		for (int i = 0; i < tokens.length; i++) {
+			this.tokens[i] = Math.max(1, tokens[i]);
+		}
+	}
+
+	/**
+	 * Returns a model of what is left in the bag now.
+	 */
+	public static BagModel fromBag() {
+		int[] habitats = new int[Constants.NUM_HABITAT_TYPES];
+		for (Habitat habitat : Habitat.values()) {
+			habitats[habitat.ordinal()] = Bag.remainingHabitats.getOrDefault(habitat, 0);
+		}
+		int[] tokens = new int[Constants.NUM_TOKEN_TYPES];
+		for (WildlifeToken token : WildlifeToken.values()) {
+			tokens[token.ordinal()] = Bag.remainingTokens.getOrDefault(token, 0);
+		}
+		return new BagModel(habitats,
+				Bag.remainingTypes.getOrDefault(HabitatTile.TileType.KEYSTONE, 0),
+				Bag.remainingTypes.getOrDefault(HabitatTile.TileType.NON_KEYSTONE, 0), tokens);
+	}
+
+	/**
+	 * Returns a model of the bag at the start of a bot game.
+	 */
+	public static BagModel botGame() {
+		int[] habitats = new int[Constants.NUM_HABITAT_TYPES];
+		int[] tokens = new int[Constants.NUM_TOKEN_TYPES];
+		Arrays.fill(habitats, 1000);
+		Arrays.fill(tokens, 30);
+		return new BagModel(habitats, 25, 75, tokens);
+	}
+
+	// how many of each habitat, tile type and token there are
+	public int[] getHabitats() {
+		return habitats.clone();
+	}
+
+	public int getKeystones() {
+		return keystones;
+	}
+
+	public int getNonKeystones() {
+		return nonKeystones;
+	}
+
+	public int[] getTokens() {
+		return tokens.clone();
+	}
+
+	public HabitatTile sampleTile(SplittableRandom rand) {
+		boolean keystone = rand.nextInt(Math.max(1, keystones + nonKeystones)) < keystones;
+		Habitat habitat1 = Habitat.values()[sample(habitats, 0, rand)];
+		Habitat habitat2 = keystone ? habitat1
+				: Habitat.values()[sample(habitats, 1 << habitat1.ordinal(), rand)];
+		WildlifeToken[] options = new WildlifeToken[3];
+		// keystones have one token option, other tiles two or three
+		int numOptions = keystone ? 1 : rand.nextInt(2, 4);
+		int taken = 0;
+		for (int i = 0; i < numOptions; i++) {
+			int option = sample(tokens, taken, rand);
+			options[i] = WildlifeToken.values()[option];
+			taken |= 1 << option;
+		}
+		return HabitatTile.imagine(habitat1, habitat2, options);
+	}
+
+	public WildlifeToken sampleToken(SplittableRandom rand) {
+		return WildlifeToken.values()[sample(tokens, 0, rand)];
+	}
+
+	// samples an index in proportion to its weight, skipping the indexes in the mask
+	private static int sample(int[] weights, int mask, SplittableRandom rand) {
+		int total = 0;
+		for (int i = 0; i < weights.length; i++) {
+			if ((mask & 1 << i) == 0) {
+				total += weights[i];
+			}
+		}
+		int r = rand.nextInt(total);
+		for (int i = 0; i < weights.length; i++) {
+			if ((mask & 1 << i) == 0) {
+				r -= weights[i];
+				if (r < 0) {
+					return i;
+				}
+			}
+		}
+		throw new IllegalStateException("No index left to sample");
+	}
+}
@@ -15,41 +15,205 @@
 
 package cascadia;
 
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * A bot which plays the game cascadia.
+ * Each seat plays with its own plugin, so 2 to 4 bots can play against each
+ * other, with the same or different strategies.
+ *
+ * @see PluginChoice
  */
 public class BotMain {
+	/** The system property giving how many bots play, 2 if it isn't set. */
+	public static final String NUM_BOTS_PROPERTY = "cascadia.bots";
+	/**
+	 * The system property giving the plugin each seat plays with, separated
+	 * by commas, e.g. {@code standard,greedy}.  Seats without one play with
+	 * the standard plugin.
+	 */
+	public static final String PLUGINS_PROPERTY = "cascadia.plugins";
+	/** The system property giving each turn's time budget in milliseconds, 4500 if unset. */
+	public static final String BUDGET_PROPERTY = "cascadia.budgetMillis";
+	/**
+	 * The system property giving the time in milliseconds added to each
+	 * bot's bank after each of its turns, 0 if it isn't set.
+	 */
+	public static final String INCREMENT_PROPERTY = "cascadia.incrementMillis";
+	private static final int DEFAULT_NUM_BOTS = 2;
+	private static final int MAX_BOTS = 4;
+	private static final LatencyHistogram TURN_LATENCY = Metrics.histogram("bot.turn");
+	private static final LongAdder NODES = Metrics.counter("bot.nodes");
+	private static final LongAdder DEADLINE_HITS = Metrics.counter("bot.deadlineHits");
+	// deciding on a cull gets half of a typical turn's time
+	private static final double CULL_COMPLEXITY = 0.5;
 	private List<Player> players;
-	private static final int NUM_BOTS = 2;
+	private final int numBots;
 	int turn = 0;
 	int bestTokenIdx = 0;
 	int bestTileIdx = 0;
 	boolean useNatureToken = false;
-	String[] playerNames = new String[NUM_BOTS];
-	TileBot[] tileBots = new TileBot[NUM_BOTS];
-	TokenBot[] tokenBots = new TokenBot[NUM_BOTS];
+	String[] playerNames;
+	// the strategy of each seat
+	private final PluginChoice[] plugins;
+	// the clock of each seat
+	private final TimeControl[] timeControls;
+	// shares each seat's time out between its turns
+	private final TimeAllocator[] allocators;
+	// the seat of the player whose turn it is
+	private int seat = 0;
+	// the budget of the current turn, kept when a wipe means choosing again
+	private TurnBudget turnBudget;
+	// the plugin's nodes and the bytes allocated before the current turn started
+	private long turnNodes;
+	private long turnAllocated;
+	// false until the first turn, so the first player decides on a cull when the deck is dealt
+	private boolean started = false;
+	// {deck tile index, deck token index, row, col, rotation, token row, token col} of the
+	// move chosen, or null if nothing could be placed
+	private int[] chosenMove = null;
+	// bit mask of the deck tokens to wipe with a nature token, 0 to not wipe
+	private int wipeMask = 0;
+	// the latest turns and cull decisions of every seat
+	private final DecisionTrace trace = new DecisionTrace();
 
 	/**
-	 * Generates two tile and token bots.
+	 * Generates the bots, as many as the {@value #NUM_BOTS_PROPERTY} system
+	 * property asks for.
 	 */
 	public BotMain() {
-		playerNames[0] = "BOT A";
-		playerNames[1] = "BOT B";
-		tileBots[0] = new TileBot();
-		tileBots[1] = new TileBot();
-		tokenBots[0] = new TokenBot();
-		tokenBots[1] = new TokenBot();
+		this(Integer.getInteger(NUM_BOTS_PROPERTY, DEFAULT_NUM_BOTS),
+				TurnSearch.DEFAULT_MEMORY_BUDGET);
+	}
+
+	/**
+	 * Generates two bots.
+	 *
+	 * @param searchMemoryBudget the most memory, in bytes, each bot's search
+	 *                           tree may use
+	 */
+	public BotMain(long searchMemoryBudget) {
+		this(DEFAULT_NUM_BOTS, searchMemoryBudget);
+	}
+
+	/**
+	 * Generates a bot for each seat, with the plugins named by the
+	 * {@value #PLUGINS_PROPERTY} system property.
+	 *
+	 * @param numBots how many bots play, 2-4
+	 * @param searchMemoryBudget the most memory, in bytes, each standard
+	 *                           bot's search tree may use
+	 */
+	public BotMain(int numBots, long searchMemoryBudget) {
+		if (numBots < DEFAULT_NUM_BOTS || numBots > MAX_BOTS) {
+			throw new IllegalArgumentException("The number of bots (" + numBots
+					+ ") is not within the range 2-4.");
+		}
+		this.numBots = numBots;
+		String property = System.getProperty(PLUGINS_PROPERTY, "");
+		String[] names = property.isEmpty() ? new String[0] : property.split(",");
+		playerNames = new String[numBots];
+		plugins = new PluginChoice[numBots];
+		timeControls = new TimeControl[numBots];
+		allocators = new TimeAllocator[numBots];
+		long budget = Long.getLong(BUDGET_PROPERTY, TimeControl.DEFAULT_BUDGET_NANOS / 1_000_000);
+		long increment = Long.getLong(INCREMENT_PROPERTY, 0);
+		for (int i = 0; i < numBots; i++) {
+			playerNames[i] = "BOT " + (char) ('A' + i);
+			String name = i < names.length ? names[i].trim() : "";
+			plugins[i] = name.isEmpty() ? new StandardPlugin(searchMemoryBudget)
+					: PluginChoice.create(name);
+			timeControls[i] = new TimeControl(budget * 1_000_000, increment * 1_000_000);
+			allocators[i] = new TimeAllocator(budget * 1_000_000);
+			registerStats(i);
+		}
+	}
+
+	// exports the stats of the seat's plugin with the other metrics, rather than printing them
+	private void registerStats(int seat) {
+		String prefix = "bot.seat" + seat + ".";
+		Metrics.gauge(prefix + "turns", () -> plugins[seat].getStats().getTurns());
+		Metrics.gauge(prefix + "totalNanos", () -> plugins[seat].getStats().getTotalNanos());
+		Metrics.gauge(prefix + "maxNanos", () -> plugins[seat].getStats().getMaxNanos());
+		Metrics.gauge(prefix + "nodes", () -> plugins[seat].getStats().getNodes());
+	}
+
+	/**
+	 * Turns pondering (the bots thinking during each other's turns) on or off.
+	 */
+	public void setPondering(boolean pondering) {
+		for (PluginChoice plugin : plugins) {
+			plugin.setPondering(pondering);
+		}
 	}
 
 	public String[] makeBotPlayerNames() {
 		return playerNames;
 	}
 
+	/**
+	 * Starts a game between the players, warming up each plugin first.
+	 */
 	public void getBotPlayers(List<Player> playerList) {
 		players = playerList;
+		for (int i = 0; i < numBots; i++) {
+			plugins[i].warmUp();
+			plugins[i].newGame(players, i);
+		}
+	}
+
+	/**
+	 * Ends the game, stopping the plugins.  The trace of their decisions is
+	 * written out if {@value DecisionTrace#PROPERTY} is set, and how long each
+	 * took and how much it searched are exported with the metrics if
+	 * {@value Metrics#PROPERTY} is.
+	 */
+	public void endGame() {
+		// anything still searching on the last turn stops straight away
+		if (turnBudget != null) {
+			turnBudget.cancel();
+		}
+		for (int i = 0; i < numBots; i++) {
+			plugins[i].endGame();
+		}
+		String file = System.getProperty(DecisionTrace.PROPERTY);
+		if (file != null) {
+			try {
+				trace.dumpTo(Paths.get(file));
+			} catch (IOException e) {
+				Display.outln("Couldn't write the decision trace to " + file + ": "
+						+ e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Returns the trace of the bots' latest turns and cull decisions.
+	 */
+	public DecisionTrace getTrace() {
+		return trace;
+	}
+
+	// the bytes allocated on this thread since the given count, -1 if unknown
+	private static long allocatedSince(long allocated) {
+		return allocated < 0 ? -1 : DecisionTrace.allocatedBytes() - allocated;
+	}
+
+	TimeControl getTimeControl(int seat) {
+		return timeControls[seat];
+	}
+
+	PluginChoice getPlugin(int seat) {
+		return plugins[seat];
+	}
+
+	void setPlugin(int seat, PluginChoice plugin) {
+		plugins[seat] = plugin;
 	}
 
 	/**
@@ -58,58 +222,108 @@ public class BotMain {
 	 * strategies.
 	 */
 	public void makeBestChoiceFromDeck(Player currPlayer) {
-		Player nextPlayer = null;
-
-		for (Player p : players) {
-			if (!p.equals(currPlayer)) {
-				nextPlayer = p;
+		int currSeat = players.indexOf(currPlayer);
+		// after wiping tokens the player chooses again from the new deck, in the same turn
+		boolean wiped = started && wipeMask != 0 && currSeat == seat;
+		seat = currSeat;
+		started = true;
+		int remainingDraws = Bag.getMaxTiles() - Bag.tilesInUse();
+		int turnsLeft = EndgameSolver.turnsLeft(players.size(), seat, remainingDraws);
+		long nodes = plugins[seat].getStats().getNodes();
+		TurnBudget budget;
+		if (wiped) {
+			budget = turnBudget;
+			budget.deckChanged();
+		} else {
+			timeControls[seat].startTurn(allocators[seat].allocate(turnsLeft,
+					TimeAllocator.complexity(currPlayer.getMap(), CurrentDeck.getDeckTiles(),
+							CurrentDeck.getDeckTokens())));
+			// every other bot can think about its next turn on the new deck at the same time
+			for (int o = 1; o < numBots; o++) {
+				plugins[(seat + o) % numBots].otherTurnStarted(CurrentDeck.getDeckTiles(),
+						CurrentDeck.getDeckTokens());
 			}
+			budget = new TurnBudget(timeControls[seat]);
+			turnBudget = budget;
+			turnNodes = nodes;
+			turnAllocated = DecisionTrace.allocatedBytes();
 		}
 
-		BotTimer.startTimer();
-
-		int[] tilePreferences = tileBots[turn % 2].chooseStrategy(currPlayer, nextPlayer);
-		int[] tokenPreferences = tokenBots[turn % 2].chooseStrategy(currPlayer, nextPlayer);
-		System.out.printf("tile: %s\n", Arrays.toString(tilePreferences));
-		System.out.printf("token: %s\n", Arrays.toString(tokenPreferences));
-
-		int maxScore = tilePreferences[0] + tokenPreferences[0];
-		int maxScoreIdx = 0;
-		for (int i = 0; i < tilePreferences.length; i++) {
-			int score = tilePreferences[i] + tokenPreferences[i];
-			if (score >= maxScore) {
-				maxScore = score;
-				maxScoreIdx = i;
-			}
+		SearchEvent event = new SearchEvent();
+		event.begin();
+		chosenMove = plugins[seat].chooseMove(currPlayer, CurrentDeck.getDeckTiles(),
+				CurrentDeck.getDeckTokens(), turnsLeft, budget);
+		if (chosenMove == null) {
+			// the plugin gave up, so we play the best move it found before it did
+			chosenMove = budget.getBestSoFar();
+			budget.reportStrategy(DecisionTrace.Strategy.FALLBACK);
+		}
+		long searched = plugins[seat].getStats().getNodes() - nodes;
+		boolean deadlineHit = !timeControls[seat].isTimeLeft(1);
+		if (event.shouldCommit()) {
+			event.plugin = plugins[seat].getName();
+			event.nodes = searched;
+			event.depth = budget.getDepth();
+			event.budget = timeControls[seat].getTurnBudgetNanos();
+			event.move = Arrays.toString(chosenMove);
+			event.deadlineHit = deadlineHit;
+			event.commit();
+		}
+		NODES.add(searched);
+		if (deadlineHit) {
+			DEADLINE_HITS.increment();
+		}
+		wipeMask = currPlayer.getPlayerNatureTokens() > 0 ? plugins[seat].getTokensToWipe() : 0;
+		if (wipeMask == 0) {
+			endTurn(turnsLeft);
 		}
 
-		// if the maximum possible score is greater than the highest score + 2,
-		// we probably want to use a nature token (e.g. [4,0,0,0], [0,0,0,4])
-		int maxPossible = Arrays.stream(tilePreferences).max().getAsInt()
-				+ Arrays.stream(tokenPreferences).max().getAsInt();
-		if (maxPossible > maxScore + 2 && currPlayer.getPlayerNatureTokens() > 0) {
-			int tileMax = tilePreferences[0];
-			int tileIdx = 0;
-			int tokenMax = tokenPreferences[0];
-			int tokenIdx = 0;
-			for (int i = 0; i < Constants.MAX_DECK_SIZE; i++) {
-				if (tokenPreferences[i] >= tokenMax) {
-					tokenMax = tokenPreferences[i];
-					tokenIdx = i;
-				}
-				if (tilePreferences[i] >= tileMax) {
-					tileMax = tilePreferences[i];
-					tileIdx = i;
-				}
-			}
-			bestTileIdx = tileIdx;
-			bestTokenIdx = tokenIdx;
-			useNatureToken = true;
+		if (chosenMove == null) {
+			// there is nowhere to place any tile, so the choice doesn't matter
+			bestTileIdx = 0;
+			bestTokenIdx = 0;
+			useNatureToken = false;
 			return;
 		}
-		bestTokenIdx = maxScoreIdx;
-		bestTileIdx = maxScoreIdx;
-		useNatureToken = false;
+		bestTileIdx = chosenMove[0];
+		bestTokenIdx = chosenMove[1];
+		useNatureToken = bestTileIdx != bestTokenIdx;
+	}
+
+	// ends the clock of the current turn, and records how long it took
+	private void endTurn(int turnsLeft) {
+		long used = timeControls[seat].endTurn();
+		trace.record(plugins[seat].getName(), seat, turnsLeft, turnBudget,
+				plugins[seat].getStats().getNodes() - turnNodes, used,
+				allocatedSince(turnAllocated), chosenMove);
+		TURN_LATENCY.record(used);
+		allocators[seat].record(used);
+		plugins[seat].getStats().recordTurn(used);
+	}
+
+	/**
+	 * Asks the bot whose turn is next whether to cull the three matching
+	 * tokens in the deck.
+	 */
+	public boolean shouldCull() {
+		if (players == null) {
+			return true;
+		}
+		int next = started ? (seat + 1) % numBots : 0;
+		int remainingDraws = Bag.getMaxTiles() - Bag.tilesInUse();
+		int turnsLeft = EndgameSolver.turnsLeft(players.size(), next, remainingDraws);
+		// the time spent deciding comes out of the next player's clock
+		timeControls[next].startTurn(allocators[next].allocate(turnsLeft, CULL_COMPLEXITY));
+		TurnBudget budget = new TurnBudget(timeControls[next]);
+		long nodes = plugins[next].getStats().getNodes();
+		long allocated = DecisionTrace.allocatedBytes();
+		boolean cull = plugins[next].shouldCull(players.get(next), CurrentDeck.getDeckTiles(),
+				CurrentDeck.getDeckTokens(), turnsLeft, budget);
+		long used = timeControls[next].endTurn();
+		trace.record(plugins[next].getName(), next, turnsLeft, budget,
+				plugins[next].getStats().getNodes() - nodes, used, allocatedSince(allocated), null);
+		allocators[next].record(used);
+		return cull;
 	}
 
 	public int[] getBestChoice() {
@@ -118,11 +332,37 @@ public class BotMain {
 
 	// we want to make sure that after the
 	public boolean shouldUseNatureToken() {
-		return useNatureToken;
+		return useNatureToken || wipeMask != 0;
+	}
+
+	/**
+	 * True if the nature token should be spent wiping deck tokens, rather
+	 * than picking any tile and token.
+	 */
+	public boolean shouldWipeTokens() {
+		return wipeMask != 0;
+	}
+
+	/**
+	 * Returns the indexes of the deck tokens to wipe.
+	 */
+	public List<Integer> getTokensToWipe() {
+		List<Integer> chosen = new ArrayList<>();
+		for (int i = 0; i < CurrentDeck.getDeckTokens().size(); i++) {
+			if ((wipeMask & 1 << i) != 0) {
+				chosen.add(i);
+			}
+		}
+		return chosen;
 	}
 
 	public int bestTokenPlacement(Player player, WildlifeToken selectedToken, int deckIdx) {
-		return tokenBots[turn % 2].getBestPlacement(selectedToken, deckIdx, player);
+		if (chosenMove == null) {
+			return -1;
+		}
+		HabitatTile tile = player.getMap().returnTileAtPositionInMap(chosenMove[5],
+				chosenMove[6]);
+		return tile == null ? -1 : tile.getTileID();
 	}
 
 	public void incrementTurn() {
@@ -130,11 +370,20 @@ public class BotMain {
 	}
 
 	public int[] bestTilePlacement(int index) {
-		return tileBots[turn % 2].getDeckTilePlacementChoice(index);
+		if (chosenMove == null) {
+			return new int[]{-1, -1};
+		}
+		return new int[]{chosenMove[2], chosenMove[3]};
 	}
 
+	/**
+	 * Returns how many more times the deck tile needs to be rotated before
+	 * it is placed.
+	 */
 	public int getNumRotations(int index) {
-		return tileBots[turn % 2].getDeckTileNumRotations(index);
+		int rotation = chosenMove != null ? chosenMove[4] : 0;
+		int current = CurrentDeck.getDeckTiles().get(index).getRotation();
+		return (rotation - current + Constants.NUM_EDGES) % Constants.NUM_EDGES;
 	}
 
 }
@@ -0,0 +1,273 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoreCards;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A snapshot of a game at the start of a player's turn, as stored in a
+ * {@link PositionCorpus}.
+ * Each tile is packed into an int: bits 0-8 the cell (row * 20 + col), 9-11
+ * habitat 1, 12-14 habitat 2, 15-17 rotation, 18-22 a bit for each token
+ * option and 23-25 the placed token (0 for none, else its ordinal + 1).
+ * The maps and tiles are only made from these when they are asked for, so
+ * each call returns new ones which can be changed freely.
+ */
+public class CorpusPosition {
+	private static final int CELL_BITS = 9;
+	private final long seed;
+	private final int turn;
+	private final int toMove;
+	private final int turnsLeft;
+	private final String[] scorecards;
+	// the packed tiles of each player's map
+	private final int[][] boards;
+	private final int[] natureTokens;
+	private final int[] scores;
+	// the packed deck tiles (with no cell) and the deck tokens' ordinals
+	private final int[] deckTiles;
+	private final int[] deckTokens;
+	private final BagModel bag;
+
+	/**
+	 * @param seed the seed of the game the position is from
+	 * @param turn how many turns had been played, by every player
+	 */
+	public CorpusPosition(long seed, int turn, int toMove, int turnsLeft, String[] scorecards,
+						  int[][] boards, int[] natureTokens, int[] scores, int[] deckTiles,
+						  int[] deckTokens, BagModel bag) {
+		if (boards.length != natureTokens.length || boards.length != scores.length
+				|| toMove < 0 || toMove >= boards.length) {
+			throw new IllegalArgumentException("Every player needs a board, nature tokens and a "
+					+ "score, and the player to move must be one of them");
+		}
+		this.seed = seed;
+		this.turn = turn;
+		this.toMove = toMove;
+		this.turnsLeft = turnsLeft;
+		this.scorecards = scorecards.clone();
+		this.boards = new int[boards.length][];
+		for (int p = 0; p < boards.length; p++) {
+			this.boards[p] = boards[p].clone();
+		}
+		this.natureTokens = natureTokens.clone();
+		this.scores = scores.clone();
+		this.deckTiles = deckTiles.clone();
+		this.deckTokens = deckTokens.clone();
+		this.bag = bag;
+	}
+
+	/**
+	 * Packs a tile, and the cell it is in (row and col are ignored if the
+	 * tile isn't on a map).
+	 */
+	public static int pack(HabitatTile tile, int row, int col) {
+		int options = 0;
+		for (WildlifeToken option : tile.getTokenOptions()) {
+			if (option != null) {
+				options |= 1 << option.ordinal();
+			}
+		}
+		int placed = tile.getIsTokenPlaced() ? tile.getPlacedToken().ordinal() + 1 : 0;
+		int cell = row < 0 ? 0 : row * PlayerMap.BOARD_WIDTH + col;
+		return cell | tile.getHabitat1().ordinal() << 9 | tile.getHabitat2().ordinal() << 12
+				| tile.getRotation() << 15 | options << 18 | placed << 23;
+	}
+
+	/**
+	 * Packs every tile on a map, in row then column order.
+	 */
+	public static int[] packMap(PlayerMap map) {
+		List<Integer> tiles = new ArrayList<>();
+		HabitatTile[][] board = map.getTileBoardPosition();
+		for (int row = 0; row < board.length; row++) {
+			for (int col = 0; col < board[row].length; col++) {
+				HabitatTile tile = board[row][col];
+				if (tile != null && !tile.isFakeTile()) {
+					tiles.add(pack(tile, row, col));
+				}
+			}
+		}
+		return tiles.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	/**
+	 * Makes the tile a packed int describes, without its token.
+	 */
+	public static HabitatTile unpack(int packed) {
+		// tiles have at most three token options
+		WildlifeToken[] options = new WildlifeToken[3];
+		int numOptions = 0;
+		for (WildlifeToken token : WildlifeToken.values()) {
+			if ((packed >>> 18 & 1 << token.ordinal()) != 0) {
+				options[numOptions++] = token;
+			}
+		}
+		HabitatTile tile = HabitatTile.imagine(Habitat.values()[packed >>> 9 & 7],
+				Habitat.values()[packed >>> 12 & 7], options);
+		tile.rotateTile(rotation(packed));
+		return tile;
+	}
+
+	public static int row(int packed) {
+		return (packed & (1 << CELL_BITS) - 1) / PlayerMap.BOARD_WIDTH;
+	}
+
+	public static int col(int packed) {
+		return (packed & (1 << CELL_BITS) - 1) % PlayerMap.BOARD_WIDTH;
+	}
+
+	/**
+	 * Returns the token placed on a packed tile, or null if there isn't one.
+	 */
+	public static WildlifeToken placedToken(int packed) {
+		int placed = packed >>> 23 & 7;
+		return placed == 0 ? null : WildlifeToken.values()[placed - 1];
+	}
+
+	/**
+	 * Returns the packed tile with the token placed on it, or with no token if
+	 * it is null.
+	 */
+	static int withToken(int packed, WildlifeToken token) {
+		return packed & ~(7 << 23) | (token == null ? 0 : token.ordinal() + 1) << 23;
+	}
+
+	static int rotation(int packed) {
+		return packed >>> 15 & 7;
+	}
+
+	static int withRotation(int packed, int rotation) {
+		return packed & ~(7 << 15) | rotation << 15;
+	}
+
+	// a bit for each of the tile's token options
+	static int options(int packed) {
+		return packed >>> 18 & 0x1F;
+	}
+
+	static int withOptions(int packed, int options) {
+		return packed & ~(0x1F << 18) | options << 18;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getTurn() {
+		return turn;
+	}
+
+	public int getNumPlayers() {
+		return boards.length;
+	}
+
+	public int getToMove() {
+		return toMove;
+	}
+
+	public int getTurnsLeft() {
+		return turnsLeft;
+	}
+
+	public String[] getScorecards() {
+		return scorecards.clone();
+	}
+
+	/**
+	 * Makes the scorecards of the position the ones in use.
+	 */
+	public void useScorecards() {
+		System.arraycopy(scorecards, 0, ScoreCards.getScorecards(), 0, scorecards.length);
+	}
+
+	/**
+	 * Returns a player's packed tiles, e.g. for a compact copy of the board.
+	 */
+	public int[] getBoard(int player) {
+		return boards[player].clone();
+	}
+
+	public int getNatureTokens(int player) {
+		return natureTokens[player];
+	}
+
+	/**
+	 * Returns a player's score as if the game ended at the position.
+	 */
+	public int getScore(int player) {
+		return scores[player];
+	}
+
+	/**
+	 * Makes a player's map.
+	 */
+	public PlayerMap toMap(int player) {
+		PlayerMap map = PlayerMap.empty();
+		for (int packed : boards[player]) {
+			int row = row(packed);
+			int col = col(packed);
+			map.addTileToMap(unpack(packed), row, col);
+			WildlifeToken placed = placedToken(packed);
+			if (placed != null) {
+				map.placeTokenAt(row, col, placed);
+			}
+		}
+		return map;
+	}
+
+	/**
+	 * Makes a player, with their map and nature tokens.
+	 */
+	public Player toPlayer(int player, String name) {
+		Player p = new Player(name, toMap(player));
+		for (int i = 0; i < natureTokens[player]; i++) {
+			p.addPlayerNatureToken();
+		}
+		return p;
+	}
+
+	public List<HabitatTile> getDeckTiles() {
+		List<HabitatTile> tiles = new ArrayList<>();
+		for (int packed : deckTiles) {
+			tiles.add(unpack(packed));
+		}
+		return tiles;
+	}
+
+	public List<WildlifeToken> getDeckTokens() {
+		List<WildlifeToken> tokens = new ArrayList<>();
+		for (int token : deckTokens) {
+			tokens.add(WildlifeToken.values()[token]);
+		}
+		return tokens;
+	}
+
+	int[] getPackedDeckTiles() {
+		return deckTiles.clone();
+	}
+
+	int[] getPackedDeckTokens() {
+		return deckTokens.clone();
+	}
+
+	public BagModel getBag() {
+		return bag;
+	}
+}
@@ -0,0 +1,242 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The habitat corridors of a map, stored as a union-find structure for each
+ * habitat.  A tile is part of the corridors of both its habitats, and is
+ * joined to a neighbour when the edges they share are both that habitat,
+ * the same as in {@link cascadia.scoring.ScoringHabitatCorridors}.
+ *
+ * <p>The size a corridor would grow to if a tile was placed only depends on
+ * the corridors next to it, so it can be worked out from the tile's six
+ * neighbours, without copying the map or searching the corridors again.
+ */
+public class CorridorBoard {
+	private static final int NUM_CELLS = PlayerMap.BOARD_HEIGHT * PlayerMap.BOARD_WIDTH;
+	private static final int[] ROW_SHIFT = {-1, 0, 1, 1, 0, -1};
+	private static final int[] COL_SHIFT_EVEN = {1, 1, 1, 0, -1, 0};
+	private static final int[] COL_SHIFT_ODD = {0, 1, 0, -1, -1, -1};
+	private static final int EMPTY = -1;
+	// habitat of each edge of each cell, EMPTY if there is no tile
+	private final int[] edges = new int[NUM_CELLS * Constants.NUM_EDGES];
+	// union-find parent and component size, indexed by habitat then cell
+	private final int[] parent = new int[Constants.NUM_HABITAT_TYPES * NUM_CELLS];
+	private final int[] size = new int[Constants.NUM_HABITAT_TYPES * NUM_CELLS];
+	private final int[] longest = new int[Constants.NUM_HABITAT_TYPES];
+
+	public CorridorBoard(PlayerMap map) {
+		Arrays.fill(edges, EMPTY);
+		HabitatTile[][] board = map.getTileBoardPosition();
+		for (int row = 0; row < PlayerMap.BOARD_HEIGHT; row++) {
+			for (int col = 0; col < PlayerMap.BOARD_WIDTH; col++) {
+				HabitatTile tile = board[row][col];
+				if (tile != null && !tile.isFakeTile()) {
+					Habitat[] tileEdges = new Habitat[Constants.NUM_EDGES];
+					for (int i = 0; i < Constants.NUM_EDGES; i++) {
+						tileEdges[i] = tile.getEdge(i).getHabitatType();
+					}
+					place(tile, row, col, tileEdges);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the habitats of the edges of a tile in the given rotation (from
+	 * its starting orientation), without rotating the tile.
+	 */
+	public static Habitat[] rotatedEdges(HabitatTile tile, int rotation) {
+		Habitat[] rotated = new Habitat[Constants.NUM_EDGES];
+		for (int i = 0; i < Constants.NUM_EDGES; i++) {
+			Habitat habitat = i < Constants.NUM_EDGES / 2 ? tile.getHabitat1() : tile.getHabitat2();
+			rotated[(i + rotation) % Constants.NUM_EDGES] = habitat;
+		}
+		return rotated;
+	}
+
+	/**
+	 * Adds a tile to the board in the given rotation, joining it to the
+	 * corridors next to it.
+	 */
+	public void place(HabitatTile tile, int row, int col, int rotation) {
+		place(tile, row, col, rotatedEdges(tile, rotation));
+	}
+
+	private void place(HabitatTile tile, int row, int col, Habitat[] tileEdges) {
+		int cell = cell(row, col);
+		for (int i = 0; i < Constants.NUM_EDGES; i++) {
+			edges[cell * Constants.NUM_EDGES + i] = tileEdges[i].ordinal();
+		}
+		for (Habitat habitat : habitatsOf(tile)) {
+			int h = habitat.ordinal();
+			parent[index(h, cell)] = cell;
+			size[index(h, cell)] = 1;
+			for (int i = 0; i < Constants.NUM_EDGES; i++) {
+				int neighbour = neighbour(row, col, i);
+				if (tileEdges[i] == habitat && joins(neighbour, i, h)) {
+					union(h, cell, neighbour);
+				}
+			}
+			longest[h] = Math.max(longest[h], size[index(h, find(h, cell))]);
+		}
+	}
+
+	/**
+	 * Returns the size of the corridor of the habitat which the tile would be
+	 * part of if it was placed at the cell with the given edges.
+	 */
+	public int grownCorridorSize(int row, int col, Habitat[] tileEdges, Habitat habitat) {
+		int h = habitat.ordinal();
+		int[] roots = new int[Constants.NUM_EDGES];
+		int numRoots = 0;
+		int grown = 1;
+		for (int i = 0; i < Constants.NUM_EDGES; i++) {
+			int neighbour = neighbour(row, col, i);
+			if (tileEdges[i] == habitat && joins(neighbour, i, h)) {
+				int root = find(h, neighbour);
+				if (!contains(roots, numRoots, root)) {
+					roots[numRoots++] = root;
+					grown += size[index(h, root)];
+				}
+			}
+		}
+		return grown;
+	}
+
+	/**
+	 * Returns an upper bound on {@link #grownCorridorSize} over every
+	 * rotation of a tile, as if every edge of the tile was the habitat.
+	 */
+	public int maxGrownCorridorSize(int row, int col, Habitat habitat) {
+		Habitat[] allEdges = new Habitat[Constants.NUM_EDGES];
+		Arrays.fill(allEdges, habitat);
+		return grownCorridorSize(row, col, allEdges, habitat);
+	}
+
+	/**
+	 * Returns the size of the longest corridor of each habitat.
+	 */
+	public int[] getLongestCorridorSizes() {
+		return longest.clone();
+	}
+
+	public int getLongestCorridorSize(Habitat habitat) {
+		return longest[habitat.ordinal()];
+	}
+
+	/**
+	 * Returns the {row, col} of every empty cell next to a tile.
+	 */
+	public List<int[]> frontier() {
+		List<int[]> cells = new ArrayList<>();
+		for (int row = 1; row < PlayerMap.BOARD_HEIGHT - 1; row++) {
+			for (int col = 1; col < PlayerMap.BOARD_WIDTH - 1; col++) {
+				if (isEmpty(cell(row, col)) && hasNeighbour(row, col)) {
+					cells.add(new int[]{row, col});
+				}
+			}
+		}
+		return cells;
+	}
+
+	private boolean hasNeighbour(int row, int col) {
+		for (int i = 0; i < Constants.NUM_EDGES; i++) {
+			int neighbour = neighbour(row, col, i);
+			if (neighbour != EMPTY && !isEmpty(neighbour)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// the habitats a tile is part of the corridors of, once each
+	static Habitat[] habitatsOf(HabitatTile tile) {
+		if (tile.getHabitat1() == tile.getHabitat2()) {
+			return new Habitat[]{tile.getHabitat1()};
+		}
+		return new Habitat[]{tile.getHabitat1(), tile.getHabitat2()};
+	}
+
+	// whether there is a tile in the neighbouring cell whose edge facing edge i is habitat h
+	private boolean joins(int neighbour, int i, int h) {
+		return neighbour != EMPTY && edges[neighbour * Constants.NUM_EDGES
+				+ (i + Constants.NUM_EDGES / 2) % Constants.NUM_EDGES] == h;
+	}
+
+	private boolean isEmpty(int cell) {
+		return edges[cell * Constants.NUM_EDGES] == EMPTY;
+	}
+
+	// the cell across the given edge, or -1 if it is off the board
+	static int neighbour(int row, int col, int edge) {
+		int[] colShift = row % 2 == 0 ? COL_SHIFT_EVEN : COL_SHIFT_ODD;
+		int r = row + ROW_SHIFT[edge];
+		int c = col + colShift[edge];
+		if (r < 0 || r >= PlayerMap.BOARD_HEIGHT || c < 0 || c >= PlayerMap.BOARD_WIDTH) {
+			return EMPTY;
+		}
+		return cell(r, c);
+	}
+
+	private static int cell(int row, int col) {
+		return row * PlayerMap.BOARD_WIDTH + col;
+	}
+
+	private static int index(int h, int cell) {
+		return h * NUM_CELLS + cell;
+	}
+
+	private int find(int h, int cell) {
+		int i = index(h, cell);
+		while (parent[i] != cell) {
+			// path halving
+			parent[i] = parent[index(h, parent[i])];
+			cell = parent[i];
+			i = index(h, cell);
+		}
+		return cell;
+	}
+
+	private void union(int h, int a, int b) {
+		int rootA = find(h, a);
+		int rootB = find(h, b);
+		if (rootA == rootB) {
+			return;
+		}
+		if (size[index(h, rootA)] < size[index(h, rootB)]) {
+			int tmp = rootA;
+			rootA = rootB;
+			rootB = tmp;
+		}
+		parent[index(h, rootB)] = rootA;
+		size[index(h, rootA)] += size[index(h, rootB)];
+	}
+
+	private static boolean contains(int[] values, int length, int value) {
+		for (int i = 0; i < length; i++) {
+			if (values[i] == value) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
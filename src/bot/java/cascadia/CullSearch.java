@@ -0,0 +1,124 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Decides whether to cull three matching tokens in the deck.
+ * The best move with the deck as it is is compared with the best move
+ * averaged over sampled refills of the culled tokens.  The score of a pair
+ * only depends on the tile and the type of token, so every tile and token
+ * type is scored once, and each sample is just a few lookups.
+ */
+public class CullSearch {
+	/** How many refills are sampled when there is time. */
+	public static final int SAMPLES = 256;
+	private final EvaluationPolicy policy;
+	private final SplittableRandom rand;
+	private int samplesTaken = 0;
+
+	public CullSearch(EvaluationPolicy policy, SplittableRandom rand) {
+		this.policy = policy;
+		this.rand = rand;
+	}
+
+	/**
+	 * Returns true if culling is expected to leave a better best move than
+	 * keeping the deck.  If there is no time to take a sample the tokens are
+	 * culled, as the bots always did before.
+	 *
+	 * @param placements {row, col, rotation} of each deck tile, as for
+	 *                   {@link EvaluationPolicy#choose}
+	 * @param bag what could be drawn to replace the culled tokens
+	 */
+	public boolean shouldCull(PlayerMap map, int natureTokens, int turnsLeft,
+							  List<HabitatTile> tiles, List<WildlifeToken> tokens,
+							  int[][] placements, BagModel bag, BooleanSupplier keepGoing) {
+		samplesTaken = 0;
+		WildlifeToken tripled = tripled(tokens);
+		if (tripled == null) {
+			return false;
+		}
+		float[][][] pairs = policy.pairScores(map, natureTokens, turnsLeft, tiles, placements,
+				keepGoing);
+		float keep = bestMove(pairs, tokens);
+
+		float total = 0;
+		while (samplesTaken < SAMPLES && keepGoing.getAsBoolean()) {
+			total += bestMove(pairs, cull(tokens, tripled, bag, rand));
+			samplesTaken++;
+		}
+		return samplesTaken == 0 || total / samplesTaken > keep;
+	}
+
+	/**
+	 * Returns how many refills were sampled by the last decision.
+	 */
+	public int getSamplesTaken() {
+		return samplesTaken;
+	}
+
+	// the score of the best move with the given deck tokens, -infinity if there isn't one
+	static float bestMove(float[][][] pairs, List<WildlifeToken> tokens) {
+		float best = Float.NEGATIVE_INFINITY;
+		for (int i = 0; i < pairs[0].length; i++) {
+			for (int j = 0; j < tokens.size(); j++) {
+				float score = pairs[i == j ? 0 : 1][i][tokens.get(j).ordinal()];
+				// NaN when the tile can't be placed or the pair can't be split
+				if (score > best) {
+					best = score;
+				}
+			}
+		}
+		return best;
+	}
+
+	// the token there are at least three of, or null if there isn't one
+	static WildlifeToken tripled(List<WildlifeToken> tokens) {
+		int[] counts = new int[Constants.NUM_TOKEN_TYPES];
+		for (WildlifeToken token : tokens) {
+			if (token != null && ++counts[token.ordinal()] >= 3) {
+				return token;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the deck tokens after a cull.  As in the real game, the culled
+	 * tokens are replaced where they were, and if the four tokens are then
+	 * all the same they are all replaced.
+	 */
+	static List<WildlifeToken> cull(List<WildlifeToken> tokens, WildlifeToken tripled,
+									BagModel bag, SplittableRandom rand) {
+		List<WildlifeToken> after = new ArrayList<>(tokens);
+		for (int i = 0; i < after.size(); i++) {
+			if (after.get(i) == tripled) {
+				after.set(i, bag.sampleToken(rand));
+			}
+		}
+		while (after.stream().distinct().count() == 1) {
+			for (int i = 0; i < after.size(); i++) {
+				after.set(i, bag.sampleToken(rand));
+			}
+		}
+		return after;
+	}
+}
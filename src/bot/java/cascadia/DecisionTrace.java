@@ -0,0 +1,242 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * A trace of the bots' last decisions, kept in a ring buffer so recording
+ * one costs a few array writes rather than printing.  Each decision has the
+ * plugin and seat, the strategy that chose the move, how many candidates
+ * (nodes) were looked at, the time spent in each phase of the turn, the
+ * bytes allocated on the bot's thread and the move.
+ * Plugins time their phases and report their strategy through the
+ * {@link TurnBudget}.  The trace is written to the file named by the
+ * {@value #PROPERTY} system property when the game ends, or on demand with
+ * {@link #dump()}.
+ *
+ * @see BotMain#getTrace()
+ */
+public class DecisionTrace {
+	public static final String PROPERTY = "cascadia.trace";
+	private static final int DEFAULT_CAPACITY = 256;
+
+	/** The parts of a turn which are timed. */
+	public enum Phase {
+		ENDGAME, REROOT, PLACEMENTS, EVALUATION, WIPE, SEARCH, CULL
+	}
+
+	/** What chose the move (or the cull). */
+	public enum Strategy {
+		ENDGAME, EVALUATION, WIPE, SEARCH, FALLBACK, CULL, KEEP
+	}
+
+	static final int NUM_PHASES = Phase.values().length;
+	private static final Phase[] PHASES = Phase.values();
+	private static final Strategy[] STRATEGIES = Strategy.values();
+	// the fields of each decision, followed by the time of each phase
+	private static final int SEAT = 0;
+	private static final int TURNS_LEFT = 1;
+	private static final int STRATEGY = 2;
+	private static final int CANDIDATES = 3;
+	private static final int NANOS = 4;
+	private static final int ALLOCATED = 5;
+	private static final int MOVE = 6;
+	private static final int PHASE_NANOS = 7;
+	private static final int FIELDS = PHASE_NANOS + NUM_PHASES;
+	private static final com.sun.management.ThreadMXBean THREADS = threadBean();
+	private final long[] records;
+	private final String[] plugins;
+	private final int capacity;
+	// the number of decisions ever recorded, the next one goes at total % capacity
+	private long total = 0;
+
+	public DecisionTrace() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity how many of the latest decisions are kept
+	 */
+	public DecisionTrace(int capacity) {
+		if (capacity < 1) {
+			throw new IllegalArgumentException("The trace must hold at least one decision.  "
+					+ "capacity was " + capacity);
+		}
+		this.capacity = capacity;
+		records = new long[capacity * FIELDS];
+		plugins = new String[capacity];
+	}
+
+	private static com.sun.management.ThreadMXBean threadBean() {
+		if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads =
+					(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+			if (threads.isThreadAllocatedMemorySupported()
+					&& threads.isThreadAllocatedMemoryEnabled()) {
+				return threads;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns how many bytes the current thread has allocated so far, or -1
+	 * if the JVM can't tell us.
+	 */
+	public static long allocatedBytes() {
+		return THREADS == null ? -1 : THREADS.getCurrentThreadAllocatedBytes();
+	}
+
+	/**
+	 * Records a decision, replacing the oldest one if the trace is full.
+	 *
+	 * @param budget the budget of the turn, which holds the strategy and phase times
+	 * @param allocatedBytes the bytes allocated on the bot's thread, -1 if unknown
+	 * @param move the move chosen, or null for a cull decision or no move
+	 */
+	public synchronized void record(String plugin, int seat, int turnsLeft, TurnBudget budget,
+									long candidates, long nanos, long allocatedBytes, int[] move) {
+		int slot = (int) (total % capacity);
+		int start = slot * FIELDS;
+		Strategy strategy = budget.getStrategy();
+		plugins[slot] = plugin;
+		records[start + SEAT] = seat;
+		records[start + TURNS_LEFT] = turnsLeft;
+		records[start + STRATEGY] = strategy == null ? -1 : strategy.ordinal();
+		records[start + CANDIDATES] = candidates;
+		records[start + NANOS] = nanos;
+		records[start + ALLOCATED] = allocatedBytes;
+		records[start + MOVE] = pack(move);
+		for (int p = 0; p < NUM_PHASES; p++) {
+			records[start + PHASE_NANOS + p] = budget.getPhaseNanos(PHASES[p]);
+		}
+		total++;
+	}
+
+	// packs each part of a move (all between -1 and 62) into 6 bits, or -1 for no move
+	private static long pack(int[] move) {
+		if (move == null) {
+			return -1;
+		}
+		long packed = 0;
+		for (int i = 0; i < move.length; i++) {
+			packed |= (long) (move[i] + 1 & 0x3F) << (6 * i);
+		}
+		return packed;
+	}
+
+	private static String unpack(long packed) {
+		if (packed == -1) {
+			return "-";
+		}
+		StringBuilder move = new StringBuilder("[");
+		for (int i = 0; i < 7; i++) {
+			move.append(i == 0 ? "" : ",").append((int) (packed >>> (6 * i) & 0x3F) - 1);
+		}
+		return move.append(']').toString();
+	}
+
+	/**
+	 * Returns how many decisions are held, at most the capacity.
+	 */
+	public synchronized int size() {
+		return (int) Math.min(total, capacity);
+	}
+
+	/**
+	 * Returns how many decisions have been recorded, including those replaced.
+	 */
+	public synchronized long getTotal() {
+		return total;
+	}
+
+	// the start of the decision held at the given index, 0 being the oldest
+	private int start(int index) {
+		if (index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("There is no decision " + index + " in a trace "
+					+ "of " + size());
+		}
+		return (int) ((total - size() + index) % capacity) * FIELDS;
+	}
+
+	/**
+	 * Returns the strategy of a decision, 0 being the oldest held, or null if
+	 * the plugin didn't report one.
+	 */
+	public synchronized Strategy getStrategy(int index) {
+		long strategy = records[start(index) + STRATEGY];
+		return strategy < 0 ? null : STRATEGIES[(int) strategy];
+	}
+
+	public synchronized long getCandidates(int index) {
+		return records[start(index) + CANDIDATES];
+	}
+
+	public synchronized long getPhaseNanos(int index, Phase phase) {
+		return records[start(index) + PHASE_NANOS + phase.ordinal()];
+	}
+
+	public synchronized long getAllocatedBytes(int index) {
+		return records[start(index) + ALLOCATED];
+	}
+
+	/**
+	 * Returns a table of the decisions held, oldest first, with times in
+	 * milliseconds and allocations in kilobytes.
+	 */
+	public synchronized String dump() {
+		StringBuilder table = new StringBuilder(String.format(
+				"%-8s %-9s %4s %5s %-10s %10s %9s %9s", "decision", "plugin", "seat", "left",
+				"strategy", "candidates", "total", "kb"));
+		for (Phase phase : PHASES) {
+			table.append(String.format(" %10s", phase.name().toLowerCase()));
+		}
+		table.append("  move\n");
+		for (int i = 0; i < size(); i++) {
+			int start = start(i);
+			long strategy = records[start + STRATEGY];
+			long allocated = records[start + ALLOCATED];
+			table.append(String.format("%-8d %-9s %4d %5d %-10s %10d %9.2f %9s", total - size() + i,
+					plugins[start / FIELDS], records[start + SEAT],
+					records[start + TURNS_LEFT],
+					strategy < 0 ? "-" : STRATEGIES[(int) strategy].name().toLowerCase(),
+					records[start + CANDIDATES], records[start + NANOS] / 1e6,
+					allocated < 0 ? "-" : Long.toString(allocated >> 10)));
+			for (int p = 0; p < NUM_PHASES; p++) {
+				table.append(String.format(" %10.2f", records[start + PHASE_NANOS + p] / 1e6));
+			}
+			table.append("  ").append(unpack(records[start + MOVE])).append('\n');
+		}
+		return table.toString();
+	}
+
+	/**
+	 * Writes {@link #dump()} to a file, replacing it.
+	 */
+	public void dumpTo(Path path) throws IOException {
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		Files.write(tmp, dump().getBytes(StandardCharsets.UTF_8));
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+}
@@ -0,0 +1,492 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoreBounds;
+import cascadia.scoring.ScoringHabitatCorridors;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Solves the last turns of a bot's game.
+ * With one turn left every pair, placement, rotation and token placement
+ * (including splitting a pair with a nature token) is tried, and the
+ * corridors are scored along with the end of game bonuses for the longest
+ * corridors.  With two turns left the best first moves are searched another
+ * turn deep, averaging the last turn over refills sampled from what is left
+ * in the bag and the other players taking random pairs, i.e. an expectimax
+ * with sampled chance nodes.
+ * Only the last turn is solved exactly.  With two turns left the chance
+ * nodes are every refill and every pick by the other players, far too many
+ * to enumerate in a turn.  So the second turn is sampled rather than
+ * solved, and only the best few first moves by their immediate value are
+ * searched that deep.
+ * The moves are searched in parallel.  If the deadline is reached the
+ * scenarios sampled so far are used, but if there are too few (or the first
+ * turn wasn't searched) no move is returned, so the normal bots can be used
+ * instead.
+ */
+public class EndgameSolver {
+	/** The solver is used once a player has this many turns or fewer left. */
+	public static final int MAX_TURNS = 2;
+	// indexes of the move arrays
+	static final int TILE = 0;
+	static final int TOKEN = 1;
+	static final int ROW = 2;
+	static final int COL = 3;
+	static final int ROTATION = 4;
+	static final int TOKEN_ROW = 5;
+	static final int TOKEN_COL = 6;
+	static final int VALUE = 7;
+	// how many first moves are searched a second turn deep
+	static final int FIRST_MOVES = 8;
+	// sampled refills and picks by the other players for each first move
+	private static final int SCENARIOS = 8;
+	// if time runs out, this many scenarios of each first move are needed to use the result
+	static final int MIN_SCENARIOS = 3;
+	private final TranspositionTable table;
+	private final ForkJoinPool pool;
+	private final SplittableRandom rand;
+
+	public EndgameSolver(TranspositionTable table) {
+		this(table, Runtime.getRuntime().availableProcessors(), new SplittableRandom());
+	}
+
+	public EndgameSolver(TranspositionTable table, int threads, SplittableRandom rand) {
+		this.table = table;
+		this.pool = new ForkJoinPool(threads);
+		this.rand = rand;
+	}
+
+	/**
+	 * Returns how many turns, including the current one, the player in the
+	 * given seat has left.  Rounds are always played in full, and the deck
+	 * is only refilled while there are tiles left to draw.
+	 *
+	 * @param seat the index of the player in the turn order
+	 * @param remainingDraws how many more tiles can be drawn, i.e.
+	 *                       {@code Bag.getMaxTiles() - Bag.tilesInUse()}
+	 */
+	public static int turnsLeft(int numPlayers, int seat, int remainingDraws) {
+		int turns = 1;
+		int draws = remainingDraws;
+		// the refills after our turn and the rest of this round
+		for (int p = seat; p < numPlayers; p++) {
+			draws = Math.max(0, draws - 1);
+		}
+		while (draws > 0) {
+			turns++;
+			draws = Math.max(0, draws - numPlayers);
+		}
+		return turns;
+	}
+
+	/**
+	 * Finds the best move for the player's last turns.
+	 *
+	 * @param players every player, in turn order
+	 * @param deckTiles the tiles in the deck
+	 * @param deckTokens the tokens in the deck
+	 * @param turnsLeft how many turns the player has left, at most
+	 *                  {@link #MAX_TURNS}
+	 * @param remainingDraws how many more tiles can be drawn
+	 * @param pollers makes the time check of each of the solver's tasks, on
+	 *                the thread it runs on, so each has its own poll counter.
+	 *                The checks are made regularly, and the solver gives up
+	 *                once one returns false
+	 * @return {deck tile index, deck token index, row, col, rotation, token
+	 * 			row, token col, value}, where the token row and col are -1 if the
+	 * 			token can't be placed and the rotation is from the tile's
+	 * 			starting orientation.  Null if the solver ran out of time
+	 */
+	public int[] solve(Player player, List<Player> players, List<HabitatTile> deckTiles,
+					   List<WildlifeToken> deckTokens, int turnsLeft, int remainingDraws,
+					   Supplier<BooleanSupplier> pollers) {
+		int[][] others = new int[players.size() - 1][];
+		int o = 0;
+		for (Player p : players) {
+			if (p != player) {
+				others[o++] = new CorridorBoard(p.getMap()).getLongestCorridorSizes();
+			}
+		}
+		return solve(player.getMap(), player.getPlayerNatureTokens(), others, deckTiles,
+				deckTokens, turnsLeft, remainingDraws, BagModel.fromBag(), pollers);
+	}
+
+	/**
+	 * Finds the best move for the last turns of a player with the given map,
+	 * away from the real game.
+	 *
+	 * @param others the longest corridor sizes of each other player
+	 * @param bag what the deck is refilled from
+	 * @see #solve(Player, List, List, List, int, int, Supplier)
+	 */
+	public int[] solve(PlayerMap map, int natureTokens, int[][] others,
+					   List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens, int turnsLeft,
+					   int remainingDraws, BagModel bag, Supplier<BooleanSupplier> pollers) {
+		// everything the workers use is copied first, so the game can't change under them
+		List<HabitatTile> tiles = new ArrayList<>();
+		for (HabitatTile tile : deckTiles) {
+			tiles.add(tile.duplicate());
+		}
+		Position position = new Position(map.copy(), tiles, new ArrayList<>(deckTokens),
+				natureTokens);
+
+		try {
+			if (turnsLeft <= 1) {
+				List<int[]> moves = parallelTopMoves(position, others, 1, pollers);
+				return moves == null || moves.isEmpty() ? null : moves.get(0);
+			}
+			return solveTwoTurns(position, others, bag, remainingDraws, pollers);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("The endgame solver failed", e.getCause());
+		}
+	}
+
+	/**
+	 * Ends the solver's threads.  It can't be used afterwards.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	/*
+		Each round samples one more scenario for every first move, so if we run out of
+		time every first move has been sampled the same number of times
+	 */
+	private int[] solveTwoTurns(Position position, int[][] others, BagModel bag,
+								int remainingDraws, Supplier<BooleanSupplier> pollers)
+			throws InterruptedException, ExecutionException {
+		List<int[]> firsts = parallelTopMoves(position, others, FIRST_MOVES, pollers);
+		if (firsts == null || firsts.isEmpty()) {
+			return null;
+		}
+
+		List<Position> afterFirst = new ArrayList<>();
+		// each first move has its own generator, so the result doesn't depend on the scheduling
+		List<SplittableRandom> rands = new ArrayList<>();
+		for (int[] first : firsts) {
+			afterFirst.add(position.play(first));
+			rands.add(rand.split());
+		}
+		double[] totals = new double[firsts.size()];
+		int rounds = 0;
+		while (rounds < SCENARIOS) {
+			List<Callable<Integer>> tasks = new ArrayList<>();
+			for (int i = 0; i < firsts.size(); i++) {
+				Position after = afterFirst.get(i);
+				SplittableRandom taskRand = rands.get(i);
+				tasks.add(() -> lastTurnScenario(after, others, bag, remainingDraws, taskRand,
+						pollers.get()));
+			}
+			List<Future<Integer>> results = pool.invokeAll(tasks);
+			boolean complete = true;
+			double[] round = new double[firsts.size()];
+			for (int i = 0; i < firsts.size(); i++) {
+				Integer value = results.get(i).get();
+				if (value == null) {
+					complete = false;
+				} else {
+					round[i] = value;
+				}
+			}
+			if (!complete) {
+				break;
+			}
+			for (int i = 0; i < firsts.size(); i++) {
+				totals[i] += round[i];
+			}
+			rounds++;
+		}
+		if (rounds < MIN_SCENARIOS) {
+			return null;
+		}
+
+		int[] best = null;
+		double bestValue = 0;
+		for (int i = 0; i < firsts.size(); i++) {
+			double value = firsts.get(i)[VALUE] + totals[i] / rounds;
+			if (best == null || value > bestValue) {
+				best = firsts.get(i);
+				bestValue = value;
+			}
+		}
+		return best;
+	}
+
+	/*
+		Samples a refill and picks by the other players, and returns the value of the
+		best last turn, or null if we ran out of time
+	 */
+	private Integer lastTurnScenario(Position position, int[][] others, BagModel bag,
+									 int remainingDraws, SplittableRandom rand,
+									 BooleanSupplier keepGoing) {
+		List<HabitatTile> tiles = new ArrayList<>(position.tiles);
+		List<WildlifeToken> tokens = new ArrayList<>(position.tokens);
+		int draws = remainingDraws;
+		// the refill after our turn, then each other player's turn and refill
+		for (int p = 0; p <= others.length; p++) {
+			if (p > 0 && !tiles.isEmpty() && !tokens.isEmpty()) {
+				int pick = rand.nextInt(Math.min(tiles.size(), tokens.size()));
+				tiles.remove(pick);
+				tokens.remove(pick);
+			}
+			if (draws > 0) {
+				tiles.add(bag.sampleTile(rand));
+				tokens.add(bag.sampleToken(rand));
+				draws--;
+			}
+		}
+		List<int[]> last = topMoves(new Position(position.map, tiles, tokens,
+				position.natureTokens), others, -1, 1, keepGoing);
+		if (last == null) {
+			return null;
+		}
+		return last.isEmpty() ? 0 : last.get(0)[VALUE];
+	}
+
+	// searches each deck tile on its own thread, and merges the best moves
+	private List<int[]> parallelTopMoves(Position position, int[][] others, int count,
+										 Supplier<BooleanSupplier> pollers)
+			throws InterruptedException, ExecutionException {
+		List<Callable<List<int[]>>> tasks = new ArrayList<>();
+		for (int i = 0; i < position.tiles.size(); i++) {
+			int tile = i;
+			tasks.add(() -> topMoves(position, others, tile, count, pollers.get()));
+		}
+		List<int[]> moves = new ArrayList<>();
+		for (Future<List<int[]>> result : pool.invokeAll(tasks)) {
+			List<int[]> tileMoves = result.get();
+			if (tileMoves == null) {
+				return null;
+			}
+			moves.addAll(tileMoves);
+		}
+		moves.sort(Comparator.comparingInt((int[] move) -> move[VALUE]).reversed());
+		return moves.subList(0, Math.min(count, moves.size()));
+	}
+
+	/*
+		Tries every move using the given deck tile (or every tile if onlyTile is -1),
+		returning the best count moves, best first, or null if we ran out of time.
+		The value of a move is how much it increases the player's score, counting the
+		corridor bonuses against the other players' current corridors.
+	 */
+	private List<int[]> topMoves(Position position, int[][] others, int onlyTile, int count,
+								 BooleanSupplier keepGoing) {
+		PlayerMap map = position.map;
+		CorridorBoard board = new CorridorBoard(map);
+		int[] sizes = board.getLongestCorridorSizes();
+		int corridorScore = corridorScore(sizes, others);
+		// the best place for each token on the map as it is
+		Map<WildlifeToken, int[]> tokenPlacements = new EnumMap<>(WildlifeToken.class);
+		for (WildlifeToken token : position.tokens) {
+			tokenPlacements.computeIfAbsent(token, t -> bestTokenPlacement(map, t));
+		}
+
+		PriorityQueue<int[]> best = new PriorityQueue<>(
+				Comparator.comparingInt((int[] move) -> move[VALUE]));
+		for (int i = 0; i < position.tiles.size(); i++) {
+			if (onlyTile >= 0 && i != onlyTile) {
+				continue;
+			}
+			HabitatTile tile = position.tiles.get(i);
+			for (int[] cell : board.frontier()) {
+				if (!keepGoing.getAsBoolean()) {
+					return null;
+				}
+				// the corridors only depend on the rotation, and the tokens only on the cell
+				int bestRotation = 0;
+				int corridorGain = Integer.MIN_VALUE;
+				int rotations = tile.isKeystone() ? 1 : Constants.NUM_EDGES;
+				for (int rotation = 0; rotation < rotations; rotation++) {
+					int gain = corridorScoreAfter(board, cell, tile, rotation, sizes, others)
+							- corridorScore;
+					if (gain > corridorGain) {
+						corridorGain = gain;
+						bestRotation = rotation;
+					}
+				}
+
+				Map<WildlifeToken, Integer> onNewTile = new EnumMap<>(WildlifeToken.class);
+				for (int j = 0; j < position.tokens.size(); j++) {
+					boolean split = i != j;
+					if (split && position.natureTokens == 0) {
+						continue;
+					}
+					WildlifeToken token = position.tokens.get(j);
+					int[] placement = tokenPlacements.get(token);
+					int tokenGain = placement[0];
+					int tokenRow = placement[1];
+					int tokenCol = placement[2];
+					if (canHold(tile, token)) {
+						int gain = onNewTile.computeIfAbsent(token,
+								t -> gainOnNewTile(map, tile, cell, t));
+						if (gain >= tokenGain) {
+							tokenGain = gain;
+							tokenRow = cell[0];
+							tokenCol = cell[1];
+						}
+					}
+					// a nature token is worth a point at the end of the game
+					int value = corridorGain + tokenGain - (split ? 1 : 0);
+					best.add(new int[]{i, j, cell[0], cell[1], bestRotation, tokenRow, tokenCol,
+							value});
+					if (best.size() > count) {
+						best.poll();
+					}
+				}
+			}
+		}
+
+		List<int[]> moves = new ArrayList<>(best);
+		moves.sort(Comparator.comparingInt((int[] move) -> move[VALUE]).reversed());
+		return moves;
+	}
+
+	// the player's corridor score, i.e. their longest corridors plus their bonuses
+	private static int corridorScore(int[] sizes, int[][] others) {
+		int[][] all = new int[others.length + 1][];
+		all[0] = sizes;
+		System.arraycopy(others, 0, all, 1, others.length);
+		int score = ScoringHabitatCorridors.calculateCorridorBonuses(all)[0];
+		for (int size : sizes) {
+			score += size;
+		}
+		return score;
+	}
+
+	private static int corridorScoreAfter(CorridorBoard board, int[] cell, HabitatTile tile,
+										  int rotation, int[] sizes, int[][] others) {
+		Habitat[] edges = CorridorBoard.rotatedEdges(tile, rotation);
+		int[] grown = sizes.clone();
+		for (Habitat habitat : CorridorBoard.habitatsOf(tile)) {
+			grown[habitat.ordinal()] = Math.max(grown[habitat.ordinal()],
+					board.grownCorridorSize(cell[0], cell[1], edges, habitat));
+		}
+		return corridorScore(grown, others);
+	}
+
+	// {gain, row, col} of the best placement of the token on the map, row and col are -1
+	// if it can't be placed
+	private int[] bestTokenPlacement(PlayerMap map, WildlifeToken token) {
+		int before = wildlifeScore(map, token);
+		int bound = gainBound(map, token);
+		int[] best = {0, -1, -1};
+		for (HabitatTile tile : map.getPossibleTokenPlacements(token)) {
+			if (best[1] >= 0 && best[0] >= bound) {
+				break;
+			}
+			int[] position = tile.getMapPosition();
+			PlayerMap after = map.copy();
+			after.placeTokenAt(position[0], position[1], token);
+			int gain = wildlifeScore(after, token) - before + (tile.isKeystone() ? 1 : 0);
+			if (gain >= best[0]) {
+				best = new int[]{gain, position[0], position[1]};
+			}
+		}
+		return best;
+	}
+
+	private int gainOnNewTile(PlayerMap map, HabitatTile tile, int[] cell, WildlifeToken token) {
+		int before = wildlifeScore(map, token);
+		PlayerMap after = map.copy();
+		after.addTileToMap(tile.duplicate(), cell[0], cell[1]);
+		after.placeTokenAt(cell[0], cell[1], token);
+		return wildlifeScore(after, token) - before + (tile.isKeystone() ? 1 : 0);
+	}
+
+	// the most placing the token could add to wildlifeScore, including a nature token
+	private int gainBound(PlayerMap map, WildlifeToken token) {
+		int bound = ScoreBounds.maxGain(map, token, 1, TokenBot.scoreOfMap(table, map, token)) + 1;
+		if (token != WildlifeToken.Fox) {
+			bound += ScoreBounds.maxGain(map, WildlifeToken.Fox, 1,
+					TokenBot.scoreOfMap(table, map, WildlifeToken.Fox));
+		}
+		return bound;
+	}
+
+	// the score of the token's type, plus the foxes' as they score the animals next to them
+	private int wildlifeScore(PlayerMap map, WildlifeToken token) {
+		int score = TokenBot.scoreOfMap(table, map, token);
+		if (token != WildlifeToken.Fox) {
+			score += TokenBot.scoreOfMap(table, map, WildlifeToken.Fox);
+		}
+		return score;
+	}
+
+	private static boolean canHold(HabitatTile tile, WildlifeToken token) {
+		for (WildlifeToken option : tile.getTokenOptions()) {
+			if (option == token) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// a player's map, the deck, and how many nature tokens the player has
+	private static final class Position {
+		private final PlayerMap map;
+		private final List<HabitatTile> tiles;
+		private final List<WildlifeToken> tokens;
+		private final int natureTokens;
+
+		Position(PlayerMap map, List<HabitatTile> tiles, List<WildlifeToken> tokens,
+				 int natureTokens) {
+			this.map = map;
+			this.tiles = tiles;
+			this.tokens = tokens;
+			this.natureTokens = natureTokens;
+		}
+
+		// the position after the player makes the move, before the deck is refilled
+		Position play(int[] move) {
+			PlayerMap after = map.copy();
+			HabitatTile placed = tiles.get(move[TILE]).duplicate();
+			placed.rotateTile((move[ROTATION] - placed.getRotation() + Constants.NUM_EDGES)
+					% Constants.NUM_EDGES);
+			after.addTileToMap(placed, move[ROW], move[COL]);
+			int nature = natureTokens - (move[TILE] != move[TOKEN] ? 1 : 0);
+			if (move[TOKEN_ROW] >= 0) {
+				after.placeTokenAt(move[TOKEN_ROW], move[TOKEN_COL], tokens.get(move[TOKEN]));
+				if (after.returnTileAtPositionInMap(move[TOKEN_ROW], move[TOKEN_COL])
+						.isKeystone()) {
+					nature++;
+				}
+			}
+			List<HabitatTile> newTiles = new ArrayList<>(tiles);
+			newTiles.remove(move[TILE]);
+			List<WildlifeToken> newTokens = new ArrayList<>(tokens);
+			newTokens.remove(move[TOKEN]);
+			return new Position(after, newTiles, newTokens, nature);
+		}
+	}
+}
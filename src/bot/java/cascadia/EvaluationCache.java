@@ -0,0 +1,90 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of the bots' evaluations of deck tiles and tokens.
+ * Between turns only one pair in the deck changes, and a player's map only
+ * changes on their own turn, so most of the evaluations from the previous
+ * turn can be reused.  Keys are made from the Zobrist hash of the map being
+ * evaluated combined with the contents of the tile or token.
+ * When the cache is full the least recently used evaluation is removed.
+ *
+ * <p>Values are small int arrays whose meaning depends on the bot that
+ * stored them, and must not be modified after being stored.
+ */
+public class EvaluationCache {
+	private static final int DEFAULT_MAX_ENTRIES = 4096;
+	private final Map<Long, int[]> entries;
+	private long hits = 0;
+	private long misses = 0;
+
+	public EvaluationCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	public EvaluationCache(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("The cache must be able to hold at least one "
+					+ "entry.  maxEntries was " + maxEntries);
+		}
+		// an access ordered linked hashmap keeps the least recently used entry first
+		entries = new LinkedHashMap<>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Returns the stored evaluation, or null if there isn't one.
+	 */
+	public synchronized int[] get(long key) {
+		int[] value = entries.get(key);
+		if (value == null) {
+			misses++;
+		} else {
+			hits++;
+		}
+		return value;
+	}
+
+	public synchronized void put(long key, int[] value) {
+		entries.put(key, value);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	public synchronized long getHits() {
+		return hits;
+	}
+
+	public synchronized long getMisses() {
+		return misses;
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+		hits = 0;
+		misses = 0;
+	}
+}
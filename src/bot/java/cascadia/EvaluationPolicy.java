@@ -0,0 +1,211 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Chooses a move by placing each deck tile where it was found best, then
+ * each token where it scores the most, and picking the move whose resulting
+ * map the evaluator scores highest.
+ * With a nature token the tile and token can come from different pairs, and
+ * the evaluator counts the nature token spent.
+ * The features are kept in buffers owned by the policy, so a policy must
+ * only be used by one thread at a time.
+ */
+public class EvaluationPolicy {
+	private static final int MAX_MOVES = Constants.MAX_DECK_SIZE * Constants.MAX_DECK_SIZE;
+	private final LinearEvaluator evaluator;
+	// scores the moves instead of the evaluator if it isn't null
+	private final NTupleNetwork network;
+	private final TranspositionTable table;
+	private final EvaluationCache cache;
+	private final FeatureExtractor extractor = new FeatureExtractor();
+	// the features of each candidate move, one after another
+	private final float[] features = new float[MAX_MOVES * FeatureExtractor.NUM_FEATURES];
+	private final float[] scores = new float[MAX_MOVES];
+	private final int[][] moves = new int[MAX_MOVES][];
+	private float bestScore = 0;
+	private int movesEvaluated = 0;
+
+	public EvaluationPolicy(LinearEvaluator evaluator, TranspositionTable table,
+							EvaluationCache cache) {
+		this(evaluator, null, table, cache);
+	}
+
+	public EvaluationPolicy(NTupleNetwork network, TranspositionTable table,
+							EvaluationCache cache) {
+		this(null, network, table, cache);
+	}
+
+	private EvaluationPolicy(LinearEvaluator evaluator, NTupleNetwork network,
+							 TranspositionTable table, EvaluationCache cache) {
+		this.evaluator = evaluator;
+		this.network = network;
+		this.table = table;
+		this.cache = cache;
+	}
+
+	/**
+	 * Chooses the move.
+	 *
+	 * @param turnsLeft how many turns the player has left, including this one
+	 * @param placements {row, col, rotation} of each deck tile, where the row
+	 *                   is -1 if the tile can't be placed
+	 * @param keepGoing passed on to the token evaluation, and checked after
+	 *                  each tile.  If it returns false the best of the moves
+	 *                  scored so far is chosen
+	 * @return {deck tile index, deck token index, row, col, rotation, token
+	 * 			row, token col}, where the token row and col are -1 if the token
+	 * 			can't be placed.  Null if no tile can be placed
+	 */
+	public int[] choose(PlayerMap map, int natureTokens, int turnsLeft, List<HabitatTile> tiles,
+						List<WildlifeToken> tokens, int[][] placements,
+						BooleanSupplier keepGoing) {
+		int count = 0;
+		for (int i = 0; i < tiles.size(); i++) {
+			int[] placement = placements[i];
+			if (placement[0] < 0) {
+				continue;
+			}
+			PlayerMap withTile = placeTile(map, tiles.get(i), placement);
+			for (int j = 0; j < tokens.size(); j++) {
+				boolean split = i != j;
+				if (split && natureTokens == 0) {
+					continue;
+				}
+				int[] token = scoreMove(withTile, tokens.get(j), natureTokens - (split ? 1 : 0),
+						turnsLeft, count, keepGoing);
+				moves[count++] = new int[]{i, j, placement[0], placement[1], placement[2],
+						token[1], token[2]};
+			}
+			if (count > 0 && !keepGoing.getAsBoolean()) {
+				break;
+			}
+		}
+		scoreSlots(count);
+		movesEvaluated = count;
+
+		int best = -1;
+		for (int m = 0; m < count; m++) {
+			if (best == -1 || scores[m] > scores[best]) {
+				best = m;
+			}
+		}
+		if (best == -1) {
+			return null;
+		}
+		bestScore = scores[best];
+		return moves[best];
+	}
+
+	/**
+	 * Scores taking each deck tile with each type of token, so the best move
+	 * of any deck made of these tiles can be found without evaluating it again.
+	 *
+	 * @return the scores, indexed by whether a nature token is spent to split
+	 * 			the pair (only if the player has one), tile, then token type.
+	 * 			NaN if the tile can't be placed or the pair can't be split
+	 * @see #choose
+	 */
+	public float[][][] pairScores(PlayerMap map, int natureTokens, int turnsLeft,
+								  List<HabitatTile> tiles, int[][] placements,
+								  BooleanSupplier keepGoing) {
+		float[][][] pairs = new float[2][tiles.size()][Constants.NUM_TOKEN_TYPES];
+		for (float[][] split : pairs) {
+			for (float[] tile : split) {
+				Arrays.fill(tile, Float.NaN);
+			}
+		}
+		for (int i = 0; i < tiles.size(); i++) {
+			if (placements[i][0] < 0) {
+				continue;
+			}
+			PlayerMap withTile = placeTile(map, tiles.get(i), placements[i]);
+			int count = 0;
+			int splits = natureTokens > 0 ? 2 : 1;
+			for (int split = 0; split < splits; split++) {
+				for (WildlifeToken token : WildlifeToken.values()) {
+					scoreMove(withTile, token, natureTokens - split, turnsLeft, count++, keepGoing);
+				}
+			}
+			scoreSlots(count);
+			for (int slot = 0; slot < count; slot++) {
+				pairs[slot / Constants.NUM_TOKEN_TYPES][i][slot % Constants.NUM_TOKEN_TYPES] =
+						scores[slot];
+			}
+		}
+		return pairs;
+	}
+
+	// a copy of the map with the tile placed in the given {row, col, rotation}
+	private static PlayerMap placeTile(PlayerMap map, HabitatTile deckTile, int[] placement) {
+		PlayerMap withTile = map.copy();
+		HabitatTile tile = deckTile.duplicate();
+		tile.rotateTile((placement[2] - tile.getRotation() + Constants.NUM_EDGES)
+				% Constants.NUM_EDGES);
+		withTile.addTileToMap(tile, placement[0], placement[1]);
+		return withTile;
+	}
+
+	/*
+		Places the token where it scores the most, and puts the position it leaves us in
+		into the given slot of the scores (or features, to be scored by scoreSlots).
+		Returns {gain, row, col} of the token placement
+	 */
+	private int[] scoreMove(PlayerMap withTile, WildlifeToken token, int nature, int turnsLeft,
+							int slot, BooleanSupplier keepGoing) {
+		int[] placement = TokenBot.evaluate(withTile, token, table, cache, keepGoing);
+		PlayerMap after = withTile;
+		if (placement[1] >= 0) {
+			after = withTile.copy();
+			after.placeTokenAt(placement[1], placement[2], token);
+			if (after.returnTileAtPositionInMap(placement[1], placement[2]).isKeystone()) {
+				nature++;
+			}
+		}
+		if (network != null) {
+			scores[slot] = network.evaluate(after, nature, turnsLeft - 1);
+		} else {
+			extractor.extract(after, nature, turnsLeft - 1, features,
+					slot * FeatureExtractor.NUM_FEATURES);
+		}
+		return placement;
+	}
+
+	// scores the features of the first count slots, if the linear evaluator is used
+	private void scoreSlots(int count) {
+		if (network == null) {
+			evaluator.evaluateBatch(features, count, scores);
+		}
+	}
+
+	/**
+	 * Returns the evaluator's score of the last move chosen.
+	 */
+	public float getBestScore() {
+		return bestScore;
+	}
+
+	/**
+	 * Returns how many moves were scored to choose the last move.
+	 */
+	public int getMovesEvaluated() {
+		return movesEvaluated;
+	}
+}
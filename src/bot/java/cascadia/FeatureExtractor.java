@@ -0,0 +1,203 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.Arrays;
+
+/**
+ * Turns a player's map into a fixed length vector of features, for the
+ * {@link LinearEvaluator} to score.
+ * The features are written into a primitive array at a given offset, so
+ * the features of many positions can be packed into one array and scored
+ * in one batch.  Everything is worked out in scratch arrays owned by the
+ * extractor, so extracting allocates nothing, but an extractor must only
+ * be used by one thread at a time.
+ */
+public class FeatureExtractor {
+	// the longest corridor of each habitat
+	public static final int LONGEST_CORRIDOR = 0;
+	// edges of each habitat facing an empty cell, where a corridor can grow
+	public static final int OPEN_EDGES = LONGEST_CORRIDOR + Constants.NUM_HABITAT_TYPES;
+	// tiles without a token that can take each type of token
+	public static final int OPEN_SLOTS = OPEN_EDGES + Constants.NUM_HABITAT_TYPES;
+	// tokens of each type placed
+	public static final int TOKENS = OPEN_SLOTS + Constants.NUM_TOKEN_TYPES;
+	// pairs of adjacent tokens of each type, which make bear pairs, elk lines and salmon runs
+	public static final int SAME_PAIRS = TOKENS + Constants.NUM_TOKEN_TYPES;
+	// tokens of each type with none of the same type next to them, e.g. single hawks
+	public static final int ISOLATED = SAME_PAIRS + Constants.NUM_TOKEN_TYPES;
+	// the number of different animals next to each fox, summed over the foxes
+	public static final int FOX_VARIETY = ISOLATED + Constants.NUM_TOKEN_TYPES;
+	public static final int NATURE_TOKENS = FOX_VARIETY + 1;
+	public static final int TURNS_LEFT = NATURE_TOKENS + 1;
+	// always 1, so the weights can include a constant
+	public static final int BIAS = TURNS_LEFT + 1;
+	public static final int NUM_FEATURES = BIAS + 1;
+	private static final int NUM_CELLS = PlayerMap.BOARD_HEIGHT * PlayerMap.BOARD_WIDTH;
+	private static final int NONE = -1;
+	// habitat of each edge of each cell, NONE if the cell is empty
+	private final int[] edges = new int[NUM_CELLS * Constants.NUM_EDGES];
+	// placed token of each cell, NONE if there isn't one
+	private final int[] tokens = new int[NUM_CELLS];
+	// bit mask of the token options of each cell
+	private final int[] options = new int[NUM_CELLS];
+	// union find of the cells of each habitat, indexed by habitat * NUM_CELLS + cell
+	private final int[] parent = new int[Constants.NUM_HABITAT_TYPES * NUM_CELLS];
+	private final int[] size = new int[Constants.NUM_HABITAT_TYPES * NUM_CELLS];
+	private final int[] occupied = new int[NUM_CELLS];
+	private int numOccupied = 0;
+
+	public FeatureExtractor() {
+		Arrays.fill(edges, NONE);
+		Arrays.fill(tokens, NONE);
+	}
+
+	/**
+	 * Writes the features of the map into out, starting at offset.
+	 *
+	 * @param natureTokens how many nature tokens the player has
+	 * @param turnsLeft how many turns the player has left
+	 */
+	public void extract(PlayerMap map, int natureTokens, int turnsLeft, float[] out, int offset) {
+		Arrays.fill(out, offset, offset + NUM_FEATURES, 0);
+		load(map);
+
+		for (int i = 0; i < numOccupied; i++) {
+			int cell = occupied[i];
+			int row = cell / PlayerMap.BOARD_WIDTH;
+			int col = cell % PlayerMap.BOARD_WIDTH;
+			int token = tokens[cell];
+			int sameNeighbours = 0;
+			int neighbourTypes = 0;
+			for (int e = 0; e < Constants.NUM_EDGES; e++) {
+				int habitat = edges[cell * Constants.NUM_EDGES + e];
+				int other = CorridorBoard.neighbour(row, col, e);
+				if (other == NONE) {
+					continue;
+				}
+				if (edges[other * Constants.NUM_EDGES] == NONE) {
+					out[offset + OPEN_EDGES + habitat]++;
+					continue;
+				}
+				if (edges[other * Constants.NUM_EDGES + (e + Constants.NUM_EDGES / 2)
+						% Constants.NUM_EDGES] == habitat) {
+					union(habitat, cell, other);
+				}
+				if (token != NONE && tokens[other] != NONE) {
+					neighbourTypes |= 1 << tokens[other];
+					if (tokens[other] == token) {
+						sameNeighbours++;
+					}
+				}
+			}
+
+			if (token == NONE) {
+				for (int t = 0; t < Constants.NUM_TOKEN_TYPES; t++) {
+					if ((options[cell] & 1 << t) != 0) {
+						out[offset + OPEN_SLOTS + t]++;
+					}
+				}
+				continue;
+			}
+			out[offset + TOKENS + token]++;
+			// each pair is seen from both of its tokens
+			out[offset + SAME_PAIRS + token] += sameNeighbours / 2f;
+			if (sameNeighbours == 0) {
+				out[offset + ISOLATED + token]++;
+			}
+			if (token == WildlifeToken.Fox.ordinal()) {
+				out[offset + FOX_VARIETY] += Integer.bitCount(neighbourTypes);
+			}
+		}
+
+		for (int i = 0; i < numOccupied; i++) {
+			int cell = occupied[i];
+			for (int e = 0; e < Constants.NUM_EDGES; e++) {
+				int habitat = edges[cell * Constants.NUM_EDGES + e];
+				int root = find(habitat, cell);
+				out[offset + LONGEST_CORRIDOR + habitat] = Math.max(
+						out[offset + LONGEST_CORRIDOR + habitat],
+						size[habitat * NUM_CELLS + root]);
+			}
+		}
+		out[offset + NATURE_TOKENS] = natureTokens;
+		out[offset + TURNS_LEFT] = turnsLeft;
+		out[offset + BIAS] = 1;
+	}
+
+	// copies the map into the scratch arrays, clearing what the last map left behind
+	private void load(PlayerMap map) {
+		for (int i = 0; i < numOccupied; i++) {
+			int cell = occupied[i];
+			Arrays.fill(edges, cell * Constants.NUM_EDGES, (cell + 1) * Constants.NUM_EDGES, NONE);
+			tokens[cell] = NONE;
+		}
+		numOccupied = 0;
+
+		HabitatTile[][] board = map.getTileBoardPosition();
+		for (int row = 0; row < PlayerMap.BOARD_HEIGHT; row++) {
+			for (int col = 0; col < PlayerMap.BOARD_WIDTH; col++) {
+				HabitatTile tile = board[row][col];
+				if (tile == null || tile.isFakeTile()) {
+					continue;
+				}
+				int cell = row * PlayerMap.BOARD_WIDTH + col;
+				occupied[numOccupied++] = cell;
+				for (int e = 0; e < Constants.NUM_EDGES; e++) {
+					edges[cell * Constants.NUM_EDGES + e] = tile.getEdge(e).getHabitatType().ordinal();
+				}
+				tokens[cell] = tile.getIsTokenPlaced() ? tile.getPlacedToken().ordinal() : NONE;
+				int mask = 0;
+				for (WildlifeToken option : tile.getTokenOptions()) {
+					if (option != null) {
+						mask |= 1 << option.ordinal();
+					}
+				}
+				options[cell] = mask;
+				for (int h = 0; h < Constants.NUM_HABITAT_TYPES; h++) {
+					parent[h * NUM_CELLS + cell] = cell;
+					size[h * NUM_CELLS + cell] = 1;
+				}
+			}
+		}
+	}
+
+	private int find(int h, int cell) {
+		int i = h * NUM_CELLS + cell;
+		while (parent[i] != cell) {
+			// path halving
+			parent[i] = parent[h * NUM_CELLS + parent[i]];
+			cell = parent[i];
+			i = h * NUM_CELLS + cell;
+		}
+		return cell;
+	}
+
+	private void union(int h, int a, int b) {
+		int rootA = find(h, a);
+		int rootB = find(h, b);
+		if (rootA == rootB) {
+			return;
+		}
+		if (size[h * NUM_CELLS + rootA] < size[h * NUM_CELLS + rootB]) {
+			int tmp = rootA;
+			rootA = rootB;
+			rootB = tmp;
+		}
+		parent[h * NUM_CELLS + rootB] = rootA;
+		size[h * NUM_CELLS + rootA] += size[h * NUM_CELLS + rootB];
+	}
+}
@@ -0,0 +1,97 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.List;
+
+/**
+ * A simple strategy to compare the others against.  It takes the pair which
+ * scores the most points this turn, with the tile placed where it grows the
+ * corridors the most and the token where it scores the most.  It never
+ * uses nature tokens and doesn't look ahead.
+ */
+public class GreedyPlugin implements PluginChoice {
+	private final PluginStats stats = new PluginStats();
+	private List<Player> players;
+	private int seat;
+	private TranspositionTable table;
+	private EvaluationCache cache;
+
+	@Override
+	public String getName() {
+		return "greedy";
+	}
+
+	@Override
+	public void newGame(List<Player> players, int seat) {
+		this.players = players;
+		this.seat = seat;
+		table = new TranspositionTable();
+		cache = new EvaluationCache();
+	}
+
+	@Override
+	public int[] chooseMove(Player player, List<HabitatTile> deckTiles,
+							List<WildlifeToken> deckTokens, int turnsLeft, TurnBudget budget) {
+		table.newSearch();
+		CorridorBoard board = new CorridorBoard(player.getMap());
+		int[][] otherSizes = new int[players.size() - 1][];
+		for (int o = 1; o < players.size(); o++) {
+			otherSizes[o - 1] = new CorridorBoard(players.get((seat + o) % players.size())
+					.getMap()).getLongestCorridorSizes();
+		}
+
+		int[] best = null;
+		int bestValue = Integer.MIN_VALUE;
+		for (int i = 0; i < deckTiles.size(); i++) {
+			int[] placement = TileBot.searchPlacements(board, deckTiles.get(i), otherSizes,
+					budget::isTimeLeft);
+			budget.endPhase(DecisionTrace.Phase.PLACEMENTS);
+			if (placement == null) {
+				continue;
+			}
+			PlayerMap withTile = player.getMap().copy();
+			HabitatTile tile = deckTiles.get(i).duplicate();
+			tile.rotateTile((placement[2] - tile.getRotation() + Constants.NUM_EDGES)
+					% Constants.NUM_EDGES);
+			withTile.addTileToMap(tile, placement[0], placement[1]);
+			int[] token = TokenBot.evaluate(withTile, deckTokens.get(i), table, cache,
+					budget::isTimeLeft);
+			stats.addNodes(1);
+			budget.endPhase(DecisionTrace.Phase.EVALUATION);
+
+			int value = placement[3] + token[0];
+			if (value > bestValue) {
+				bestValue = value;
+				best = new int[]{i, i, placement[0], placement[1], placement[2], token[1],
+						token[2]};
+			}
+			if (!budget.isTimeLeft()) {
+				break;
+			}
+		}
+		budget.reportDepth(1);
+		if (best != null) {
+			budget.reportStrategy(DecisionTrace.Strategy.EVALUATION);
+		}
+		return best;
+	}
+
+	@Override
+	public PluginStats getStats() {
+		return stats;
+	}
+}
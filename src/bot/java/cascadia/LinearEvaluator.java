@@ -0,0 +1,88 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+/**
+ * Scores positions as a weighted sum of their features.
+ * The weights can be tuned; the defaults are set by hand for the scorecards
+ * bot games use (B1, E1, S1, H1 and F1).
+ *
+ * @see FeatureExtractor
+ */
+public class LinearEvaluator {
+	private final float[] weights;
+
+	public LinearEvaluator() {
+		this(defaultWeights());
+	}
+
+	public LinearEvaluator(float[] weights) {
+		if (weights.length != FeatureExtractor.NUM_FEATURES) {
+			throw new IllegalArgumentException("There must be " + FeatureExtractor.NUM_FEATURES
+					+ " weights.  There were " + weights.length);
+		}
+		this.weights = weights.clone();
+	}
+
+	/**
+	 * Scores the features starting at offset.
+	 */
+	public float evaluate(float[] features, int offset) {
+		float score = 0;
+		for (int i = 0; i < FeatureExtractor.NUM_FEATURES; i++) {
+			score += weights[i] * features[offset + i];
+		}
+		return score;
+	}
+
+	/**
+	 * Scores count positions whose features are packed one after another in
+	 * features, writing the score of each into scores.
+	 */
+	public void evaluateBatch(float[] features, int count, float[] scores) {
+		for (int p = 0; p < count; p++) {
+			scores[p] = evaluate(features, p * FeatureExtractor.NUM_FEATURES);
+		}
+	}
+
+	public float[] getWeights() {
+		return weights.clone();
+	}
+
+	public static float[] defaultWeights() {
+		float[] weights = new float[FeatureExtractor.NUM_FEATURES];
+		for (int h = 0; h < Constants.NUM_HABITAT_TYPES; h++) {
+			// a point per tile in the longest corridor, and some for room to grow
+			weights[FeatureExtractor.LONGEST_CORRIDOR + h] = 1f;
+			weights[FeatureExtractor.OPEN_EDGES + h] = 0.1f;
+		}
+		for (int t = 0; t < Constants.NUM_TOKEN_TYPES; t++) {
+			weights[FeatureExtractor.OPEN_SLOTS + t] = 0.2f;
+			weights[FeatureExtractor.TOKENS + t] = 2f;
+		}
+		weights[FeatureExtractor.SAME_PAIRS + WildlifeToken.Bear.ordinal()] = 2f;
+		weights[FeatureExtractor.SAME_PAIRS + WildlifeToken.Elk.ordinal()] = 1.5f;
+		weights[FeatureExtractor.SAME_PAIRS + WildlifeToken.Salmon.ordinal()] = 1.5f;
+		// H1 only scores hawks with no other hawks next to them
+		weights[FeatureExtractor.SAME_PAIRS + WildlifeToken.Hawk.ordinal()] = -2f;
+		weights[FeatureExtractor.ISOLATED + WildlifeToken.Hawk.ordinal()] = 1f;
+		weights[FeatureExtractor.ISOLATED + WildlifeToken.Bear.ordinal()] = -0.5f;
+		weights[FeatureExtractor.FOX_VARIETY] = 1f;
+		// a nature token is worth a point at the end of the game
+		weights[FeatureExtractor.NATURE_TOKENS] = 1f;
+		return weights;
+	}
+}
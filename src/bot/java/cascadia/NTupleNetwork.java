@@ -0,0 +1,219 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * An n-tuple network, which scores a map as the sum of the weights of the
+ * local patterns on it.
+ * For every tile and direction, two patterns of three cells are looked up:
+ * the tile with two of its neighbours next to each other (a corner), and the
+ * tile with the neighbours on either side of it (a line).  Each cell of a
+ * pattern is coded by the habitat of its edge facing the pattern and its
+ * placed token, so the patterns see both corridors and token groups.  The
+ * six directions share the same tables, so a pattern is worth the same
+ * however it is rotated.  One more table is indexed by the nature tokens
+ * and turns left.
+ *
+ * <p>The weights are kept in one flat array, and scoring a map is just a
+ * handful of array lookups per tile.  The weights are trained by
+ * {@link NTupleTrainer}, which updates them from many threads at once
+ * without locking, so reads may see a weight part way through training.
+ */
+public class NTupleNetwork {
+	// empty, or each habitat with each placed token or none
+	private static final int CELL_CODES = 1 + Constants.NUM_HABITAT_TYPES
+			* (Constants.NUM_TOKEN_TYPES + 1);
+	private static final int TUPLE_SIZE = CELL_CODES * CELL_CODES * CELL_CODES;
+	private static final int CORNER = 0;
+	private static final int LINE = CORNER + TUPLE_SIZE;
+	private static final int MAX_NATURE_TOKENS = 15;
+	private static final int MAX_TURNS = 20;
+	private static final int GLOBAL = LINE + TUPLE_SIZE;
+	private static final int NUM_WEIGHTS = GLOBAL + (MAX_NATURE_TOKENS + 1) * (MAX_TURNS + 1);
+	/** The most patterns a map can have, the size of array activeIndices needs. */
+	public static final int MAX_ACTIVE = PlayerMap.BOARD_HEIGHT * PlayerMap.BOARD_WIDTH
+			* Constants.NUM_EDGES * 2 + 1;
+	// "NTUP", so other files aren't read as weights
+	private static final int MAGIC = 0x4E545550;
+	private static final int VERSION = 1;
+	private final float[] weights;
+
+	public NTupleNetwork() {
+		this(new float[NUM_WEIGHTS]);
+	}
+
+	private NTupleNetwork(float[] weights) {
+		this.weights = weights;
+	}
+
+	/**
+	 * Scores the map.
+	 *
+	 * @param natureTokens how many nature tokens the player has
+	 * @param turnsLeft how many turns the player has left
+	 */
+	public float evaluate(PlayerMap map, int natureTokens, int turnsLeft) {
+		HabitatTile[][] board = map.getTileBoardPosition();
+		float score = weights[globalIndex(natureTokens, turnsLeft)];
+		for (int row = 0; row < board.length; row++) {
+			for (int col = 0; col < board[row].length; col++) {
+				if (isTile(board[row][col])) {
+					for (int d = 0; d < Constants.NUM_EDGES; d++) {
+						score += weights[cornerIndex(board, row, col, d)]
+								+ weights[lineIndex(board, row, col, d)];
+					}
+				}
+			}
+		}
+		return score;
+	}
+
+	/**
+	 * Writes the index of every weight the map's score is made of into out.
+	 *
+	 * @param out must hold at least {@link #MAX_ACTIVE} indexes
+	 * @return how many indexes were written
+	 */
+	public int activeIndices(PlayerMap map, int natureTokens, int turnsLeft, int[] out) {
+		HabitatTile[][] board = map.getTileBoardPosition();
+		int count = 0;
+		out[count++] = globalIndex(natureTokens, turnsLeft);
+		for (int row = 0; row < board.length; row++) {
+			for (int col = 0; col < board[row].length; col++) {
+				if (isTile(board[row][col])) {
+					for (int d = 0; d < Constants.NUM_EDGES; d++) {
+						out[count++] = cornerIndex(board, row, col, d);
+						out[count++] = lineIndex(board, row, col, d);
+					}
+				}
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the sum of the weights at the given indexes.
+	 */
+	public float evaluate(int[] indices, int count) {
+		float score = 0;
+		for (int i = 0; i < count; i++) {
+			score += weights[indices[i]];
+		}
+		return score;
+	}
+
+	/**
+	 * Adds delta to each of the weights at the given indexes.
+	 * Not synchronised, when two threads update the same weight at once one of
+	 * the updates can be lost, which only slightly slows down training.
+	 */
+	public void update(int[] indices, int count, float delta) {
+		for (int i = 0; i < count; i++) {
+			weights[indices[i]] += delta;
+		}
+	}
+
+	private static boolean isTile(HabitatTile tile) {
+		return tile != null && !tile.isFakeTile();
+	}
+
+	// the tile with its neighbours in directions d and d + 1
+	private static int cornerIndex(HabitatTile[][] board, int row, int col, int d) {
+		int next = (d + 1) % Constants.NUM_EDGES;
+		return CORNER + (code(board[row][col], d) * CELL_CODES
+				+ code(neighbour(board, row, col, d), opposite(d))) * CELL_CODES
+				+ code(neighbour(board, row, col, next), opposite(next));
+	}
+
+	// the tile with its neighbours in directions d and opposite d
+	private static int lineIndex(HabitatTile[][] board, int row, int col, int d) {
+		return LINE + (code(neighbour(board, row, col, opposite(d)), d) * CELL_CODES
+				+ code(board[row][col], d)) * CELL_CODES
+				+ code(neighbour(board, row, col, d), opposite(d));
+	}
+
+	private static int globalIndex(int natureTokens, int turnsLeft) {
+		return GLOBAL + Math.min(natureTokens, MAX_NATURE_TOKENS) * (MAX_TURNS + 1)
+				+ Math.max(0, Math.min(turnsLeft, MAX_TURNS));
+	}
+
+	private static int opposite(int edge) {
+		return (edge + Constants.NUM_EDGES / 2) % Constants.NUM_EDGES;
+	}
+
+	private static HabitatTile neighbour(HabitatTile[][] board, int row, int col, int edge) {
+		int cell = CorridorBoard.neighbour(row, col, edge);
+		return cell < 0 ? null
+				: board[cell / PlayerMap.BOARD_WIDTH][cell % PlayerMap.BOARD_WIDTH];
+	}
+
+	// the habitat of the given edge of the tile and its placed token, 0 if there is no tile
+	private static int code(HabitatTile tile, int edge) {
+		if (!isTile(tile)) {
+			return 0;
+		}
+		int token = tile.getIsTokenPlaced() ? tile.getPlacedToken().ordinal() + 1 : 0;
+		return 1 + tile.getEdge(edge).getHabitatType().ordinal() * (Constants.NUM_TOKEN_TYPES + 1)
+				+ token;
+	}
+
+	/**
+	 * Saves the weights as a binary file, writing to a temporary file first so
+	 * stopping part way through doesn't lose the last save.
+	 */
+	public void save(Path path) throws IOException {
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			out.writeInt(weights.length);
+			for (float weight : weights) {
+				out.writeFloat(weight);
+			}
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	public static NTupleNetwork load(Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException(path + " is not an n-tuple network");
+			}
+			int length = in.readInt();
+			if (length != NUM_WEIGHTS) {
+				throw new IOException("There must be " + NUM_WEIGHTS + " weights.  There were "
+						+ length);
+			}
+			float[] weights = new float[length];
+			for (int i = 0; i < length; i++) {
+				weights[i] = in.readFloat();
+			}
+			return new NTupleNetwork(weights);
+		}
+	}
+}
@@ -0,0 +1,184 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoreCards;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Trains an {@link NTupleNetwork} by TD(lambda) from self-play.
+ * The network plays both seats, and after each game every position a player
+ * was left in is moved towards its lambda-return: a mix of the network's
+ * scores of the positions after it and the player's final score.
+ * Games are played on many threads at once, all updating the same weights
+ * without locking (Hogwild), as each update only touches a few hundred of
+ * the weights.  There is no exploration beyond the random tiles and tokens.
+ *
+ * <p>Usage: {@code NTupleTrainer [games] [network file] [threads] [lambda]}.
+ * Training carries on from the network file if it exists.  The bot plays
+ * with the network when the file is given as the {@code cascadia.ntuple}
+ * system property.
+ */
+public class NTupleTrainer {
+	/** The system property the bot reads its network from. */
+	public static final String NETWORK_PROPERTY = "cascadia.ntuple";
+	private static final float DEFAULT_LEARNING_RATE = 0.1f;
+	private static final float DEFAULT_LAMBDA = 0.7f;
+	private static final int NUM_PLAYERS = 2;
+	private static final int TABLE_SIZE_BITS = 14;
+	// how many games between each progress report and save
+	private static final int REPORT_INTERVAL = 100;
+	private final NTupleNetwork network;
+	private final float learningRate;
+	private final float lambda;
+	private final AtomicLong games = new AtomicLong();
+	private final AtomicLong totalScore = new AtomicLong();
+
+	public NTupleTrainer(NTupleNetwork network, float learningRate, float lambda) {
+		if (lambda < 0 || lambda > 1) {
+			throw new IllegalArgumentException("lambda must be between 0 and 1.  It was " + lambda);
+		}
+		this.network = network;
+		this.learningRate = learningRate;
+		this.lambda = lambda;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+		int numGames = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		Path path = Paths.get(args.length > 1 ? args[1] : "ntuple.bin");
+		int threads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+		float lambda = args.length > 3 ? Float.parseFloat(args[3]) : DEFAULT_LAMBDA;
+
+		// the bots always play with the same scorecards
+		Game.botMode = true;
+		ScoreCards.generateScorecards();
+		NTupleNetwork network = Files.exists(path) ? NTupleNetwork.load(path) : new NTupleNetwork();
+		NTupleTrainer trainer = new NTupleTrainer(network, DEFAULT_LEARNING_RATE, lambda);
+		long seed = System.nanoTime();
+		long start = System.nanoTime();
+		Metrics.startExportIfAsked();
+		try {
+			for (int done = 0; done < numGames; done += REPORT_INTERVAL) {
+				int batch = Math.min(REPORT_INTERVAL, numGames - done);
+				long scoreBefore = trainer.totalScore.get();
+				trainer.train(batch, threads, seed + done);
+				network.save(path);
+				double seconds = (System.nanoTime() - start) / 1e9;
+				System.out.printf("%d games: average score %.1f, %.2f games/sec%n", done + batch,
+						(double) (trainer.totalScore.get() - scoreBefore) / (batch * NUM_PLAYERS),
+						(done + batch) / seconds);
+			}
+		} finally {
+			Metrics.stopExport();
+		}
+	}
+
+	/**
+	 * Plays the given number of games on the given number of threads,
+	 * learning from each.
+	 *
+	 * @param seed the seed of the first game, the others follow on from it
+	 */
+	public void train(int numGames, int threads, long seed) throws InterruptedException {
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<int[]>> results = new ArrayList<>();
+			for (int i = 0; i < numGames; i++) {
+				long gameSeed = seed + i;
+				results.add(pool.submit(() -> trainGame(gameSeed)));
+			}
+			for (Future<int[]> result : results) {
+				result.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A training game failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays one game of the network against itself and learns from it.
+	 *
+	 * @return the final score of each player
+	 */
+	public int[] trainGame(long seed) {
+		EvaluationPolicy[] policies = new EvaluationPolicy[NUM_PLAYERS];
+		List<List<int[]>> positions = new ArrayList<>();
+		for (int p = 0; p < NUM_PLAYERS; p++) {
+			policies[p] = new EvaluationPolicy(network, new TranspositionTable(TABLE_SIZE_BITS),
+					new EvaluationCache());
+			positions.add(new ArrayList<>());
+		}
+		int[] buffer = new int[NTupleNetwork.MAX_ACTIVE];
+		int[] scores = SelfPlay.play(policies, seed, (player, map, natureTokens, turnsLeft) -> {
+			int count = network.activeIndices(map, natureTokens, turnsLeft, buffer);
+			positions.get(player).add(Arrays.copyOf(buffer, count));
+		});
+
+		for (int p = 0; p < NUM_PLAYERS; p++) {
+			learn(positions.get(p), scores[p]);
+			totalScore.addAndGet(scores[p]);
+		}
+		games.incrementAndGet();
+		return scores;
+	}
+
+	// moves each position towards its lambda-return, working back from the end of the game
+	private void learn(List<int[]> positions, int finalScore) {
+		float target = finalScore;
+		for (int t = positions.size() - 1; t >= 0; t--) {
+			int[] indices = positions.get(t);
+			float value = network.evaluate(indices, indices.length);
+			network.update(indices, indices.length,
+					learningRate * (target - value) / indices.length);
+			target = (1 - lambda) * value + lambda * target;
+		}
+	}
+
+	public long getGames() {
+		return games.get();
+	}
+
+	/**
+	 * Returns the network named by the {@value #NETWORK_PROPERTY} system
+	 * property, or null if it isn't set.
+	 */
+	public static NTupleNetwork loadNetwork() {
+		String path = System.getProperty(NETWORK_PROPERTY);
+		if (path == null) {
+			return null;
+		}
+		try {
+			return NTupleNetwork.load(Paths.get(path));
+		} catch (IOException e) {
+			throw new UncheckedIOException("Couldn't read the network from " + path, e);
+		}
+	}
+}
@@ -0,0 +1,166 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether to spend a nature token wiping deck tokens.
+ * Picking any two and saving the token are already compared by the
+ * evaluation, as the positions they leave us in count the nature tokens
+ * left.  This compares them with wiping each of the 15 subsets of the deck
+ * tokens: the wiped tokens are replaced by sampled refills from the bag, and
+ * the best move after the wipe is averaged over the samples.
+ * Each subset is searched on its own thread, with its own policy.
+ */
+public class NatureTokenSearch {
+	// refills sampled for each subset
+	private static final int SAMPLES = 6;
+	// how much better a wipe must look than the best move now, as the samples are noisy
+	private static final float MARGIN = 0.5f;
+	private final Supplier<EvaluationPolicy> policies;
+	private final ForkJoinPool pool;
+	private final SplittableRandom rand;
+	private float expectedScore = 0;
+
+	/**
+	 * @param policies makes a policy for each thread
+	 */
+	public NatureTokenSearch(Supplier<EvaluationPolicy> policies, int threads,
+							 SplittableRandom rand) {
+		this.policies = policies;
+		this.pool = new ForkJoinPool(threads);
+		this.rand = rand;
+	}
+
+	/**
+	 * Returns which deck tokens to wipe, or 0 to not wipe.
+	 *
+	 * @param bestScore the evaluation of the best move without wiping
+	 * @param placements {row, col, rotation} of each deck tile, as for
+	 *                   {@link EvaluationPolicy#choose}
+	 * @param bag what could be drawn to replace the wiped tokens
+	 * @param pollers makes the time check of each subset's search, on the
+	 *                thread it runs on, so each has its own poll counter.  If
+	 *                a check returns false before every subset is searched,
+	 *                nothing is wiped
+	 * @return a bit mask of the indexes of the deck tokens to wipe
+	 */
+	public int chooseWipe(PlayerMap map, int natureTokens, int turnsLeft, List<HabitatTile> tiles,
+						  List<WildlifeToken> tokens, int[][] placements, float bestScore,
+						  BagModel bag, Supplier<BooleanSupplier> pollers) {
+		if (natureTokens == 0) {
+			return 0;
+		}
+		List<Callable<Float>> tasks = new ArrayList<>();
+		for (int mask = 1; mask < 1 << tokens.size(); mask++) {
+			int wiped = mask;
+			SplittableRandom taskRand = rand.split();
+			tasks.add(() -> expectedScore(map, natureTokens - 1, turnsLeft, tiles, tokens,
+					placements, wiped, bag, taskRand, pollers.get()));
+		}
+
+		int best = 0;
+		float bestExpected = bestScore + MARGIN;
+		try {
+			List<Future<Float>> results = pool.invokeAll(tasks);
+			for (int i = 0; i < results.size(); i++) {
+				Float expected = results.get(i).get();
+				if (expected == null) {
+					return 0;
+				}
+				if (expected > bestExpected) {
+					bestExpected = expected;
+					best = i + 1;
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return 0;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("The wipe search failed", e.getCause());
+		}
+		expectedScore = bestExpected;
+		return best;
+	}
+
+	/**
+	 * Returns the expected evaluation of the best wipe found by the last
+	 * search.
+	 */
+	public float getExpectedScore() {
+		return expectedScore;
+	}
+
+	/**
+	 * Ends the search's threads.  It can't be used afterwards.
+	 */
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	// the average of the best move's score over sampled refills, or null if we ran out of time
+	private Float expectedScore(PlayerMap map, int natureTokens, int turnsLeft,
+								List<HabitatTile> tiles, List<WildlifeToken> tokens,
+								int[][] placements, int wiped, BagModel bag,
+								SplittableRandom rand, BooleanSupplier keepGoing) {
+		EvaluationPolicy policy = policies.get();
+		float total = 0;
+		for (int s = 0; s < SAMPLES; s++) {
+			if (!keepGoing.getAsBoolean()) {
+				return null;
+			}
+			int[] move = policy.choose(map, natureTokens, turnsLeft, tiles,
+					wipe(tokens, wiped, bag, rand), placements, keepGoing);
+			// a choice cut short by the deadline would drag the average down, so it's discarded
+			if (!keepGoing.getAsBoolean()) {
+				return null;
+			}
+			total += move == null ? 0 : policy.getBestScore();
+		}
+		return total / SAMPLES;
+	}
+
+	/**
+	 * Returns the deck tokens after wiping the ones in the mask.  As in the
+	 * real game, the wiped tokens are removed and their refills are added to
+	 * the end of the deck.
+	 */
+	static List<WildlifeToken> wipe(List<WildlifeToken> tokens, int wiped, BagModel bag,
+									SplittableRandom rand) {
+		List<WildlifeToken> after = new ArrayList<>();
+		int refills = 0;
+		for (int i = 0; i < tokens.size(); i++) {
+			if ((wiped & 1 << i) == 0) {
+				after.add(tokens.get(i));
+			} else {
+				refills++;
+			}
+		}
+		for (int i = 0; i < refills; i++) {
+			after.add(bag.sampleToken(rand));
+		}
+		return after;
+	}
+}
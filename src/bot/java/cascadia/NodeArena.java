@@ -0,0 +1,197 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.Arrays;
+
+/**
+ * Storage for search nodes in parallel int, float and long pools, so a
+ * search doesn't allocate an object per node.  Each node has a fixed
+ * number of fields of each type, stored at {@code node * fields + field}
+ * in the pool for that type.
+ *
+ * <p>The arena holds at most a fixed number of nodes, which can be worked
+ * out from a memory budget.  The pools start small and grow as needed.
+ * Freed nodes are kept on a free list (linked through their first int
+ * field) and handed out again before any new ones.
+ *
+ * <p>Not thread safe, each search thread should have its own arena.
+ */
+public class NodeArena {
+	/** Returned instead of a node when the arena is full. */
+	public static final int NONE = -1;
+	private static final int INITIAL_NODES = 1024;
+	private final int intFields;
+	private final int floatFields;
+	private final int longFields;
+	private final int capacity;
+	private int[] ints;
+	private float[] floats;
+	private long[] longs;
+	// index of the first never used node
+	private int used = 0;
+	private int freeList = NONE;
+	private int size = 0;
+
+	/**
+	 * Creates an arena holding up to the given number of nodes.
+	 *
+	 * @param intFields the number of int fields per node, at least 1
+	 */
+	public NodeArena(int intFields, int floatFields, int longFields, int capacity) {
+		if (intFields < 1 || floatFields < 0 || longFields < 0) {
+			throw new IllegalArgumentException("Nodes need at least one int field, and can't have "
+					+ "a negative number of fields.");
+		} else if (capacity < 1) {
+			throw new IllegalArgumentException("The arena must be able to hold at least one node.  "
+					+ "capacity was " + capacity);
+		} else if ((long) capacity * maxFields(intFields, floatFields, longFields)
+				> Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("The pools for " + capacity + " nodes would be "
+					+ "too big for an array.");
+		}
+		this.intFields = intFields;
+		this.floatFields = floatFields;
+		this.longFields = longFields;
+		this.capacity = capacity;
+		int initial = Math.min(INITIAL_NODES, capacity);
+		ints = new int[initial * intFields];
+		floats = new float[initial * floatFields];
+		longs = new long[initial * longFields];
+	}
+
+	/**
+	 * Creates an arena holding as many nodes as fit in the memory budget.
+	 *
+	 * @param budgetBytes the most memory the pools may use once full
+	 */
+	public static NodeArena withMemoryBudget(int intFields, int floatFields, int longFields,
+											 long budgetBytes) {
+		long perNode = bytesPerNode(intFields, floatFields, longFields);
+		long capacity = Math.min(budgetBytes / perNode,
+				Integer.MAX_VALUE / maxFields(intFields, floatFields, longFields));
+		if (capacity < 1) {
+			throw new IllegalArgumentException("A budget of " + budgetBytes + " bytes can't hold "
+					+ "a node of " + perNode + " bytes.");
+		}
+		return new NodeArena(intFields, floatFields, longFields, (int) capacity);
+	}
+
+	private static int maxFields(int intFields, int floatFields, int longFields) {
+		return Math.max(intFields, Math.max(floatFields, longFields));
+	}
+
+	private static long bytesPerNode(int intFields, int floatFields, int longFields) {
+		return (long) Integer.BYTES * intFields + (long) Float.BYTES * floatFields
+				+ (long) Long.BYTES * longFields;
+	}
+
+	/**
+	 * Allocates a node with every field set to 0.
+	 *
+	 * @return the node, or {@link #NONE} if the arena is full
+	 */
+	public int allocate() {
+		int node;
+		if (freeList != NONE) {
+			node = freeList;
+			freeList = ints[node * intFields];
+		} else if (used < capacity) {
+			if (used * intFields == ints.length) {
+				grow();
+			}
+			node = used++;
+		} else {
+			return NONE;
+		}
+		Arrays.fill(ints, node * intFields, (node + 1) * intFields, 0);
+		Arrays.fill(floats, node * floatFields, (node + 1) * floatFields, 0);
+		Arrays.fill(longs, node * longFields, (node + 1) * longFields, 0);
+		size++;
+		return node;
+	}
+
+	private void grow() {
+		int nodes = (int) Math.min((long) ints.length / intFields * 2, capacity);
+		ints = Arrays.copyOf(ints, nodes * intFields);
+		floats = Arrays.copyOf(floats, nodes * floatFields);
+		longs = Arrays.copyOf(longs, nodes * longFields);
+	}
+
+	/**
+	 * Returns a node to the arena.  Its fields must not be used afterwards.
+	 */
+	public void free(int node) {
+		ints[node * intFields] = freeList;
+		freeList = node;
+		size--;
+	}
+
+	/**
+	 * Frees every node.  The pools are kept, so they don't need to grow again.
+	 */
+	public void clear() {
+		used = 0;
+		freeList = NONE;
+		size = 0;
+	}
+
+	public int getInt(int node, int field) {
+		return ints[node * intFields + field];
+	}
+
+	public void setInt(int node, int field, int value) {
+		ints[node * intFields + field] = value;
+	}
+
+	public float getFloat(int node, int field) {
+		return floats[node * floatFields + field];
+	}
+
+	public void setFloat(int node, int field, float value) {
+		floats[node * floatFields + field] = value;
+	}
+
+	public long getLong(int node, int field) {
+		return longs[node * longFields + field];
+	}
+
+	public void setLong(int node, int field, long value) {
+		longs[node * longFields + field] = value;
+	}
+
+	/**
+	 * Returns the number of nodes currently allocated.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the most nodes the arena can hold.
+	 */
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Returns the memory currently used by the pools, in bytes.
+	 */
+	public long allocatedBytes() {
+		return (long) ints.length * Integer.BYTES + (long) floats.length * Float.BYTES
+				+ (long) longs.length * Long.BYTES;
+	}
+}
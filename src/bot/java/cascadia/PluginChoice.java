@@ -1,5 +1,131 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
 package cascadia;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+
+/**
+ * A strategy a bot can play with.  Plugins are found with a
+ * {@link ServiceLoader}, so new ones can be added by listing them in
+ * {@code META-INF/services/cascadia.PluginChoice}, and each seat can play
+ * with a different plugin.
+ *
+ * <p>Each seat gets its own instance.  Its hooks are called in this order:
+ * {@link #warmUp()} once, {@link #newGame(List, int)} at the start of the
+ * game, then {@link #chooseMove} on each of its turns and
+ * {@link #otherTurnStarted} on each other player's turn (and
+ * {@link #shouldCull} whenever there is a cull before its turn), and finally
+ * {@link #endGame()}.  All hooks are called from the game thread.
+ */
 public interface PluginChoice {
+	/**
+	 * Returns the name the plugin is chosen by.
+	 */
+	String getName();
+
+	/**
+	 * Called once before the game, e.g. so the search code is compiled
+	 * before the first turn is timed.  Scorecards have been drawn by now.
+	 */
+	default void warmUp() {
+	}
+
+	/**
+	 * Sets up the state for a new game.  Should be cheap to construct a
+	 * plugin, so anything large is made here instead.
+	 *
+	 * @param players every player, in turn order
+	 * @param seat the index of this plugin's player in players
+	 */
+	void newGame(List<Player> players, int seat);
+
+	/**
+	 * Chooses a move for the plugin's player.
+	 *
+	 * @param turnsLeft how many turns the player has left, including this one
+	 * @param budget the time left for the turn, checked while searching
+	 * @return {deck tile index, deck token index, row, col, rotation (from
+	 * 			the tile's starting orientation), token row, token col},
+	 * 			where the token row and col are -1 if the token isn't placed,
+	 * 			and the tile and token indexes only differ if a nature token
+	 * 			is used.  Null if no tile can be placed
+	 */
+	int[] chooseMove(Player player, List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens,
+					 int turnsLeft, TurnBudget budget);
+
+	/**
+	 * Decides whether to cull the three matching tokens in the deck, for the
+	 * player whose turn is next.  Culls by default.
+	 *
+	 * @param turnsLeft how many turns the player has left, including the next
+	 * @param budget the time there is to decide
+	 */
+	default boolean shouldCull(Player player, List<HabitatTile> deckTiles,
+							   List<WildlifeToken> deckTokens, int turnsLeft, TurnBudget budget) {
+		return true;
+	}
+
+	/**
+	 * Returns which deck tokens the plugin wants to spend a nature token
+	 * wiping, as a bit mask of their indexes, or 0 to not wipe.  Asked
+	 * after each {@link #chooseMove}.  If tokens are wiped the move is
+	 * ignored, and chooseMove is called again with the new deck.
+	 */
+	default int getTokensToWipe() {
+		return 0;
+	}
+
+	/**
+	 * Called at the start of each other player's turn, so the plugin can
+	 * think about its next turn in the background.  The deck may change
+	 * before the plugin's turn.
+	 */
+	default void otherTurnStarted(List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens) {
+	}
+
+	/**
+	 * Turns thinking in the background on or off.
+	 */
+	default void setPondering(boolean pondering) {
+	}
+
+	/**
+	 * Called when the game ends, to stop any background work.
+	 */
+	default void endGame() {
+	}
+
+	PluginStats getStats();
 
+	/**
+	 * Creates a new instance of the plugin with the given name.
+	 *
+	 * @throws IllegalArgumentException if there is no plugin with that name
+	 */
+	static PluginChoice create(String name) {
+		List<String> names = new ArrayList<>();
+		for (PluginChoice plugin : ServiceLoader.load(PluginChoice.class)) {
+			if (plugin.getName().equals(name)) {
+				return plugin;
+			}
+			names.add(plugin.getName());
+		}
+		throw new IllegalArgumentException("There is no plugin called " + name
+				+ ".  The plugins are " + names);
+	}
 }
@@ -0,0 +1,66 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * How long a plugin has spent on its turns and how many nodes (positions or
+ * moves) it has looked at, so plugins can be compared head to head.
+ * Nodes can be counted from any thread.
+ */
+public class PluginStats {
+	private final AtomicLong nodes = new AtomicLong();
+	private long turns = 0;
+	private long totalNanos = 0;
+	private long maxNanos = 0;
+
+	public void addNodes(long count) {
+		nodes.addAndGet(count);
+	}
+
+	/**
+	 * Records how long a turn took.
+	 */
+	public synchronized void recordTurn(long nanos) {
+		turns++;
+		totalNanos += nanos;
+		maxNanos = Math.max(maxNanos, nanos);
+	}
+
+	public long getNodes() {
+		return nodes.get();
+	}
+
+	public synchronized long getTurns() {
+		return turns;
+	}
+
+	public synchronized long getTotalNanos() {
+		return totalNanos;
+	}
+
+	public synchronized long getMaxNanos() {
+		return maxNanos;
+	}
+
+	@Override
+	public synchronized String toString() {
+		double averageMillis = turns == 0 ? 0 : totalNanos / 1e6 / turns;
+		return String.format("%d turns, %.2f ms/turn (max %.2f ms), %d nodes", turns,
+				averageMillis, maxNanos / 1e6, nodes.get());
+	}
+}
@@ -0,0 +1,157 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Thinks about a bot's next turn while the other players are taking theirs.
+ * A player's map only changes on their own turn, so their turn can be
+ * searched in the background with the current deck.  Whichever pair the
+ * other player takes, the search of the pairs they leave is kept in the
+ * bot's {@link TurnSearch} tree, ready to be reused when their turn comes.
+ * Once the deck has been searched, the best placement of each other token
+ * type (which may be drawn as refills) is worked out and stored in the
+ * shared cache.
+ *
+ * <p>Pondering runs on a single daemon thread, on a copy of the map, and
+ * checks after every placement it tries whether it has been stopped, so
+ * stopping it is quick.
+ *
+ * @see TurnSearch
+ * @see TokenBot#evaluate
+ */
+public class Ponderer {
+	private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "ponderer");
+		thread.setDaemon(true);
+		return thread;
+	});
+	private final TranspositionTable table;
+	private final EvaluationCache cache;
+	private final TurnSearch search;
+	private Future<?> task = null;
+	private volatile boolean stopped = false;
+	private volatile int tokensEvaluated = 0;
+
+	public Ponderer(TranspositionTable table, EvaluationCache cache, TurnSearch search) {
+		this.table = table;
+		this.cache = cache;
+		this.search = search;
+	}
+
+	/**
+	 * Starts pondering on the player's map, stopping any ponder already running.
+	 * Must be called from the game thread, as the map, deck and bag are read
+	 * here before the background thread is started.
+	 *
+	 * @param player the player whose turn is being pondered
+	 * @param deckTiles the tiles currently in the deck
+	 * @param deckTokens the tokens currently in the deck
+	 */
+	public synchronized void start(Player player, List<HabitatTile> deckTiles,
+								   List<WildlifeToken> deckTokens) {
+		stop();
+		PlayerMap map = player.getMap().copy();
+		// the deck tiles are copied too, as the bots rotate them while choosing
+		List<HabitatTile> tiles = new ArrayList<>();
+		for (HabitatTile tile : deckTiles) {
+			tiles.add(tile.duplicate());
+		}
+		List<WildlifeToken> deck = new ArrayList<>(deckTokens);
+		List<WildlifeToken> tokens = ponderOrder(deckTokens);
+		stopped = false;
+		tokensEvaluated = 0;
+		task = executor.submit(() -> ponder(map, tiles, deck, tokens));
+	}
+
+	private void ponder(PlayerMap map, List<HabitatTile> deckTiles,
+						List<WildlifeToken> deckTokens, List<WildlifeToken> tokens) {
+		search.search(map, deckTiles, deckTokens, () -> !stopped);
+		// the deck tokens were evaluated by the search, so these are mostly the refills
+		for (WildlifeToken token : tokens) {
+			if (stopped) {
+				return;
+			}
+			TokenBot.evaluate(map, token, table, cache, () -> !stopped);
+			tokensEvaluated++;
+		}
+	}
+
+	// deck tokens first, then the rest in order of how many are left in the bag
+	private static List<WildlifeToken> ponderOrder(List<WildlifeToken> deckTokens) {
+		List<WildlifeToken> tokens = new ArrayList<>();
+		for (WildlifeToken token : deckTokens) {
+			if (token != null && !tokens.contains(token)) {
+				tokens.add(token);
+			}
+		}
+		List<WildlifeToken> refills = new ArrayList<>();
+		for (WildlifeToken token : WildlifeToken.values()) {
+			if (!tokens.contains(token) && Bag.remainingTokens.getOrDefault(token, 0) > 0) {
+				refills.add(token);
+			}
+		}
+		refills.sort(Comparator.comparing(
+				(WildlifeToken token) -> Bag.remainingTokens.get(token)).reversed());
+		tokens.addAll(refills);
+		return tokens;
+	}
+
+	/**
+	 * Stops pondering, and waits for the background thread to finish its
+	 * current placement.  Everything it evaluated is kept in the cache and
+	 * search tree.
+	 */
+	public synchronized void stop() {
+		if (task == null) {
+			return;
+		}
+		stopped = true;
+		try {
+			task.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Pondering failed", e.getCause());
+		} finally {
+			task = null;
+		}
+	}
+
+	/**
+	 * Stops pondering and ends the background thread.  The ponderer can't be
+	 * started again afterwards.
+	 */
+	public synchronized void shutdown() {
+		stop();
+		executor.shutdown();
+	}
+
+	/**
+	 * Returns the number of token types fully evaluated by the current (or
+	 * last) ponder.
+	 */
+	public int getTokensEvaluated() {
+		return tokensEvaluated;
+	}
+}
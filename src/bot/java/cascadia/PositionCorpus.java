@@ -0,0 +1,244 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoreCards;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A corpus of positions from seeded self-play games, shared by benchmarks,
+ * tests and checks that the bots haven't got worse.  Positions are taken
+ * at the start of each player's turn in the chosen rounds, so there are
+ * boards of every size, from the starter tiles to the end of the game.
+ *
+ * <p>The corpus is stored as a compact binary file: a header with the
+ * scorecards, then each position's players, deck and bag.  Tiles are packed
+ * into ints, see {@link CorpusPosition}.
+ *
+ * <p>Run with {@code [games] [file] [rounds] [players]}, where rounds is a
+ * comma separated list, e.g. {@code 0,10,19}.
+ */
+public class PositionCorpus {
+	private static final int MAGIC = 0x434F5250;
+	private static final int VERSION = 1;
+	private static final int[] DEFAULT_ROUNDS = {0, 5, 10, 15, 19};
+	private static final int DEFAULT_PLAYERS = 2;
+	private static final int TABLE_SIZE_BITS = 14;
+
+	public static void main(String[] args) throws IOException {
+		int numGames = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		Path path = Paths.get(args.length > 1 ? args[1] : "corpus.bin");
+		int[] rounds = args.length > 2
+				? Arrays.stream(args[2].split(",")).mapToInt(Integer::parseInt).toArray()
+				: DEFAULT_ROUNDS;
+		int numPlayers = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_PLAYERS;
+
+		// the bots always play with the same scorecards
+		Game.botMode = true;
+		ScoreCards.generateScorecards();
+		List<CorpusPosition> positions = generate(numGames, 0, rounds, numPlayers);
+		write(path, positions);
+		System.out.printf("Wrote %d positions to %s (%d bytes)%n", positions.size(), path,
+				Files.size(path));
+	}
+
+	/**
+	 * Plays seeded games, with the default weights, and takes the positions at
+	 * the start of each player's turn in the given rounds.  The same seed
+	 * always gives the same positions.
+	 *
+	 * @param seed the seed of the first game, the others follow on from it
+	 * @param rounds the rounds to take positions in, from 0 to 19
+	 */
+	public static List<CorpusPosition> generate(int numGames, long seed, int[] rounds,
+												int numPlayers) {
+		List<CorpusPosition> positions = new ArrayList<>();
+		String[] scorecards = ScoreCards.getScorecards().clone();
+		for (int g = 0; g < numGames; g++) {
+			long gameSeed = seed + g;
+			EvaluationPolicy[] policies = new EvaluationPolicy[numPlayers];
+			for (int p = 0; p < numPlayers; p++) {
+				policies[p] = new EvaluationPolicy(new LinearEvaluator(),
+						new TranspositionTable(TABLE_SIZE_BITS), new EvaluationCache());
+			}
+			SelfPlay.play(policies, gameSeed, (player, map, natureTokens, turnsLeft) -> { },
+					(turn, player, maps, natureTokens, tiles, tokens, bag) -> {
+						if (Arrays.stream(rounds).anyMatch(r -> r == turn / numPlayers)) {
+							positions.add(snapshot(gameSeed, turn, player, scorecards, maps,
+									natureTokens, tiles, tokens, bag));
+						}
+					});
+		}
+		return positions;
+	}
+
+	private static CorpusPosition snapshot(long seed, int turn, int player, String[] scorecards,
+										   PlayerMap[] maps, int[] natureTokens,
+										   List<HabitatTile> tiles, List<WildlifeToken> tokens,
+										   BagModel bag) {
+		int[][] boards = new int[maps.length][];
+		for (int p = 0; p < maps.length; p++) {
+			boards[p] = CorpusPosition.packMap(maps[p]);
+		}
+		int[] deckTiles = new int[tiles.size()];
+		for (int i = 0; i < deckTiles.length; i++) {
+			deckTiles[i] = CorpusPosition.pack(tiles.get(i), -1, -1);
+		}
+		int[] deckTokens = tokens.stream().mapToInt(WildlifeToken::ordinal).toArray();
+		int turnsLeft = SelfPlay.TURNS_PER_PLAYER - turn / maps.length;
+		return new CorpusPosition(seed, turn, player, turnsLeft, scorecards, boards,
+				natureTokens, SelfPlay.scores(maps, natureTokens), deckTiles, deckTokens, bag);
+	}
+
+	/**
+	 * Writes the positions, to a temporary file first so a corpus is never
+	 * left half written.  Every position must use the same scorecards.
+	 */
+	public static void write(Path path, List<CorpusPosition> positions) throws IOException {
+		Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+		String[] scorecards = positions.isEmpty() ? ScoreCards.getScorecards()
+				: positions.get(0).getScorecards();
+		try (DataOutputStream out = new DataOutputStream(
+				new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(VERSION);
+			for (int i = 0; i < Constants.NUM_TOKEN_TYPES; i++) {
+				out.writeUTF(scorecards[i] == null ? "" : scorecards[i]);
+			}
+			out.writeInt(positions.size());
+			for (CorpusPosition position : positions) {
+				if (!Arrays.equals(position.getScorecards(), scorecards)) {
+					throw new IllegalArgumentException("Every position in a corpus must use the "
+							+ "same scorecards");
+				}
+				writePosition(out, position);
+			}
+		}
+		Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+
+	private static void writePosition(DataOutputStream out, CorpusPosition position)
+			throws IOException {
+		out.writeLong(position.getSeed());
+		out.writeShort(position.getTurn());
+		out.writeByte(position.getNumPlayers());
+		out.writeByte(position.getToMove());
+		out.writeByte(position.getTurnsLeft());
+		for (int p = 0; p < position.getNumPlayers(); p++) {
+			out.writeByte(position.getNatureTokens(p));
+			out.writeShort(position.getScore(p));
+			writeInts(out, position.getBoard(p));
+		}
+		writeInts(out, position.getPackedDeckTiles());
+		int[] tokens = position.getPackedDeckTokens();
+		out.writeByte(tokens.length);
+		for (int token : tokens) {
+			out.writeByte(token);
+		}
+		BagModel bag = position.getBag();
+		for (int count : bag.getHabitats()) {
+			out.writeShort(count);
+		}
+		out.writeShort(bag.getKeystones());
+		out.writeShort(bag.getNonKeystones());
+		for (int count : bag.getTokens()) {
+			out.writeShort(count);
+		}
+	}
+
+	// a byte with the length, as there are never more than 255 tiles
+	private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+		out.writeByte(values.length);
+		for (int value : values) {
+			out.writeInt(value);
+		}
+	}
+
+	public static List<CorpusPosition> read(Path path) throws IOException {
+		try (DataInputStream in = new DataInputStream(
+				new BufferedInputStream(Files.newInputStream(path)))) {
+			if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+				throw new IOException(path + " is not a position corpus");
+			}
+			String[] scorecards = new String[Constants.NUM_TOKEN_TYPES];
+			for (int i = 0; i < scorecards.length; i++) {
+				String card = in.readUTF();
+				scorecards[i] = card.isEmpty() ? null : card;
+			}
+			int numPositions = in.readInt();
+			List<CorpusPosition> positions = new ArrayList<>(numPositions);
+			for (int i = 0; i < numPositions; i++) {
+				positions.add(readPosition(in, scorecards));
+			}
+			return positions;
+		}
+	}
+
+	private static CorpusPosition readPosition(DataInputStream in, String[] scorecards)
+			throws IOException {
+		long seed = in.readLong();
+		int turn = in.readShort();
+		int numPlayers = in.readUnsignedByte();
+		int toMove = in.readUnsignedByte();
+		int turnsLeft = in.readUnsignedByte();
+		int[][] boards = new int[numPlayers][];
+		int[] natureTokens = new int[numPlayers];
+		int[] scores = new int[numPlayers];
+		for (int p = 0; p < numPlayers; p++) {
+			natureTokens[p] = in.readUnsignedByte();
+			scores[p] = in.readShort();
+			boards[p] = readInts(in);
+		}
+		int[] deckTiles = readInts(in);
+		int[] deckTokens = new int[in.readUnsignedByte()];
+		for (int i = 0; i < deckTokens.length; i++) {
+			deckTokens[i] = in.readUnsignedByte();
+		}
+		int[] habitats = new int[Constants.NUM_HABITAT_TYPES];
+		for (int i = 0; i < habitats.length; i++) {
+			habitats[i] = in.readShort();
+		}
+		int keystones = in.readShort();
+		int nonKeystones = in.readShort();
+		int[] tokens = new int[Constants.NUM_TOKEN_TYPES];
+		for (int i = 0; i < tokens.length; i++) {
+			tokens[i] = in.readShort();
+		}
+		return new CorpusPosition(seed, turn, toMove, turnsLeft, scorecards, boards,
+				natureTokens, scores, deckTiles, deckTokens,
+				new BagModel(habitats, keystones, nonKeystones, tokens));
+	}
+
+	private static int[] readInts(DataInputStream in) throws IOException {
+		int[] values = new int[in.readUnsignedByte()];
+		for (int i = 0; i < values.length; i++) {
+			values[i] = in.readInt();
+		}
+		return values;
+	}
+}
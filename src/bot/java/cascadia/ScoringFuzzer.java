@@ -0,0 +1,522 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoreBounds;
+import cascadia.scoring.ScoreCards;
+import cascadia.scoring.ScoreToken;
+import cascadia.scoring.Scorable;
+import cascadia.scoring.ScoringBear;
+import cascadia.scoring.ScoringElk;
+import cascadia.scoring.ScoringFox;
+import cascadia.scoring.ScoringHabitatCorridors;
+import cascadia.scoring.ScoringHawk;
+import cascadia.scoring.ScoringSalmon;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Checks the bots' fast scorers against the reference scorers in
+ * {@code cascadia.scoring} on random legal boards, after every placement.
+ * The fast scorers can then be changed freely, as long as the fuzzer still
+ * passes.
+ *
+ * <p>A board is a list of placements, each a tile packed as in
+ * {@link CorpusPosition} along with the token placed on it, if any.  When a
+ * board fails it is shrunk, by removing placements and simplifying tiles
+ * while it still fails, and printed as a JUnit test to add to
+ * {@code ScoringFuzzerTest}.
+ *
+ * <p>Run with {@code [boards] [seed] [threads]}.
+ */
+public class ScoringFuzzer {
+	/** The checks by name, in the order they are run. */
+	public static final Map<String, Check> CHECKS;
+	private static final int[] STARTER_CELLS = {8 * PlayerMap.BOARD_WIDTH + 9,
+			9 * PlayerMap.BOARD_WIDTH + 9, 9 * PlayerMap.BOARD_WIDTH + 10};
+	private static final int MAX_TURNS = 20;
+	private static final int NUM_CELLS = PlayerMap.BOARD_HEIGHT * PlayerMap.BOARD_WIDTH;
+	private static final BagModel BAG = BagModel.botGame();
+	// boards checked by each task
+	private static final int CHUNK = 64;
+	private static final Scorable[] SCORERS = {ScoringBear.Option.B1, ScoringBear.Option.B2,
+			ScoringBear.Option.B3, ScoringElk.Option.E1, ScoringElk.Option.E2, ScoringElk.Option.E3,
+			ScoringSalmon.Option.S1, ScoringSalmon.Option.S2, ScoringSalmon.Option.S3,
+			ScoringHawk.Option.H1, ScoringHawk.Option.H2, ScoringHawk.Option.H3,
+			ScoringFox.Option.F1, ScoringFox.Option.F2, ScoringFox.Option.F3};
+	// one table per thread, shared by all the boards it checks so stale entries show up
+	private static final ThreadLocal<TranspositionTable> tables =
+			ThreadLocal.withInitial(TranspositionTable::new);
+
+	static {
+		Map<String, Check> checks = new LinkedHashMap<>();
+		checks.put("hash", () -> ScoringFuzzer::checkHash);
+		checks.put("corridors", ScoringFuzzer::corridorChecker);
+		checks.put("cached", () -> ScoringFuzzer::checkCachedScores);
+		checks.put("bounds", ScoringFuzzer::boundsChecker);
+		CHECKS = Collections.unmodifiableMap(checks);
+	}
+
+	/**
+	 * A fast scorer, checked one board at a time.
+	 */
+	public interface Check {
+		/**
+		 * Returns a checker for a new board, which is called after each of its
+		 * placements in order.
+		 */
+		Checker start();
+	}
+
+	public interface Checker {
+		/**
+		 * Returns how the fast scorer disagrees with the reference scorer, or
+		 * null if it doesn't.
+		 *
+		 * @param map the board with the placement made
+		 */
+		String afterPlacement(PlayerMap map, int placement);
+	}
+
+	/**
+	 * A board which failed a check, shrunk as far as it would go.
+	 */
+	public static class Failure {
+		private final String check;
+		private final long seed;
+		private final int board;
+		private final int[] placements;
+		private final String message;
+
+		Failure(String check, long seed, int board, int[] placements, String message) {
+			this.check = check;
+			this.seed = seed;
+			this.board = board;
+			this.placements = placements.clone();
+			this.message = message;
+		}
+
+		public String getCheck() {
+			return check;
+		}
+
+		public long getSeed() {
+			return seed;
+		}
+
+		public int getBoard() {
+			return board;
+		}
+
+		public int[] getPlacements() {
+			return placements.clone();
+		}
+
+		public String getMessage() {
+			return message;
+		}
+
+		/**
+		 * Returns a JUnit test which replays the board.
+		 */
+		public String toFixture() {
+			StringBuilder fixture = new StringBuilder();
+			fixture.append("    @Test\n");
+			fixture.append("    public void test").append(Character.toUpperCase(check.charAt(0)))
+					.append(check.substring(1)).append("Board").append(board).append("() {\n");
+			fixture.append("        // board ").append(board).append(" of seed ").append(seed)
+					.append(": ").append(message).append('\n');
+			fixture.append("        int[] placements = {\n");
+			for (int placement : placements) {
+				fixture.append(String.format("                0x%08x, // %s%n", placement,
+						describe(placement)));
+			}
+			fixture.append("        };\n");
+			fixture.append("        assertNull(ScoringFuzzer.check(\"").append(check)
+					.append("\", placements));\n");
+			fixture.append("    }\n");
+			return fixture.toString();
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException, ExecutionException {
+		int boards = args.length > 0 ? Integer.parseInt(args[0]) : 10000;
+		long seed = args.length > 1 ? Long.parseLong(args[1]) : System.nanoTime();
+		int threads = args.length > 2 ? Integer.parseInt(args[2])
+				: Runtime.getRuntime().availableProcessors();
+
+		// the cached scores use the scorecards in play
+		Game.botMode = true;
+		ScoreCards.generateScorecards();
+		System.out.println("Seed " + seed);
+		boolean passed = true;
+		for (String name : CHECKS.keySet()) {
+			long start = System.nanoTime();
+			Failure failure = run(name, boards, seed, threads);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			if (failure == null) {
+				System.out.printf("%s: %d boards passed in %.1f s (%.0f boards/s)%n", name, boards,
+						seconds, boards / seconds);
+			} else {
+				passed = false;
+				System.out.printf("%s: board %d failed, shrunk to %d placements: %s%n%n%s%n", name,
+						failure.getBoard(), failure.getPlacements().length, failure.getMessage(),
+						failure.toFixture());
+			}
+		}
+		if (!passed) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Checks random boards in parallel, and returns the first board which
+	 * failed, shrunk, or null if they all passed.  Board i is made from seed
+	 * + i, so the same seed always fails on the same board.
+	 */
+	public static Failure run(String name, int boards, long seed, int threads)
+			throws InterruptedException, ExecutionException {
+		Check check = getCheck(name);
+		AtomicInteger firstFailure = new AtomicInteger(boards);
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<Callable<Void>> tasks = new ArrayList<>();
+			for (int start = 0; start < boards; start += CHUNK) {
+				int from = start;
+				int to = Math.min(boards, start + CHUNK);
+				tasks.add(() -> {
+					// boards after one which has already failed don't need checked
+					for (int i = from; i < to && i < firstFailure.get(); i++) {
+						if (check(check, randomBoard(new SplittableRandom(seed + i))) != null) {
+							firstFailure.accumulateAndGet(i, Math::min);
+						}
+					}
+					return null;
+				});
+			}
+			for (Future<Void> result : pool.invokeAll(tasks)) {
+				result.get();
+			}
+		} finally {
+			pool.shutdown();
+		}
+
+		int board = firstFailure.get();
+		if (board == boards) {
+			return null;
+		}
+		int[] shrunk = shrink(check, randomBoard(new SplittableRandom(seed + board)));
+		return new Failure(name, seed, board, shrunk, check(check, shrunk));
+	}
+
+	/**
+	 * Replays the placements on an empty map, checking after each one.
+	 * Returns why the check failed, or null if it passed.
+	 */
+	public static String check(String name, int[] placements) {
+		return check(getCheck(name), placements);
+	}
+
+	static String check(Check check, int[] placements) {
+		PlayerMap map = PlayerMap.empty();
+		Checker checker = check.start();
+		for (int i = 0; i < placements.length; i++) {
+			int placement = placements[i];
+			int row = CorpusPosition.row(placement);
+			int col = CorpusPosition.col(placement);
+			try {
+				map.addTileToMap(CorpusPosition.unpack(placement), row, col);
+				WildlifeToken token = CorpusPosition.placedToken(placement);
+				if (token != null) {
+					map.placeTokenAt(row, col, token);
+				}
+				String failure = checker.afterPlacement(map, placement);
+				if (failure != null) {
+					return "placement " + i + ": " + failure;
+				}
+			} catch (RuntimeException e) {
+				return "placement " + i + ": " + e;
+			}
+		}
+		return null;
+	}
+
+	private static Check getCheck(String name) {
+		Check check = CHECKS.get(name);
+		if (check == null) {
+			throw new IllegalArgumentException("There is no check called " + name + ".  The "
+					+ "checks are " + CHECKS.keySet());
+		}
+		return check;
+	}
+
+	/**
+	 * Makes a random legal board: the three starter tiles, then up to 20 more,
+	 * each next to a tile already placed, in a random rotation and usually
+	 * with one of its token options placed on it.  Tokens are only placed on
+	 * the tile just placed, but as scores don't depend on the order of the
+	 * placements, every board can still be made.
+	 */
+	static int[] randomBoard(SplittableRandom rand) {
+		int[] placements = new int[STARTER_CELLS.length + rand.nextInt(MAX_TURNS + 1)];
+		boolean[] taken = new boolean[NUM_CELLS];
+		boolean[] inFrontier = new boolean[NUM_CELLS];
+		List<Integer> frontier = new ArrayList<>();
+		for (int i = 0; i < placements.length; i++) {
+			int cell = i < STARTER_CELLS.length ? STARTER_CELLS[i]
+					: frontier.get(rand.nextInt(frontier.size()));
+			int row = cell / PlayerMap.BOARD_WIDTH;
+			int col = cell % PlayerMap.BOARD_WIDTH;
+			taken[cell] = true;
+			frontier.remove(Integer.valueOf(cell));
+			for (int edge = 0; edge < Constants.NUM_EDGES; edge++) {
+				int neighbour = CorridorBoard.neighbour(row, col, edge);
+				if (neighbour >= 0 && !taken[neighbour] && !inFrontier[neighbour]) {
+					inFrontier[neighbour] = true;
+					frontier.add(neighbour);
+				}
+			}
+
+			HabitatTile tile = BAG.sampleTile(rand);
+			tile.rotateTile(rand.nextInt(Constants.NUM_EDGES));
+			int placement = CorpusPosition.pack(tile, row, col);
+			if (rand.nextInt(4) > 0) {
+				List<WildlifeToken> options = new ArrayList<>();
+				for (WildlifeToken option : tile.getTokenOptions()) {
+					if (option != null) {
+						options.add(option);
+					}
+				}
+				placement = CorpusPosition.withToken(placement,
+						options.get(rand.nextInt(options.size())));
+			}
+			placements[i] = placement;
+		}
+		return placements;
+	}
+
+	/**
+	 * Returns whether each tile is placed next to an earlier one, in an empty
+	 * cell, with a token (if it has one) that is one of its options.
+	 */
+	static boolean isLegal(int[] placements) {
+		boolean[] taken = new boolean[NUM_CELLS];
+		for (int i = 0; i < placements.length; i++) {
+			int row = CorpusPosition.row(placements[i]);
+			int col = CorpusPosition.col(placements[i]);
+			int cell = row * PlayerMap.BOARD_WIDTH + col;
+			if (taken[cell] || (i > 0 && !nextToTaken(taken, row, col))) {
+				return false;
+			}
+			WildlifeToken token = CorpusPosition.placedToken(placements[i]);
+			if (token != null && (CorpusPosition.options(placements[i]) & 1 << token.ordinal()) == 0) {
+				return false;
+			}
+			taken[cell] = true;
+		}
+		return true;
+	}
+
+	private static boolean nextToTaken(boolean[] taken, int row, int col) {
+		for (int edge = 0; edge < Constants.NUM_EDGES; edge++) {
+			int neighbour = CorridorBoard.neighbour(row, col, edge);
+			if (neighbour >= 0 && taken[neighbour]) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Shrinks a failing board.  Runs of placements are removed, from half the
+	 * board down to one at a time, then each tile has its token, rotation and
+	 * extra token options taken away, for as long as the board stays legal
+	 * and still fails.
+	 */
+	static int[] shrink(Check check, int[] placements) {
+		int[] current = placements;
+		boolean shrunk = true;
+		while (shrunk) {
+			shrunk = false;
+			for (int run = Math.max(1, current.length / 2); run >= 1; run /= 2) {
+				int start = 0;
+				while (start + run <= current.length) {
+					int[] candidate = new int[current.length - run];
+					System.arraycopy(current, 0, candidate, 0, start);
+					System.arraycopy(current, start + run, candidate, start,
+							current.length - start - run);
+					if (fails(check, candidate)) {
+						current = candidate;
+						shrunk = true;
+					} else {
+						start++;
+					}
+				}
+			}
+			for (int i = 0; i < current.length; i++) {
+				for (int simpler : simplify(current[i])) {
+					int[] candidate = current.clone();
+					candidate[i] = simpler;
+					if (fails(check, candidate)) {
+						current = candidate;
+						shrunk = true;
+						break;
+					}
+				}
+			}
+		}
+		return current;
+	}
+
+	private static boolean fails(Check check, int[] placements) {
+		return placements.length > 0 && isLegal(placements) && check(check, placements) != null;
+	}
+
+	// simpler versions of a placement, each with less on it
+	private static List<Integer> simplify(int placement) {
+		List<Integer> simpler = new ArrayList<>();
+		WildlifeToken token = CorpusPosition.placedToken(placement);
+		if (token != null) {
+			simpler.add(CorpusPosition.withToken(placement, null));
+		}
+		if (CorpusPosition.rotation(placement) != 0) {
+			simpler.add(CorpusPosition.withRotation(placement, 0));
+		}
+		int options = CorpusPosition.options(placement);
+		if (Integer.bitCount(options) > 1) {
+			simpler.add(CorpusPosition.withOptions(placement,
+					token != null ? 1 << token.ordinal() : Integer.lowestOneBit(options)));
+		}
+		return simpler;
+	}
+
+	private static String describe(int placement) {
+		HabitatTile tile = CorpusPosition.unpack(placement);
+		StringBuilder description = new StringBuilder();
+		if (tile.isKeystone()) {
+			description.append(tile.getHabitat1()).append(" keystone");
+		} else {
+			description.append(tile.getHabitat1()).append('/').append(tile.getHabitat2())
+					.append(" turned ").append(tile.getRotation());
+		}
+		description.append(" at (").append(CorpusPosition.row(placement)).append(", ")
+				.append(CorpusPosition.col(placement)).append("), options");
+		for (WildlifeToken option : tile.getTokenOptions()) {
+			if (option != null) {
+				description.append(' ').append(option);
+			}
+		}
+		WildlifeToken token = CorpusPosition.placedToken(placement);
+		if (token != null) {
+			description.append(", ").append(token).append(" placed");
+		}
+		return description.toString();
+	}
+
+	// the map's hash, updated as each tile and token is placed, against hashing the whole board
+	private static String checkHash(PlayerMap map, int placement) {
+		long expected = Zobrist.hashBoard(map.getTileBoardPosition());
+		if (map.getZobristHash() != expected) {
+			return "the map's hash is " + map.getZobristHash() + " but the board hashes to "
+					+ expected;
+		}
+		return null;
+	}
+
+	// the corridor board, and the corridor sizes it predicts, against searching the map
+	private static Checker corridorChecker() {
+		CorridorBoard board = new CorridorBoard(PlayerMap.empty());
+		return (map, placement) -> {
+			int row = CorpusPosition.row(placement);
+			int col = CorpusPosition.col(placement);
+			HabitatTile tile = map.returnTileAtPositionInMap(row, col);
+			Habitat[] edges = CorridorBoard.rotatedEdges(tile, tile.getRotation());
+			int[] predicted = board.getLongestCorridorSizes();
+			for (Habitat habitat : CorridorBoard.habitatsOf(tile)) {
+				int grown = board.grownCorridorSize(row, col, edges, habitat);
+				if (grown > board.maxGrownCorridorSize(row, col, habitat)) {
+					return "the " + habitat + " corridor grew to " + grown + ", more than its "
+							+ "bound of " + board.maxGrownCorridorSize(row, col, habitat);
+				}
+				predicted[habitat.ordinal()] = Math.max(predicted[habitat.ordinal()], grown);
+			}
+			board.place(tile, row, col, tile.getRotation());
+			for (Habitat habitat : Habitat.values()) {
+				int expected = ScoringHabitatCorridors.findLongestHabitatCorridor(map, habitat)
+						.size();
+				int actual = board.getLongestCorridorSize(habitat);
+				if (actual != expected || predicted[habitat.ordinal()] != expected) {
+					return "the longest " + habitat + " corridor is " + expected + " but the "
+							+ "corridor board has " + actual + " and predicted "
+							+ predicted[habitat.ordinal()];
+				}
+			}
+			return null;
+		};
+	}
+
+	// the scores the bots keep in the transposition table, and of copies, against scoring the map
+	private static String checkCachedScores(PlayerMap map, int placement) {
+		TranspositionTable table = tables.get();
+		PlayerMap copy = map.copy();
+		for (WildlifeToken token : WildlifeToken.values()) {
+			int expected = ScoreToken.calculateScore(map, token);
+			int cached = TokenBot.scoreOfMap(table, map, token);
+			int copied = ScoreToken.calculateScore(copy, token);
+			if (cached != expected || copied != expected) {
+				return "the " + token + " score is " + expected + " but the table has " + cached
+						+ " and a copy scores " + copied;
+			}
+		}
+		return null;
+	}
+
+	// the score bounds against every scorecard's score, as each token is placed
+	private static Checker boundsChecker() {
+		int[] before = new int[SCORERS.length];
+		return (map, placement) -> {
+			for (int i = 0; i < SCORERS.length; i++) {
+				String card = SCORERS[i].toString();
+				WildlifeToken token = WildlifeToken.values()[i / 3];
+				int tokens = ScoreBounds.countTokens(map, token);
+				int tokensBefore = CorpusPosition.placedToken(placement) == token ? tokens - 1
+						: tokens;
+				int score = SCORERS[i].score(map);
+				if (score > ScoreBounds.maxScore(card, tokens, 0)) {
+					return card + " scores " + score + " with " + tokens + " tokens, more than "
+							+ "its bound of " + ScoreBounds.maxScore(card, tokens, 0);
+				}
+				int bound = ScoreBounds.maxGain(card, tokensBefore, 1, before[i]);
+				if (score - before[i] > bound) {
+					return card + " went from " + before[i] + " to " + score + ", more than its "
+							+ "bound of " + bound;
+				}
+				before[i] = score;
+			}
+			return null;
+		};
+	}
+}
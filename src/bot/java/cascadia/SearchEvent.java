@@ -0,0 +1,55 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * A Java Flight Recorder event for a bot choosing its move.
+ *
+ * @see FlightRecording
+ */
+@Name("cascadia.BotSearch")
+@Label("Bot Search")
+@Category({"Cascadia", "Bots"})
+@Description("A bot choosing its move")
+class SearchEvent extends jdk.jfr.Event {
+	@Label("Plugin")
+	String plugin;
+
+	@Label("Nodes")
+	@Description("How many positions or moves the search looked at")
+	long nodes;
+
+	@Label("Depth")
+	@Description("How many of the player's turns the search looked ahead")
+	int depth;
+
+	@Label("Budget")
+	@Timespan
+	long budget;
+
+	@Label("Move")
+	String move;
+
+	@Label("Deadline Hit")
+	@Description("Whether the search was still running when the time ran out")
+	boolean deadlineHit;
+}
@@ -0,0 +1,224 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+/**
+ * A search tree whose nodes are stored in a {@link NodeArena} rather than
+ * as one object each, so large trees don't create work for the garbage
+ * collector.  Nodes are referred to by their index, and nodes that are
+ * released are reused by later searches.
+ *
+ * <p>Each node has a parent, a first child and a next sibling (so children
+ * form a linked list), a move, a value, a key (e.g. a Zobrist hash) and a
+ * state, whose meaning is up to the search using the tree.
+ */
+public class SearchTree {
+	/** Returned instead of a node index when there is no such node. */
+	public static final int NONE = NodeArena.NONE;
+	// int fields of each node, the first is used by the arena's free list once released
+	private static final int PARENT = 0;
+	private static final int FIRST_CHILD = 1;
+	private static final int NEXT_SIBLING = 2;
+	private static final int MOVE = 3;
+	private static final int STATE = 4;
+	private static final int INT_FIELDS = 5;
+	private static final int VALUE = 0;
+	private static final int FLOAT_FIELDS = 1;
+	private static final int KEY = 0;
+	private static final int LONG_FIELDS = 1;
+	private final NodeArena arena;
+	private int root = NONE;
+
+	public SearchTree(int maxNodes) {
+		this(new NodeArena(INT_FIELDS, FLOAT_FIELDS, LONG_FIELDS, maxNodes));
+	}
+
+	private SearchTree(NodeArena arena) {
+		this.arena = arena;
+	}
+
+	/**
+	 * Creates a tree holding as many nodes as fit in the memory budget.
+	 */
+	public static SearchTree withMemoryBudget(long budgetBytes) {
+		return new SearchTree(NodeArena.withMemoryBudget(INT_FIELDS, FLOAT_FIELDS, LONG_FIELDS,
+				budgetBytes));
+	}
+
+	/**
+	 * Creates a node with no parent, reusing a released node if there is one.
+	 *
+	 * @return the index of the node, or {@link #NONE} if the tree is full
+	 */
+	public int newNode(long nodeKey, int nodeMove) {
+		int node = arena.allocate();
+		if (node != NONE) {
+			arena.setInt(node, PARENT, NONE);
+			arena.setInt(node, FIRST_CHILD, NONE);
+			arena.setInt(node, NEXT_SIBLING, NONE);
+			arena.setInt(node, MOVE, nodeMove);
+			arena.setLong(node, KEY, nodeKey);
+		}
+		return node;
+	}
+
+	/**
+	 * Creates a node as the first child of the given node.
+	 *
+	 * @return the index of the child, or {@link #NONE} if the tree is full
+	 */
+	public int addChild(int parentNode, long childKey, int childMove) {
+		int child = newNode(childKey, childMove);
+		if (child != NONE) {
+			arena.setInt(child, PARENT, parentNode);
+			arena.setInt(child, NEXT_SIBLING, getFirstChild(parentNode));
+			arena.setInt(parentNode, FIRST_CHILD, child);
+		}
+		return child;
+	}
+
+	/**
+	 * Returns the first child of the node with the given key, or {@link #NONE}.
+	 */
+	public int findChild(int node, long childKey) {
+		for (int child = getFirstChild(node); child != NONE; child = getNextSibling(child)) {
+			if (getKey(child) == childKey) {
+				return child;
+			}
+		}
+		return NONE;
+	}
+
+	/**
+	 * Releases every child of the node (and their subtrees), leaving the node
+	 * itself in the tree.
+	 */
+	public void releaseChildren(int node) {
+		int child = getFirstChild(node);
+		arena.setInt(node, FIRST_CHILD, NONE);
+		while (child != NONE) {
+			int next = getNextSibling(child);
+			releaseSubtree(child);
+			child = next;
+		}
+	}
+
+	/**
+	 * Removes a child from its parent's list of children, and releases it
+	 * and its subtree.
+	 */
+	public void releaseChild(int child) {
+		int p = getParent(child);
+		if (p != NONE) {
+			if (getFirstChild(p) == child) {
+				arena.setInt(p, FIRST_CHILD, getNextSibling(child));
+			} else {
+				int prev = getFirstChild(p);
+				while (getNextSibling(prev) != child) {
+					prev = getNextSibling(prev);
+				}
+				arena.setInt(prev, NEXT_SIBLING, getNextSibling(child));
+			}
+		}
+		releaseSubtree(child);
+	}
+
+	// releases iteratively, as trees can be deeper than the stack allows
+	private void releaseSubtree(int node) {
+		int pending = node;
+		arena.setInt(node, NEXT_SIBLING, NONE);
+		while (pending != NONE) {
+			int current = pending;
+			pending = getNextSibling(current);
+			// queue the children of the current node before freeing it
+			int child = getFirstChild(current);
+			while (child != NONE) {
+				int next = getNextSibling(child);
+				arena.setInt(child, NEXT_SIBLING, pending);
+				pending = child;
+				child = next;
+			}
+			arena.free(current);
+		}
+	}
+
+	/**
+	 * Releases every node in the tree.
+	 */
+	public void clear() {
+		arena.clear();
+		root = NONE;
+	}
+
+	public int getRoot() {
+		return root;
+	}
+
+	public void setRoot(int node) {
+		root = node;
+	}
+
+	public int getParent(int node) {
+		return arena.getInt(node, PARENT);
+	}
+
+	public int getFirstChild(int node) {
+		return arena.getInt(node, FIRST_CHILD);
+	}
+
+	public int getNextSibling(int node) {
+		return arena.getInt(node, NEXT_SIBLING);
+	}
+
+	public int getMove(int node) {
+		return arena.getInt(node, MOVE);
+	}
+
+	public long getKey(int node) {
+		return arena.getLong(node, KEY);
+	}
+
+	public float getValue(int node) {
+		return arena.getFloat(node, VALUE);
+	}
+
+	public void setValue(int node, float nodeValue) {
+		arena.setFloat(node, VALUE, nodeValue);
+	}
+
+	public int getState(int node) {
+		return arena.getInt(node, STATE);
+	}
+
+	public void setState(int node, int nodeState) {
+		arena.setInt(node, STATE, nodeState);
+	}
+
+	/**
+	 * Returns the number of nodes currently in the tree.
+	 */
+	public int size() {
+		return arena.size();
+	}
+
+	public int getMaxNodes() {
+		return arena.capacity();
+	}
+
+	public NodeArena getArena() {
+		return arena;
+	}
+}
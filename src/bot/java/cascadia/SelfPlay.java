@@ -0,0 +1,357 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoringHabitatCorridors;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Plays a game between bots, without touching the real game, bag or
+ * players.  The bots are either standard plugins playing with the given
+ * evaluators, or just the evaluation policies the plugins choose most moves
+ * with.
+ * Tiles and tokens are sampled from a model of the bag with a seeded random,
+ * so a game is the same every time it is played with the same seed, and
+ * games can be played on different threads at once.
+ */
+public class SelfPlay {
+	static final int TURNS_PER_PLAYER = 20;
+	private static final int DECK_SIZE = 4;
+	private static final int TABLE_SIZE_BITS = 14;
+	// 16,384 nodes, enough for a turn's search
+	private static final long SEARCH_MEMORY_BUDGET = 512L << 10;
+	private static final LatencyHistogram TURN_LATENCY = Metrics.histogram("selfplay.turn");
+
+	/**
+	 * Plays a game between standard plugins playing with the evaluators, in
+	 * the order given.  The plugins play as they would in a real game, with
+	 * the endgame solver, the turn search and the cull and wipe searches, so
+	 * tuning the evaluators tunes the bot that is actually played.  Their
+	 * clock never runs out, so every search finishes and the game doesn't
+	 * depend on how fast it is played.
+	 *
+	 * @return the final score of each player
+	 */
+	public static int[] play(LinearEvaluator[] evaluators, long seed) {
+		// the plugins sample from their own generator, so the bag is sampled as it would be
+		SplittableRandom pluginRand = new SplittableRandom(~seed);
+		Seat[] seats = new Seat[evaluators.length];
+		List<StandardPlugin> plugins = new ArrayList<>();
+		for (int p = 0; p < evaluators.length; p++) {
+			StandardPlugin plugin = new StandardPlugin(evaluators[p], SEARCH_MEMORY_BUDGET, 1,
+					pluginRand.split());
+			plugin.newGame(evaluators.length);
+			plugins.add(plugin);
+			seats[p] = pluginSeat(plugin);
+		}
+		try {
+			return play(seats, seed, (player, map, natureTokens, turnsLeft) -> { },
+					(turn, player, maps, natureTokens, tiles, tokens, bag) -> { });
+		} finally {
+			for (StandardPlugin plugin : plugins) {
+				plugin.endGame();
+			}
+		}
+	}
+
+	/**
+	 * Plays a game, with the policies taking turns in the order given, telling
+	 * the listener about the position after each move.  The policies only
+	 * evaluate the best placement of each tile, and never cull or wipe.
+	 *
+	 * @return the final score of each player
+	 */
+	public static int[] play(EvaluationPolicy[] policies, long seed, MoveListener listener) {
+		return play(policies, seed, listener, (turn, player, maps, natureTokens, tiles, tokens,
+				bag) -> { });
+	}
+
+	/**
+	 * Plays a game, also telling the turn listener about the whole game
+	 * before each move.
+	 *
+	 * @return the final score of each player
+	 */
+	public static int[] play(EvaluationPolicy[] policies, long seed, MoveListener listener,
+							 TurnListener turnListener) {
+		Seat[] seats = new Seat[policies.length];
+		for (int p = 0; p < policies.length; p++) {
+			seats[p] = policySeat(policies[p]);
+		}
+		return play(seats, seed, listener, turnListener);
+	}
+
+	private static int[] play(Seat[] seats, long seed, MoveListener listener,
+							  TurnListener turnListener) {
+		SplittableRandom rand = new SplittableRandom(seed);
+		BagModel bag = BagModel.botGame();
+		int numPlayers = seats.length;
+		PlayerMap[] maps = new PlayerMap[numPlayers];
+		int[] natureTokens = new int[numPlayers];
+		for (int p = 0; p < numPlayers; p++) {
+			maps[p] = starterMap(bag, rand);
+		}
+
+		List<HabitatTile> tiles = new ArrayList<>();
+		List<WildlifeToken> tokens = new ArrayList<>();
+		for (int i = 0; i < DECK_SIZE; i++) {
+			tiles.add(bag.sampleTile(rand));
+			tokens.add(bag.sampleToken(rand));
+		}
+		wipeIfAllSame(tokens, bag, rand);
+
+		int totalTurns = TURNS_PER_PLAYER * numPlayers;
+		for (int turn = 0; turn < totalTurns; turn++) {
+			int p = turn % numPlayers;
+			int turnsLeft = TURNS_PER_PLAYER - turn / numPlayers;
+			Turn state = new Turn(maps, p, natureTokens[p], turnsLeft, totalTurns - turn - 1,
+					tiles, tokens, bag);
+			WildlifeToken tripled = CullSearch.tripled(tokens);
+			if (tripled != null && seats[p].shouldCull(state)) {
+				replaceAll(tokens, CullSearch.cull(tokens, tripled, bag, rand));
+			}
+			turnListener.turnStarted(turn, p, maps, natureTokens, tiles, tokens, bag);
+			long start = System.nanoTime();
+			int[] move = seats[p].chooseMove(state);
+			// as in the real game, after wiping tokens the player chooses again
+			for (int wiped = seats[p].tokensToWipe(); wiped != 0 && natureTokens[p] > 0;
+				 wiped = seats[p].tokensToWipe()) {
+				natureTokens[p]--;
+				replaceAll(tokens, NatureTokenSearch.wipe(tokens, wiped, bag, rand));
+				wipeIfAllSame(tokens, bag, rand);
+				move = seats[p].chooseMove(new Turn(maps, p, natureTokens[p], turnsLeft,
+						totalTurns - turn - 1, tiles, tokens, bag));
+			}
+			TURN_LATENCY.recordSince(start);
+
+			if (move == null) {
+				// nowhere to place any tile, so the first pair is just discarded
+				move = new int[]{0, 0, -1, -1, 0, -1, -1};
+			} else {
+				HabitatTile tile = tiles.get(move[0]);
+				tile.rotateTile((move[4] - tile.getRotation() + Constants.NUM_EDGES)
+						% Constants.NUM_EDGES);
+				maps[p].addTileToMap(tile, move[2], move[3]);
+				if (move[5] >= 0) {
+					maps[p].placeTokenAt(move[5], move[6], tokens.get(move[1]));
+					if (maps[p].returnTileAtPositionInMap(move[5], move[6]).isKeystone()) {
+						natureTokens[p]++;
+					}
+				}
+				if (move[0] != move[1]) {
+					natureTokens[p]--;
+				}
+			}
+			listener.moved(p, maps[p], natureTokens[p], turnsLeft - 1);
+			tiles.remove(move[0]);
+			tokens.remove(move[1]);
+			tiles.add(bag.sampleTile(rand));
+			tokens.add(bag.sampleToken(rand));
+			wipeIfAllSame(tokens, bag, rand);
+		}
+		return scores(maps, natureTokens);
+	}
+
+	// a seat played by the policy alone, with the best placement of each tile
+	private static Seat policySeat(EvaluationPolicy policy) {
+		return new Seat() {
+			@Override
+			public boolean shouldCull(Turn turn) {
+				return false;
+			}
+
+			@Override
+			public int[] chooseMove(Turn turn) {
+				return policy.choose(turn.maps[turn.player], turn.natureTokens, turn.turnsLeft,
+						turn.tiles, turn.tokens, findPlacements(turn.maps, turn.player, turn.tiles),
+						() -> true);
+			}
+
+			@Override
+			public int tokensToWipe() {
+				return 0;
+			}
+		};
+	}
+
+	// a seat played by the plugin, with a clock that never runs out
+	private static Seat pluginSeat(StandardPlugin plugin) {
+		TimeControl time = new TimeControl(1, 0, 1, () -> 0);
+		time.startTurn();
+		return new Seat() {
+			@Override
+			public boolean shouldCull(Turn turn) {
+				return plugin.shouldCull(turn.maps[turn.player], turn.natureTokens,
+						turn.others(), turn.tiles, turn.tokens, turn.turnsLeft, turn.bag,
+						new TurnBudget(time));
+			}
+
+			@Override
+			public int[] chooseMove(Turn turn) {
+				TurnBudget budget = new TurnBudget(time);
+				int[] move = plugin.chooseMove(turn.maps[turn.player], turn.natureTokens,
+						turn.others(), turn.tiles, turn.tokens, turn.turnsLeft,
+						turn.remainingDraws, turn.bag, budget);
+				return move == null ? budget.getBestSoFar() : move;
+			}
+
+			@Override
+			public int tokensToWipe() {
+				return plugin.getTokensToWipe();
+			}
+		};
+	}
+
+	// how a player chooses their moves
+	private interface Seat {
+		boolean shouldCull(Turn turn);
+
+		// {deck tile index, deck token index, row, col, rotation, token row, token col}, or
+		// null if no tile can be placed
+		int[] chooseMove(Turn turn);
+
+		// a bit mask of the deck tokens to wipe after the last move chosen, 0 to not wipe
+		int tokensToWipe();
+	}
+
+	// what a player knows at the start of their turn
+	private static final class Turn {
+		private final PlayerMap[] maps;
+		private final int player;
+		private final int natureTokens;
+		private final int turnsLeft;
+		private final int remainingDraws;
+		private final List<HabitatTile> tiles;
+		private final List<WildlifeToken> tokens;
+		private final BagModel bag;
+
+		Turn(PlayerMap[] maps, int player, int natureTokens, int turnsLeft, int remainingDraws,
+			 List<HabitatTile> tiles, List<WildlifeToken> tokens, BagModel bag) {
+			this.maps = maps;
+			this.player = player;
+			this.natureTokens = natureTokens;
+			this.turnsLeft = turnsLeft;
+			this.remainingDraws = remainingDraws;
+			this.tiles = tiles;
+			this.tokens = tokens;
+			this.bag = bag;
+		}
+
+		// the other players' maps, in turn order after the player
+		List<PlayerMap> others() {
+			List<PlayerMap> others = new ArrayList<>();
+			for (int o = 1; o < maps.length; o++) {
+				others.add(maps[(player + o) % maps.length]);
+			}
+			return others;
+		}
+	}
+
+	/**
+	 * Told about the position a player is left in after each of their moves.
+	 */
+	public interface MoveListener {
+		/**
+		 * @param map the player's map, which changes as the game goes on, so
+		 *            it should not be kept
+		 * @param turnsLeft how many turns the player has left after the move
+		 */
+		void moved(int player, PlayerMap map, int natureTokens, int turnsLeft);
+	}
+
+	/**
+	 * Told about the whole game at the start of each turn.
+	 */
+	public interface TurnListener {
+		/**
+		 * @param turn how many turns have been played, by every player
+		 * @param player whose turn it is
+		 * @param maps every player's map, which change as the game goes on, so
+		 *             they should not be kept, nor should the deck
+		 */
+		void turnStarted(int turn, int player, PlayerMap[] maps, int[] natureTokens,
+						 List<HabitatTile> tiles, List<WildlifeToken> tokens, BagModel bag);
+	}
+
+	// starts a map with three tiles in the same places as the real starter habitats
+	private static PlayerMap starterMap(BagModel bag, SplittableRandom rand) {
+		PlayerMap map = PlayerMap.empty();
+		map.addTileToMap(bag.sampleTile(rand), 8, 9);
+		map.addTileToMap(bag.sampleTile(rand), 9, 9);
+		map.addTileToMap(bag.sampleTile(rand), 9, 10);
+		return map;
+	}
+
+	private static void replaceAll(List<WildlifeToken> tokens, List<WildlifeToken> after) {
+		tokens.clear();
+		tokens.addAll(after);
+	}
+
+	// as in the real game, if all the tokens in the deck are the same they are replaced
+	private static void wipeIfAllSame(List<WildlifeToken> tokens, BagModel bag,
+									  SplittableRandom rand) {
+		while (tokens.stream().distinct().count() == 1) {
+			for (int i = 0; i < tokens.size(); i++) {
+				tokens.set(i, bag.sampleToken(rand));
+			}
+		}
+	}
+
+	// {row, col, rotation} of the best placement of each tile, row -1 if it can't be placed
+	private static int[][] findPlacements(PlayerMap[] maps, int player, List<HabitatTile> tiles) {
+		CorridorBoard board = new CorridorBoard(maps[player]);
+		int[][] otherSizes = new int[maps.length - 1][];
+		for (int o = 1; o < maps.length; o++) {
+			otherSizes[o - 1] = new CorridorBoard(maps[(player + o) % maps.length])
+					.getLongestCorridorSizes();
+		}
+		int[][] placements = new int[tiles.size()][];
+		for (int i = 0; i < tiles.size(); i++) {
+			int[] placement = TileBot.searchPlacements(board, tiles.get(i), otherSizes, () -> true);
+			placements[i] = placement == null ? new int[]{-1, -1, 0}
+					: new int[]{placement[0], placement[1], placement[2]};
+		}
+		return placements;
+	}
+
+	/**
+	 * Scores each player as if the game ended now, including the corridor
+	 * bonuses and nature tokens.
+	 */
+	static int[] scores(PlayerMap[] maps, int[] natureTokens) {
+		int numPlayers = maps.length;
+		TranspositionTable table = new TranspositionTable(TABLE_SIZE_BITS);
+		int[][] sizes = new int[numPlayers][];
+		for (int p = 0; p < numPlayers; p++) {
+			sizes[p] = new CorridorBoard(maps[p]).getLongestCorridorSizes();
+		}
+		int[] bonuses = ScoringHabitatCorridors.calculateCorridorBonuses(sizes);
+
+		int[] scores = new int[numPlayers];
+		for (int p = 0; p < numPlayers; p++) {
+			scores[p] = bonuses[p] + natureTokens[p];
+			for (int size : sizes[p]) {
+				scores[p] += size;
+			}
+			for (WildlifeToken token : WildlifeToken.values()) {
+				scores[p] += TokenBot.scoreOfMap(table, maps[p], token);
+			}
+		}
+		return scores;
+	}
+}
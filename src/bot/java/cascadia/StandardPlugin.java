@@ -0,0 +1,403 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * The bots' usual strategy.  The last turns are played by the endgame
+ * solver, and the others by the evaluation of the position each move would
+ * leave us in.  If the turn search (which looks at every placement rather
+ * than just the best one of each tile) finishes in time, its best placement
+ * of each tile is evaluated as well.
+ * With a nature token, wiping deck tokens is searched as well.
+ * The plugin ponders its next turn while the other players take theirs.
+ */
+public class StandardPlugin implements PluginChoice {
+	private final long searchMemoryBudget;
+	// threads of the wipe search and endgame solver
+	private final int threads;
+	private final SplittableRandom rand;
+	private final PluginStats stats = new PluginStats();
+	private List<Player> players;
+	private int seat;
+	private boolean pondering = true;
+	private TranspositionTable table;
+	private EvaluationCache cache;
+	private TileBot tileBot;
+	// our search of our own turn, kept between turns
+	private TurnSearch search;
+	private Ponderer ponderer;
+	private EvaluationPolicy policy;
+	// the weights the policies are made from, loaded once a game
+	private LinearEvaluator evaluator;
+	private NTupleNetwork network;
+	private NatureTokenSearch wipeSearch;
+	private CullSearch cullSearch;
+	// bit mask of the deck tokens to wipe before choosing a pair, 0 to not wipe
+	private int wipeMask = 0;
+	private EndgameSolver endgame;
+	// works out each other player's corridors at the same time
+	private ForkJoinPool opponentPool;
+
+	public StandardPlugin() {
+		this(TurnSearch.DEFAULT_MEMORY_BUDGET);
+	}
+
+	/**
+	 * @param searchMemoryBudget the most memory, in bytes, the search tree
+	 *                           may use
+	 */
+	public StandardPlugin(long searchMemoryBudget) {
+		this.searchMemoryBudget = searchMemoryBudget;
+		this.threads = Runtime.getRuntime().availableProcessors();
+		this.rand = new SplittableRandom();
+	}
+
+	/**
+	 * A plugin playing with the given weights rather than the tuned ones,
+	 * for self-play.  Its searches sample with the given random, so its
+	 * games can be repeated.
+	 *
+	 * @param threads how many threads the wipe search and endgame solver use
+	 */
+	StandardPlugin(LinearEvaluator evaluator, long searchMemoryBudget, int threads,
+				   SplittableRandom rand) {
+		this.evaluator = evaluator;
+		this.searchMemoryBudget = searchMemoryBudget;
+		this.threads = threads;
+		this.rand = rand;
+		this.pondering = false;
+	}
+
+	@Override
+	public String getName() {
+		return "standard";
+	}
+
+	/**
+	 * Plays a game against itself away from the real game, so the scoring and
+	 * evaluation code is compiled before the first turn.
+	 */
+	@Override
+	public void warmUp() {
+		loadWeights();
+		EvaluationPolicy[] policies = {createPolicy(new TranspositionTable(), new EvaluationCache()),
+				createPolicy(new TranspositionTable(), new EvaluationCache())};
+		SelfPlay.play(policies, 0, (player, map, natureTokens, turnsLeft) -> { });
+	}
+
+	@Override
+	public void newGame(List<Player> players, int seat) {
+		this.players = players;
+		this.seat = seat;
+		newGame(players.size());
+	}
+
+	// gets ready for a game with the given number of players, ending the last one
+	void newGame(int numPlayers) {
+		endGame();
+		table = new TranspositionTable();
+		cache = new EvaluationCache();
+		tileBot = new TileBot(cache);
+		search = new TurnSearch(table, cache, SearchTree.withMemoryBudget(searchMemoryBudget));
+		ponderer = new Ponderer(table, cache, search);
+		if (evaluator == null && network == null) {
+			loadWeights();
+		}
+		policy = createPolicy(table, cache);
+		wipeSearch = new NatureTokenSearch(() -> createPolicy(table, cache), threads,
+				rand.split());
+		cullSearch = new CullSearch(policy, rand.split());
+		endgame = new EndgameSolver(table, threads, rand.split());
+		opponentPool = new ForkJoinPool(Math.max(1, numPlayers - 1));
+	}
+
+	// plays with an n-tuple network or tuned weights if either file is given
+	private void loadWeights() {
+		network = NTupleTrainer.loadNetwork();
+		if (network == null) {
+			evaluator = WeightTuner.loadEvaluator();
+		}
+	}
+
+	private EvaluationPolicy createPolicy(TranspositionTable table, EvaluationCache cache) {
+		if (network != null) {
+			return new EvaluationPolicy(network, table, cache);
+		}
+		return new EvaluationPolicy(evaluator, table, cache);
+	}
+
+	@Override
+	public int[] chooseMove(Player player, List<HabitatTile> deckTiles,
+							List<WildlifeToken> deckTokens, int turnsLeft, TurnBudget budget) {
+		return chooseMove(player.getMap(), player.getPlayerNatureTokens(), otherMaps(),
+				deckTiles, deckTokens, turnsLeft, Bag.getMaxTiles() - Bag.tilesInUse(),
+				BagModel.fromBag(), budget);
+	}
+
+	/**
+	 * Chooses the move of a player with the given map, away from the real
+	 * game, as {@link #chooseMove(Player, List, List, int, TurnBudget)} does.
+	 *
+	 * @param others the other players' maps, in turn order after the player
+	 * @param remainingDraws how many more tiles can be drawn
+	 * @param bag what the deck is refilled from
+	 */
+	int[] chooseMove(PlayerMap map, int natureTokens, List<PlayerMap> others,
+					 List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens, int turnsLeft,
+					 int remainingDraws, BagModel bag, TurnBudget budget) {
+		// our map is about to change, so we stop pondering on it
+		ponderer.stop();
+		table.newSearch();
+		wipeMask = 0;
+		budget.endPhase(DecisionTrace.Phase.REROOT);
+
+		int[][] otherSizes = opponentCorridors(others);
+		if (turnsLeft <= EndgameSolver.MAX_TURNS) {
+			// the solver only gets half the time, so there is time left for the evaluation
+			int[] move = endgame.solve(map, natureTokens, otherSizes, deckTiles, deckTokens,
+					turnsLeft, remainingDraws, bag, () -> budget.poller(0.5));
+			budget.endPhase(DecisionTrace.Phase.ENDGAME);
+			if (move != null) {
+				budget.reportDepth(Math.min(turnsLeft, EndgameSolver.MAX_TURNS));
+				budget.reportStrategy(DecisionTrace.Strategy.ENDGAME);
+				return new int[]{move[EndgameSolver.TILE], move[EndgameSolver.TOKEN],
+						move[EndgameSolver.ROW], move[EndgameSolver.COL],
+						move[EndgameSolver.ROTATION], move[EndgameSolver.TOKEN_ROW],
+						move[EndgameSolver.TOKEN_COL]};
+			}
+		}
+
+		search.reroot(map, deckTiles, deckTokens);
+		budget.endPhase(DecisionTrace.Phase.REROOT);
+		// what pondering found is the first guess, if the evaluation disagrees with it the
+		// turn is given longer
+		budget.reportBestMove(toMove(search.getBestMove(deckTiles, deckTokens)));
+		int[][] placements = findPlacements(map, otherSizes, deckTiles, budget);
+		budget.endPhase(DecisionTrace.Phase.PLACEMENTS);
+		budget.offerFallback(fallbackMove(placements));
+		int[] move = chooseByEvaluation(map, natureTokens, deckTiles, deckTokens, turnsLeft,
+				placements, budget);
+		budget.endPhase(DecisionTrace.Phase.EVALUATION);
+		if (move != null) {
+			budget.reportStrategy(DecisionTrace.Strategy.EVALUATION);
+		}
+		budget.reportBestMove(move);
+		budget.reportDepth(1);
+		if (move != null && natureTokens > 0) {
+			// the wipe search gets most of what is left, the turn search the rest
+			wipeMask = wipeSearch.chooseWipe(map, natureTokens, turnsLeft, deckTiles, deckTokens,
+					placements, policy.getBestScore(), bag, () -> budget.poller(0.75));
+			budget.endPhase(DecisionTrace.Phase.WIPE);
+			if (wipeMask != 0) {
+				budget.reportStrategy(DecisionTrace.Strategy.WIPE);
+				return move;
+			}
+		}
+
+		// the search looks at every placement rather than just the best one of each tile,
+		// so if it finished its best placements are evaluated too.  It rarely finishes if
+		// started after the soft deadline, which is later if the evaluation disagreed with
+		// pondering
+		if (move != null && !budget.isSoftTimeLeft()) {
+			return move;
+		}
+		float evaluated = policy.getBestScore();
+		boolean finished = search.search(map, deckTiles, deckTokens, budget::isTimeLeft);
+		stats.addNodes(search.getTree().size());
+		budget.endPhase(DecisionTrace.Phase.SEARCH);
+		int[][] candidates = finished ? searchCandidates(deckTiles, deckTokens, placements)
+				: null;
+		if (candidates != null) {
+			int[] searchMove = chooseByEvaluation(map, natureTokens, deckTiles, deckTokens,
+					turnsLeft, candidates, budget);
+			budget.endPhase(DecisionTrace.Phase.EVALUATION);
+			if (searchMove != null && (move == null || policy.getBestScore() > evaluated)) {
+				budget.reportStrategy(DecisionTrace.Strategy.SEARCH);
+				move = searchMove;
+			}
+		}
+		return move;
+	}
+
+	// the search's best placement of each tile, where it isn't the one already evaluated,
+	// or null if the search has none to add
+	private int[][] searchCandidates(List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens,
+									 int[][] placements) {
+		int[][] candidates = search.getBestPlacements(deckTiles, deckTokens);
+		if (candidates == null) {
+			return null;
+		}
+		boolean any = false;
+		for (int i = 0; i < candidates.length; i++) {
+			if (candidates[i][0] < 0 || Arrays.equals(candidates[i], placements[i])) {
+				candidates[i][0] = -1;
+			} else {
+				any = true;
+			}
+		}
+		return any ? candidates : null;
+	}
+
+	// the first tile that can be placed, in its best place, without its token
+	private static int[] fallbackMove(int[][] placements) {
+		for (int i = 0; i < placements.length; i++) {
+			if (placements[i][0] >= 0) {
+				return new int[]{i, i, placements[i][0], placements[i][1], placements[i][2],
+						-1, -1};
+			}
+		}
+		return null;
+	}
+
+	// converts a move of the search to {tile, token, row, col, rotation, token row, token col}
+	private static int[] toMove(int[] searchMove) {
+		if (searchMove == null) {
+			return null;
+		}
+		return new int[]{searchMove[0], searchMove[0], searchMove[1], searchMove[2],
+				searchMove[3], searchMove[4], searchMove[5]};
+	}
+
+	// {row, col, rotation} of the best placement of each deck tile, row -1 if it can't be placed
+	private int[][] findPlacements(PlayerMap map, int[][] otherSizes, List<HabitatTile> deckTiles,
+								   TurnBudget budget) {
+		tileBot.findPlacements(map, deckTiles, otherSizes, budget::isTimeLeft);
+		int[][] placements = new int[deckTiles.size()][];
+		for (int i = 0; i < placements.length; i++) {
+			int[] position = tileBot.getDeckTilePlacementChoice(i);
+			placements[i] = new int[]{position[0], position[1], tileBot.getDeckTileRotation(i)};
+		}
+		return placements;
+	}
+
+	// chooses the move the evaluator thinks leaves us in the best position
+	private int[] chooseByEvaluation(PlayerMap map, int natureTokens, List<HabitatTile> deckTiles,
+									 List<WildlifeToken> deckTokens, int turnsLeft,
+									 int[][] placements, TurnBudget budget) {
+		int[] move = policy.choose(map, natureTokens, turnsLeft, deckTiles, deckTokens,
+				placements, budget::isTimeLeft);
+		stats.addNodes(policy.getMovesEvaluated());
+		return move;
+	}
+
+	// the other players' maps, in turn order after ours
+	private List<PlayerMap> otherMaps() {
+		List<PlayerMap> maps = new ArrayList<>();
+		for (int o = 1; o < players.size(); o++) {
+			maps.add(players.get((seat + o) % players.size()).getMap());
+		}
+		return maps;
+	}
+
+	// the longest corridor sizes of each other player, each worked out on its own thread
+	private int[][] opponentCorridors(List<PlayerMap> others) {
+		List<Callable<int[]>> tasks = new ArrayList<>();
+		for (PlayerMap map : others) {
+			tasks.add(() -> new CorridorBoard(map).getLongestCorridorSizes());
+		}
+		int[][] sizes = new int[tasks.size()][];
+		try {
+			List<Future<int[]>> results = opponentPool.invokeAll(tasks);
+			for (int o = 0; o < sizes.length; o++) {
+				sizes[o] = results.get(o).get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while analysing the other players", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Couldn't analyse the other players", e.getCause());
+		}
+		return sizes;
+	}
+
+	@Override
+	public boolean shouldCull(Player player, List<HabitatTile> deckTiles,
+							  List<WildlifeToken> deckTokens, int turnsLeft, TurnBudget budget) {
+		return shouldCull(player.getMap(), player.getPlayerNatureTokens(), otherMaps(),
+				deckTiles, deckTokens, turnsLeft, BagModel.fromBag(), budget);
+	}
+
+	/**
+	 * Decides on a cull for a player with the given map, away from the real
+	 * game, as {@link #shouldCull(Player, List, List, int, TurnBudget)} does.
+	 *
+	 * @param others the other players' maps, in turn order after the player
+	 * @param bag what the culled tokens are replaced from
+	 */
+	boolean shouldCull(PlayerMap map, int natureTokens, List<PlayerMap> others,
+					   List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens, int turnsLeft,
+					   BagModel bag, TurnBudget budget) {
+		// placements are cached, so this also speeds up the turn after
+		int[][] placements = findPlacements(map, opponentCorridors(others), deckTiles, budget);
+		budget.endPhase(DecisionTrace.Phase.PLACEMENTS);
+		boolean cull = cullSearch.shouldCull(map, natureTokens, turnsLeft, deckTiles, deckTokens,
+				placements, bag, budget::isTimeLeft);
+		stats.addNodes(cullSearch.getSamplesTaken());
+		budget.endPhase(DecisionTrace.Phase.CULL);
+		budget.reportStrategy(cull ? DecisionTrace.Strategy.CULL : DecisionTrace.Strategy.KEEP);
+		return cull;
+	}
+
+	@Override
+	public int getTokensToWipe() {
+		return wipeMask;
+	}
+
+	@Override
+	public void otherTurnStarted(List<HabitatTile> deckTiles, List<WildlifeToken> deckTokens) {
+		if (pondering) {
+			ponderer.start(players.get(seat), deckTiles, deckTokens);
+		}
+	}
+
+	@Override
+	public void setPondering(boolean pondering) {
+		this.pondering = pondering;
+		if (!pondering && ponderer != null) {
+			ponderer.stop();
+		}
+	}
+
+	@Override
+	public void endGame() {
+		if (ponderer != null) {
+			ponderer.shutdown();
+		}
+		if (opponentPool != null) {
+			opponentPool.shutdown();
+		}
+		if (endgame != null) {
+			endgame.shutdown();
+		}
+		if (wipeSearch != null) {
+			wipeSearch.shutdown();
+		}
+	}
+
+	@Override
+	public PluginStats getStats() {
+		return stats;
+	}
+}
@@ -19,121 +19,54 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Map.Entry;
-import java.util.Random;
+import java.util.function.BooleanSupplier;
 
 import cascadia.HabitatTile.Habitat;
-import cascadia.scoring.Scoring;
+import cascadia.scoring.ScoringHabitatCorridors;
 
 public class TileBot {
-	public static final int NUM_TILE_STRATS = 2;
-	private static int rankValue; //preference weight
 	//these arrays store info per turn about each deckTile in the current deck
-	private int[] preferences = new int[4];
-	private boolean[] ranked = new boolean[4];
-	private Habitat[] prefHabitats = new Habitat[4];
-	private int[] prefNumRotations = new int[4];
+	private int[] prefRotations = new int[4];
 	private int[][] prefTileRowsAndColumns = new int[2][4];
+	//the best placements of tiles on maps we have already evaluated
+	private final EvaluationCache cache;
 
-	public int[] chooseStrategy(Player player, Player nextPlayer) {
-		List<HabitatTile> deckTiles = CurrentDeck.getDeckTiles();
-		//resetting all info
-		rankValue = 4;
-		Arrays.fill(preferences, 0);
-		Arrays.fill(ranked, false);
-		Arrays.fill(prefHabitats, null);
-		Arrays.fill(prefNumRotations, 0);
-		for (int[] row : prefTileRowsAndColumns) {
-			Arrays.fill(row, 0);
-		}
-		
-		//first give preference to corridor gaps between players of size 1,0,-1 to catch up
-		System.out.println("\nUsing gap ranking strat!");
-		rankGaps(deckTiles, player, nextPlayer);
-		
-		if (!BotTimer.isTimeLeft()) { //check if time left
-			checkTilePlacementsPossible(deckTiles, player);
-			return preferences;
-		}
-
-		boolean allRanked = true;
-		for (int i = 0; i < ranked.length; i++) {
-			if (!ranked[i]) {
-				allRanked = false;
-				break;
-			}
-		}
-		
-		if (!allRanked) {
-			Random rand = new Random();
-			//int strategyChoice = 0; //for testing
-			int strategyChoice = rand.nextInt(NUM_TILE_STRATS);
-
-			switch (strategyChoice) {
-				case 0 -> {
-					System.out.println("\nUsing constructive tile strat!");
-					constructiveGrowMinCorridorStrat(deckTiles, player);
-				}
-				case 1 -> {
-					System.out.println("\nUsing destructive tile strat!");
-					destructiveTileStrategy(deckTiles, player, nextPlayer);
-				}
-				default -> throw new IllegalArgumentException("Unexpected value: " + strategyChoice);
-			}
-		}
-
-		//rankings done, now see if all decktiles can be placed on player's map, find location, rotations etc.
-		checkTilePlacementsPossible(deckTiles, player);
-		return preferences;
+	public TileBot() {
+		this(new EvaluationCache());
 	}
-	
-	//prioritise gaps of size 1, then size 0, then size -1 between the two players' corridors, so you can either move ahead or catch up
-	int[] rankGaps(List<HabitatTile> deckTiles, Player player, Player nextPlayer) {
-		int[] playerCorridorSizes = player.getLongestCorridorSizes();
-		int[] nextPlayerCorridorSizes = nextPlayer.getLongestCorridorSizes();
-		int[] gapsBetweenCorridors = new int[Constants.NUM_HABITAT_TYPES];
-		
-		for (int i = 0; i < Constants.NUM_HABITAT_TYPES; i++) {
-			gapsBetweenCorridors[i] = playerCorridorSizes[i] - nextPlayerCorridorSizes[i];
-		}
-		
-		boolean gapFound;
-		LinkedHashMap<Habitat, Integer> gapMatches = new LinkedHashMap<>();
-		for (int gapSize = 1; gapSize > -2; gapSize--) { //check if gap size is 1, 0 or -1
-			gapFound = false;
-			for (int i = 0; i < gapsBetweenCorridors.length; i++) {
-				if (gapsBetweenCorridors[i] == gapSize) {
-					gapFound = true;
-					Habitat hab = Habitat.getHabitat(i);
-					gapMatches.put(hab, gapSize);
-				}
-			}
-			if (gapFound) {
-				rankDeckTiles(deckTiles, gapMatches);
-				gapMatches.clear();
-			}
-			if (!BotTimer.isTimeLeft()) {
-				break;
-			}
-		}
 
-		return preferences;
+	public TileBot(EvaluationCache cache) {
+		this.cache = cache;
 	}
 
-	//grows current player's smallest corridor, maintains corridor diversity
-	private void constructiveGrowMinCorridorStrat(List<HabitatTile> deckTiles, Player player) {
-		HashMap<Habitat, Integer> corridorPairs = hashCorridors(player.getLongestCorridorSizes());
-		LinkedHashMap<Habitat, Integer> maxToMinCorridors = findMaxToMinHabitatCorridors(corridorPairs);
-		rankDeckTiles(deckTiles, maxToMinCorridors);
+	/**
+	 * Finds the best placement and rotation for each tile in the deck.
+	 *
+	 * @param opponentSizes the longest corridor sizes of each other player
+	 * @param keepGoing checked while searching each tile's placements
+	 * @see #getDeckTilePlacementChoice(int)
+	 * @see #getDeckTileRotation(int)
+	 */
+	public void findPlacements(Player player, List<HabitatTile> deckTiles, int[][] opponentSizes,
+							   BooleanSupplier keepGoing) {
+		findPlacements(player.getMap(), deckTiles, opponentSizes, keepGoing);
 	}
-	
-	//stops min corridor of next player from growing
-	private void destructiveTileStrategy(List<HabitatTile> deckTiles, Player player, Player nextPlayer) {
-		HashMap<Habitat, Integer> corridorPairs = hashCorridors(nextPlayer.getLongestCorridorSizes());
-		LinkedHashMap<Habitat, Integer> nextPlayerMaxToMinCorridors = findMaxToMinHabitatCorridors(corridorPairs);
-		rankDeckTiles(deckTiles, nextPlayerMaxToMinCorridors);
+
+	/**
+	 * Finds the best placement and rotation for each tile in the deck on the
+	 * given map.
+	 *
+	 * @see #findPlacements(Player, List, int[][], BooleanSupplier)
+	 */
+	public void findPlacements(PlayerMap map, List<HabitatTile> deckTiles, int[][] opponentSizes,
+							   BooleanSupplier keepGoing) {
+		Arrays.fill(prefRotations, 0);
+		for (int[] row : prefTileRowsAndColumns) {
+			Arrays.fill(row, 0);
+		}
+		findBestPlacements(deckTiles, map, opponentSizes, keepGoing);
 	}
-	
+
 	HashMap<Habitat, Integer> hashCorridors(int[] corridorSizes){
 		HashMap<Habitat, Integer> corridorPairs = new HashMap<>();
 		for (int i = 0; i < corridorSizes.length; i++) {
@@ -182,144 +115,136 @@ public class TileBot {
 		return maxToMinCorridors;
 	}
 
-	//helper function, matches deckTile preferences from 4 (highest) to 1 (lowest) to the ordered list of habitats given
-	//also finds which habitat of the 2 tile habitats was matched
-	int[] rankDeckTiles(List<HabitatTile> deckTiles, LinkedHashMap<Habitat, Integer> matchHabitatCorridors) {
-		ArrayList<Habitat> matchingValues = new ArrayList<>();
-		
-		//case: if 2 habitat corridors are the same size, preferences for both must be equal
-		while (!matchHabitatCorridors.isEmpty() && BotTimer.isTimeLeft()) {
-			
-			Entry<Habitat, Integer> firstEntry = matchHabitatCorridors.entrySet().iterator().next();
-			matchingValues.add(firstEntry.getKey());
-			matchHabitatCorridors.remove(firstEntry.getKey());
-			
-			//find all corridors with same size, put them in a list, decrement rank value by each match
-			for (Entry<Habitat, Integer> entry : matchHabitatCorridors.entrySet()) {
-				if (firstEntry.getValue() == entry.getValue()) {
-					matchingValues.add(entry.getKey());
-					if (rankValue > 0)
-						rankValue--;
-				}
-			}
-			
-			//remove all matching corridors from the linked hashmap
-			for (Habitat hab : matchingValues) {
-				matchHabitatCorridors.remove(hab);
-			}
-			
-			//check if deck tiles have a match in the list for this level of ranking preference
-			for (int i = 0; i < deckTiles.size(); i++) {
-				if (!ranked[i]) { //if tile isn't accounted for/ranked already
-					Habitat tileHab1 = deckTiles.get(i).getHabitat1();
-					Habitat tileHab2 = deckTiles.get(i).getHabitat2();
-					for (int j = 0; j < matchingValues.size(); j++) {
-						if (matchingValues.get(j) == tileHab1 || matchingValues.get(j) == tileHab2) {
-							preferences[i] = rankValue; //give the tile the rank value
-							prefHabitats[i] = matchingValues.get(j);
-							ranked[i] = true;
-							matchingValues.remove(j);
-							break;
-						}
-					}
-				}
-			}
-			
-			matchingValues.clear();
-			if (rankValue > 0) {
-			rankValue--;
-			}
-		}
-		
-		return preferences;
-	}
-	
-	//for each habitat type of each pref-ranked deck tile, see if there is space to put that tile down on map
-	//if there is no space, set preference to -1, matching edge to -1 and row/col location to -1 for that tile
-	private void checkTilePlacementsPossible(List<HabitatTile> deckTiles, Player player) {
-		boolean locationFound;
-		for (int i = 0; i < prefHabitats.length; i++) {
-			locationFound = false;
-			if (prefHabitats[i] != null) {
-				List<HabitatTile> habitatCorridor = player.getLongestCorridor(prefHabitats[i]);
-				
-				for (int j = 0; j <= habitatCorridor.size()/2; j++) {
-					HabitatTile startTile = habitatCorridor.get(j);
-					locationFound = areAdjacentTilesFree(startTile, prefHabitats[i], player);
-					if (locationFound) {
-						findTilePosition(deckTiles, startTile, prefHabitats[i], player, i);
-						break;
-					}
-					else if (!locationFound) {
-						HabitatTile endTile = habitatCorridor.get(habitatCorridor.size()-1-j);
-						locationFound = areAdjacentTilesFree(endTile, prefHabitats[i], player);
-						if (locationFound) {
-							findTilePosition(deckTiles, endTile, prefHabitats[i], player, i);
-							break;
-						}
-					}
-				}
-			}
-			if (!locationFound) {
-				preferences[i] = -10; //absolutely don't pick this option from the deck
-				//otherwise i'd need logic to put down a random tile anywhere without matching to a corridor
-				prefNumRotations[i] = -1;
+	//for each deck tile, finds the empty cell next to the player's map and the rotation that grows
+	//the player's corridors (and their corridor bonus against the other players) the most.
+	//if there is nowhere to place a tile, its row and column are set to -1
+	private void findBestPlacements(List<HabitatTile> deckTiles, PlayerMap map,
+									int[][] otherSizes, BooleanSupplier keepGoing) {
+		CorridorBoard board = new CorridorBoard(map);
+		for (int i = 0; i < deckTiles.size(); i++) {
+			int[] placement = findBestPlacement(board, deckTiles.get(i), map, otherSizes,
+					keepGoing);
+			if (placement == null) {
+				prefRotations[i] = -1;
 				prefTileRowsAndColumns[0][i] = -1;
 				prefTileRowsAndColumns[1][i] = -1;
+			} else {
+				prefTileRowsAndColumns[0][i] = placement[0];
+				prefTileRowsAndColumns[1][i] = placement[1];
+				prefRotations[i] = placement[2];
 			}
 		}
 	}
-	
-	private boolean areAdjacentTilesFree(HabitatTile tile, Habitat habitat, Player player) {
-		HabitatTile[] adjacentTiles = Scoring.getAdjacentTiles(tile, player.getMap());
-		for (int i = 0; i < Constants.NUM_EDGES; i++) {
-			if (tile.getEdge(i).getHabitatType() == habitat && adjacentTiles[i] == null) {
-				return true;
-			}
+
+	//returns the best {row, col, rotation, value} for the tile, reusing the result from a previous
+	//turn if the map and the other players' corridors haven't changed since
+	private int[] findBestPlacement(CorridorBoard board, HabitatTile tile, PlayerMap map,
+									int[][] otherSizes, BooleanSupplier keepGoing) {
+		long key = map.getZobristHash() ^ Zobrist.tileContentKey(tile);
+		for (int o = 0; o < otherSizes.length; o++) {
+			key ^= Zobrist.mix(packSizes(otherSizes[o]) | (long) o << 46);
+		}
+		int[] cached = cache.get(key);
+		if (cached != null) {
+			return cached[0] == -1 ? null : cached;
+		}
+
+		int[] placement = searchPlacements(board, tile, otherSizes, keepGoing);
+		// if we ran out of time not every placement was tried, so we don't store it
+		if (placement == null) {
+			cache.put(key, new int[]{-1, -1, -1, 0});
+		} else if (placement[4] == 1) {
+			cache.put(key, Arrays.copyOf(placement, 4));
 		}
-		return false;
+		return placement;
 	}
-	
-	//you want to place this particular decktile next to the location tile, and rotate it so the habitats line up
-	private void findTilePosition(List<HabitatTile> deckTiles, HabitatTile locationTile, Habitat habitat, Player player, int index) {
-		HabitatTile[] adjacentTiles = Scoring.getAdjacentTiles(locationTile, player.getMap());
-		List<int[]> adjacentTilePositions = Scoring.getAdjacentTileMapPositions(locationTile, player.getMap());
-		
-		int matchingEdge = -1;
-		int[] rowcol;
-		
-		for (int i = 0; i < Constants.NUM_EDGES; i++) {
-			if (locationTile.getEdge(i).getHabitatType() == habitat && adjacentTiles[i] == null) {
-				matchingEdge = i;
-				break;
+
+	// a player's corridor sizes as one number, for the cache key
+	private static long packSizes(int[] sizes) {
+		long packed = 1L << 45;
+		for (int i = 0; i < sizes.length; i++) {
+			packed |= (long) (sizes[i] & 0xFF) << (8 * i);
+		}
+		return packed;
+	}
+
+	/**
+	 * Searches every empty cell next to the map and every rotation of the tile
+	 * for the placement with the greatest value: how much it grows the longest
+	 * corridors of the tile's habitats, plus how much it changes the corridor
+	 * bonus compared to the other players.
+	 * Cells are tried in order of an upper bound on their value (as if every
+	 * edge of the tile joined the corridors around it), so once the bound is
+	 * no better than the best placement found the rest can be skipped.
+	 *
+	 * @param otherSizes the longest corridor sizes of each other player
+	 * @param keepGoing checked after each cell, at least one cell is always tried
+	 * @return {row, col, rotation, value, 1 if every cell was tried else 0}, or
+	 * 			null if there is nowhere to place the tile
+	 */
+	static int[] searchPlacements(CorridorBoard board, HabitatTile tile, int[][] otherSizes,
+								  BooleanSupplier keepGoing) {
+		Habitat[] habitats = CorridorBoard.habitatsOf(tile);
+		int[] longest = board.getLongestCorridorSizes();
+		List<int[]> cells = board.frontier();
+		int[] bounds = new int[cells.size()];
+		List<Integer> order = new ArrayList<>();
+		for (int i = 0; i < cells.size(); i++) {
+			int[] grown = new int[habitats.length];
+			for (int j = 0; j < habitats.length; j++) {
+				grown[j] = board.maxGrownCorridorSize(cells.get(i)[0], cells.get(i)[1], habitats[j]);
 			}
+			bounds[i] = placementValue(habitats, grown, longest, otherSizes);
+			order.add(i);
 		}
-		
-		if (matchingEdge != -1) {
-			rowcol = adjacentTilePositions.get(matchingEdge);
-			prefTileRowsAndColumns[0][index] = rowcol[0]; //save row
-			prefTileRowsAndColumns[1][index] = rowcol[1]; //save column
+		order.sort((a, b) -> Integer.compare(bounds[b], bounds[a]));
+
+		int numRotations = tile.isKeystone() ? 1 : Constants.NUM_EDGES;
+		int[] best = null;
+		for (int i : order) {
+			if (best != null && bounds[i] <= best[3]) {
+				best[4] = 1;
+				return best;
+			}
+			int[] cell = cells.get(i);
+			for (int rotation = 0; rotation < numRotations; rotation++) {
+				Habitat[] edges = CorridorBoard.rotatedEdges(tile, rotation);
+				int[] grown = new int[habitats.length];
+				for (int j = 0; j < habitats.length; j++) {
+					grown[j] = board.grownCorridorSize(cell[0], cell[1], edges, habitats[j]);
+				}
+				int value = placementValue(habitats, grown, longest, otherSizes);
+				if (best == null || value > best[3]) {
+					best = new int[]{cell[0], cell[1], rotation, value, 0};
+				}
+			}
+			if (!keepGoing.getAsBoolean()) {
+				return best;
+			}
 		}
-		
-		else {
-			throw new IllegalArgumentException("matching edge not found for positioning decktile into map.");
+		if (best != null) {
+			best[4] = 1;
 		}
-		
-		findRotationsNeeded(deckTiles, locationTile, index, matchingEdge);
+		return best;
 	}
-	
-	private void findRotationsNeeded(List<HabitatTile> deckTiles, HabitatTile locationTile, int index, int matchingEdge) {
-		int rotations = 0;
-		HabitatTile tileToPlace = deckTiles.get(index);
-		int secondTileMatchingEdge = (matchingEdge+3) % Constants.NUM_EDGES;
-		while (locationTile.getEdge(matchingEdge).getHabitatType() != tileToPlace.getEdge(secondTileMatchingEdge).getHabitatType()) {
-			tileToPlace.rotateTile(1);
-			rotations++;
-			if (rotations > Constants.NUM_EDGES) {
-				throw new IllegalArgumentException("tile doesnt have a habitat match with the tile you're putting it next to.");
+
+	private static int placementValue(Habitat[] habitats, int[] grown, int[] longest,
+									  int[][] otherSizes) {
+		int value = 0;
+		// our corridor size first, then each other player's
+		int[] sizes = new int[otherSizes.length + 1];
+		for (int j = 0; j < habitats.length; j++) {
+			int h = habitats[j].ordinal();
+			for (int o = 0; o < otherSizes.length; o++) {
+				sizes[o + 1] = otherSizes[o][h];
 			}
+			int after = Math.max(longest[h], grown[j]);
+			sizes[0] = longest[h];
+			int before = ScoringHabitatCorridors.corridorBonus(sizes, 0);
+			sizes[0] = after;
+			value += after - longest[h] + ScoringHabitatCorridors.corridorBonus(sizes, 0) - before;
 		}
-		prefNumRotations[index] = rotations;
+		return value;
 	}
 	
 	public int[] getDeckTilePlacementChoice(int index) {
@@ -328,8 +253,14 @@ public class TileBot {
 		return new int[]{row, col};
 	}
 	
-	public int getDeckTileNumRotations(int index) {
-		return prefNumRotations[index];
+	/**
+	 * Returns the rotation (from its starting orientation) the deck tile
+	 * should be placed in.
+	 *
+	 * @see HabitatTile#getRotation()
+	 */
+	public int getDeckTileRotation(int index) {
+		return prefRotations[index];
 	}
 
 }
@@ -0,0 +1,138 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Shares a bot's time for the whole game out between its turns.
+ * Turns get more time near the end of the game, when the corridor races
+ * are tight and the endgame solver runs, and less in the first few turns,
+ * when there is little on the map.  Each turn's share is then scaled by
+ * how many moves there are to choose between: how many cells there are
+ * around the map, and how many different pairs are in the deck.
+ *
+ * <p>Each share is worked out from the time left, so turns that finish
+ * early leave more time for the rest of the game, and the average time per
+ * turn stays the same as with a fixed budget.
+ */
+public class TimeAllocator {
+	// the fewest nanoseconds a turn is given
+	private static final long MIN_TURN_NANOS = 50_000_000L;
+	// a turn never gets more than this fraction of what is left, apart from the last one
+	private static final double MAX_FRACTION = 0.4;
+	// turns this close to the start get the early weight
+	private static final int EARLY_TURNS = 3;
+	private static final double EARLY_WEIGHT = 0.6;
+	// turns this close to the end get the late weight
+	private static final int LATE_TURNS = 6;
+	private static final double LATE_WEIGHT = 1.25;
+	private static final double ENDGAME_WEIGHT = 1.5;
+	// about how many cells are around a map times how many pairs are in the deck
+	private static final double TYPICAL_MOVES = 80;
+	private static final double MIN_COMPLEXITY = 0.5;
+	private static final double MAX_COMPLEXITY = 2;
+	private final long perTurnNanos;
+	private long gameBudgetNanos = 0;
+	private long usedNanos = 0;
+	private int totalTurns = 0;
+
+	/**
+	 * @param perTurnNanos the average time each turn should take, the game's
+	 *                     budget is this times its number of turns
+	 */
+	public TimeAllocator(long perTurnNanos) {
+		if (perTurnNanos <= 0) {
+			throw new IllegalArgumentException("The time per turn must be positive.  It was "
+					+ perTurnNanos);
+		}
+		this.perTurnNanos = perTurnNanos;
+	}
+
+	/**
+	 * Works out the budget of a turn.
+	 *
+	 * @param turnsLeft how many turns the bot has left, including this one
+	 * @param complexity how hard the turn is, 1 for a typical one
+	 * @see #complexity(PlayerMap, List, List)
+	 */
+	public synchronized long allocate(int turnsLeft, double complexity) {
+		turnsLeft = Math.max(1, turnsLeft);
+		if (totalTurns == 0) {
+			// the first call is at the start of the game
+			totalTurns = turnsLeft;
+			gameBudgetNanos = perTurnNanos * turnsLeft;
+		}
+		long remaining = Math.max(0, gameBudgetNanos - usedNanos);
+		if (turnsLeft == 1) {
+			return Math.max(MIN_TURN_NANOS, remaining);
+		}
+		double weights = 0;
+		for (int t = 1; t <= turnsLeft; t++) {
+			weights += weight(t);
+		}
+		double scale = Math.min(MAX_COMPLEXITY, Math.max(MIN_COMPLEXITY, complexity));
+		long budget = (long) (remaining * weight(turnsLeft) / weights * scale);
+		return Math.max(MIN_TURN_NANOS, Math.min(budget, (long) (remaining * MAX_FRACTION)));
+	}
+
+	/**
+	 * Records how long a turn (or a decision between turns) took.
+	 */
+	public synchronized void record(long nanos) {
+		usedNanos += nanos;
+	}
+
+	// how much of the game's time a turn gets compared to the others
+	private double weight(int turnsLeft) {
+		if (turnsLeft <= EndgameSolver.MAX_TURNS) {
+			return ENDGAME_WEIGHT;
+		}
+		if (turnsLeft <= LATE_TURNS) {
+			return LATE_WEIGHT;
+		}
+		if (totalTurns - turnsLeft < EARLY_TURNS) {
+			return EARLY_WEIGHT;
+		}
+		return 1;
+	}
+
+	/**
+	 * Returns how hard a turn is to decide compared to a typical one, from
+	 * how many cells a tile could go in and how many different pairs (by
+	 * contents) the deck has.  Identical pairs need only be searched once.
+	 */
+	public static double complexity(PlayerMap map, List<HabitatTile> deckTiles,
+									List<WildlifeToken> deckTokens) {
+		int cells = new CorridorBoard(map).frontier().size();
+		Set<Long> pairs = new HashSet<>();
+		for (int i = 0; i < deckTiles.size(); i++) {
+			pairs.add(Zobrist.pairKey(deckTiles.get(i),
+					i < deckTokens.size() ? deckTokens.get(i) : null));
+		}
+		return Math.sqrt(cells * pairs.size() / TYPICAL_MOVES);
+	}
+
+	public synchronized long getGameBudgetNanos() {
+		return gameBudgetNanos;
+	}
+
+	public synchronized long getUsedNanos() {
+		return usedNanos;
+	}
+}
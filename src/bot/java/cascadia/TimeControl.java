@@ -0,0 +1,224 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Keeps track of the time a player has for their turns.  Each seat of each
+ * game has its own, so games played at the same time don't share a clock.
+ *
+ * <p>Each turn has a budget, and a soft deadline part way through it, after
+ * which searches shouldn't start anything new.  Each time a search's best
+ * move changes the soft deadline is pushed back, as the position needs more
+ * thought.  After each turn the
+ * increment is added to a bank of time, and time used over the budget is
+ * taken out of it.  The hard deadline of a turn is the budget plus the bank.
+ *
+ * <p>Reading the clock costs more than most of what a search does between
+ * checks, so {@link #isTimeLeft()} only reads it every
+ * {@link #POLL_INTERVAL} calls.  Searches that run on their own threads
+ * should each use their own {@link #poller()}.
+ */
+public class TimeControl {
+	/** The default time for each turn, 4.5 seconds. */
+	public static final long DEFAULT_BUDGET_NANOS = 4_500_000_000L;
+	/** How many checks there are between each reading of the clock. */
+	public static final int POLL_INTERVAL = 16;
+	private static final double DEFAULT_SOFT_FRACTION = 0.5;
+	// how much of the time between the soft and hard deadlines each best move change adds
+	private static final double CHANGE_EXTENSION = 0.5;
+	private final long budgetNanos;
+	private final long incrementNanos;
+	private final double softFraction;
+	private final TimeSource clock;
+	private volatile long start;
+	private volatile long turnBudgetNanos;
+	private volatile long hardDeadline;
+	private volatile long softDeadline;
+	private volatile boolean expired = true;
+	private long bankNanos = 0;
+	// not synchronised, when threads share it a few checks are lost, which doesn't matter
+	private int polls = 0;
+
+	public TimeControl() {
+		this(DEFAULT_BUDGET_NANOS, 0);
+	}
+
+	/**
+	 * @param budgetNanos the time for each turn
+	 * @param incrementNanos the time added to the bank after each turn
+	 */
+	public TimeControl(long budgetNanos, long incrementNanos) {
+		this(budgetNanos, incrementNanos, DEFAULT_SOFT_FRACTION, System::nanoTime);
+	}
+
+	/**
+	 * @param softFraction how far through the budget the soft deadline is
+	 * @param clock where the time is read from, so tests can control it
+	 */
+	public TimeControl(long budgetNanos, long incrementNanos, double softFraction,
+					   TimeSource clock) {
+		if (budgetNanos <= 0 || incrementNanos < 0) {
+			throw new IllegalArgumentException("The budget must be positive and the increment "
+					+ "can't be negative.  They were " + budgetNanos + " and " + incrementNanos);
+		}
+		if (softFraction <= 0 || softFraction > 1) {
+			throw new IllegalArgumentException("The soft fraction must be between 0 and 1.  It "
+					+ "was " + softFraction);
+		}
+		this.budgetNanos = budgetNanos;
+		this.incrementNanos = incrementNanos;
+		this.softFraction = softFraction;
+		this.clock = clock;
+	}
+
+	/**
+	 * Starts the clock for a turn with the usual budget.
+	 */
+	public void startTurn() {
+		startTurn(budgetNanos);
+	}
+
+	/**
+	 * Starts the clock for a turn with the given budget, e.g. one worked out
+	 * by a {@link TimeAllocator}.
+	 */
+	public void startTurn(long turnBudgetNanos) {
+		this.turnBudgetNanos = Math.max(1, turnBudgetNanos);
+		start = clock.nanoTime();
+		softDeadline = start + (long) (this.turnBudgetNanos * softFraction);
+		hardDeadline = start + this.turnBudgetNanos + bankNanos;
+		polls = 0;
+		expired = false;
+	}
+
+	/**
+	 * Stops the clock, and updates the bank with the increment and any time
+	 * used over the budget.
+	 *
+	 * @return how long the turn took, in nanoseconds
+	 */
+	public long endTurn() {
+		long used = clock.nanoTime() - start;
+		bankNanos = Math.max(0, bankNanos + incrementNanos - Math.max(0, used - turnBudgetNanos));
+		expired = true;
+		return used;
+	}
+
+	/**
+	 * True if the hard deadline hasn't passed.  Only reads the clock every
+	 * {@link #POLL_INTERVAL} calls, so it can be called often.
+	 */
+	public boolean isTimeLeft() {
+		if (expired) {
+			return false;
+		}
+		if (++polls % POLL_INTERVAL != 0) {
+			return true;
+		}
+		return checkDeadline();
+	}
+
+	/**
+	 * True if less than the given fraction of the time to the hard deadline
+	 * has been used, so a search can leave time for a fallback.  Always
+	 * reads the clock.
+	 */
+	public boolean isTimeLeft(double fraction) {
+		if (expired) {
+			return false;
+		}
+		// the hard deadline is checked first, so passing it stops every other check too
+		return checkDeadline()
+				&& clock.nanoTime() - start <= (long) ((hardDeadline - start) * fraction);
+	}
+
+	/**
+	 * True if the soft deadline hasn't passed.  Always reads the clock.
+	 */
+	public boolean isSoftTimeLeft() {
+		return !expired && clock.nanoTime() <= softDeadline;
+	}
+
+	/**
+	 * Tells the clock the best move of a search has changed, which pushes the
+	 * soft deadline back towards the hard one.
+	 */
+	public synchronized void bestMoveChanged() {
+		long hard = hardDeadline;
+		long soft = softDeadline;
+		softDeadline = Math.min(hard, soft + (long) ((hard - soft) * CHANGE_EXTENSION));
+	}
+
+	/**
+	 * Returns a check of the hard deadline with its own poll counter, for a
+	 * search running on its own thread.
+	 */
+	public BooleanSupplier poller() {
+		return poller(1);
+	}
+
+	/**
+	 * Returns a check of {@link #isTimeLeft(double)} with its own poll
+	 * counter, for a search running on its own thread.  It only reads the
+	 * clock every {@link #POLL_INTERVAL} calls, and once it returns false it
+	 * always does.
+	 */
+	public BooleanSupplier poller(double fraction) {
+		int[] count = {0};
+		boolean[] stopped = {false};
+		return () -> {
+			if (stopped[0] || expired) {
+				return false;
+			}
+			if (++count[0] % POLL_INTERVAL != 0) {
+				return true;
+			}
+			stopped[0] = !isTimeLeft(fraction);
+			return !stopped[0];
+		};
+	}
+
+	private boolean checkDeadline() {
+		if (clock.nanoTime() > hardDeadline) {
+			expired = true;
+		}
+		return !expired;
+	}
+
+	public long getBudgetNanos() {
+		return budgetNanos;
+	}
+
+	/**
+	 * Returns the budget of the current (or last) turn.
+	 */
+	public long getTurnBudgetNanos() {
+		return turnBudgetNanos;
+	}
+
+	public long getBankNanos() {
+		return bankNanos;
+	}
+
+	/**
+	 * Where the time is read from, {@link System#nanoTime()} outside tests.
+	 */
+	public interface TimeSource {
+		long nanoTime();
+	}
+}
@@ -15,113 +15,49 @@
 
 package cascadia;
 
+import cascadia.scoring.ScoreBounds;
 import cascadia.scoring.ScoreToken;
-import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.function.BooleanSupplier;
 
 /**
- * Bot which calculates the optimal token to play, and where to place it,
- * based on certain strategies.
+ * Works out the best placement of a token on a map, and the score of maps,
+ * for the bots' searches.  Results are kept in a shared transposition table
+ * and evaluation cache.
  */
 public class TokenBot {
-	public static final int NUM_TOKEN_STRATS = 2;
-	// we don't need the token score map atm, but I'm keeping it in case we need it in the
-	// future
-	private final int[] bestPlacementIds = new int[Constants.MAX_DECK_SIZE];
-	private final int[] rankedTokens = new int[Constants.MAX_DECK_SIZE];
-
-	public TokenBot() {
-		// initialise it to -1, so we know when we aren't able to place a token
-		Arrays.fill(bestPlacementIds, -1);
-	}
-
 	/**
-	 * Randomly selects a strategy to use.
-	 * There are currently two strategies it randomly selects from.
-	 * There is a constructive strategy, where the bot finds which token
-	 * results in the best score for the current player and selects that,
-	 * and there is the destructive strategy, which chooses the best token
-	 * for the opponent and selects it so the opponent cannot use it.
-	 * Regardless of strategy chosen, the bot will place the tile on the tile
-	 * that results in the best score for itself.
+	 * Tries to place the token in all possible positions on the map, and returns
+	 * {greatest increase in score, row, col} of the best placement (the row and
+	 * column are -1 if the token can't be placed).
+	 * The evaluation from a previous turn is reused if the map hasn't changed
+	 * since.  The cache stores the row and column of the best tile rather than
+	 * its ID, so it is correct for copies of the map too.
+	 * The map is only read, so this can be called from any thread.
+	 *
+	 * @param keepGoing checked after each placement, the search stops early
+	 *                  (and the result isn't cached) once it returns false
 	 */
-	public int[] chooseStrategy(Player player, Player nextPlayer) {
-		List<WildlifeToken> deckTokens = CurrentDeck.getDeckTokens();
-
-		Random rand = new Random();
-		int strategyChoice = rand.nextInt(NUM_TOKEN_STRATS);
-
-		if (!BotTimer.isTimeLeft()) {
-			System.out.println("No time left!");
-			return rankedTokens;
-		}
-
-		switch (strategyChoice) {
-			case 0 -> {
-				System.out.println("Using constructive token strat!");
-				constructiveTokenStrat(deckTokens, player, true);
-			}
-			case 1 -> destructiveTokenStrat(deckTokens, nextPlayer);
-			default -> throw new IllegalArgumentException("Unexpected value: " + strategyChoice);
-		}
-
-		return rankedTokens;
-	}
-
-	private void constructiveTokenStrat(List<WildlifeToken> deckTokens, Player player,
-										boolean isConst) {
-		rankDeckTokens(player, isConst, deckTokens);
-		System.out.println("ranked tokens: " + Arrays.toString(rankedTokens));
-	}
-
-	private void destructiveTokenStrat(List<WildlifeToken> deckTokens, Player nextPlayer) {
-		System.out.println("Using destructive token strat!");
-		// well the destructive strat just needs to find the best token for the other player
-		// which we can do by calling the constructive token strat but for them lol
-		constructiveTokenStrat(deckTokens, nextPlayer, false);
-	}
-
-	private void rankDeckTokens(Player player, boolean isConst, List<WildlifeToken> deckTokens) {
-		int[] scores = new int[Constants.MAX_DECK_SIZE];
-		for (int i = 0; i < Constants.MAX_DECK_SIZE; i++) {
-			// checks whether it is possible to place a certain token on the map.  If it
-			// is not, the score for that token is largely decreased
-			if (player.getMap().numPossibleTokenPlacements(deckTokens.get(i)) == 0) {
-				scores[i] = -3;
-				if (!isConst) {
-					bestPlacementIds[i] = -2;
-				}
-			} else {
-				scores[i] = calculatePlacementScoresAndReturnMax(deckTokens.get(i),
-						player, isConst, i);
-			}
+	static int[] evaluate(PlayerMap map, WildlifeToken token, TranspositionTable table,
+						  EvaluationCache cache, BooleanSupplier keepGoing) {
+		long key = map.getZobristHash() ^ Zobrist.scoringKey(token);
+		int[] cached = cache.get(key);
+		if (cached != null) {
+			return cached;
 		}
-		convertToRank(scores, deckTokens);
-	}
 
-	/*
-        Tries to place the token in all possible positions and returns the greatest increase
-        in score
-    */
-	private int calculatePlacementScoresAndReturnMax(WildlifeToken token, Player player,
-													 boolean isConst, int idx) {
 		int max = 0;
-		List<HabitatTile> possibleTiles = player.getMap().getPossibleTokenPlacements(token);
-
-		// as a placement that may have been valid last move may not be valid this move,
-		// we need to reset the best placement id value to ensure when a tile cannot be placed
-		// the bot knows this
-		bestPlacementIds[idx] = -1;
-
-		int prevScore = ScoreToken.calculateScore(player.getMap(), token);
-
-		for (HabitatTile tile : possibleTiles) {
-			Player tmp = new Player("temp");
-			tmp.getMap().setTileBoard(PlayerMap.deepCopy(player.getMap().getTileBoardPosition()));
-
-			tmp.getMap().addTokenToTileForTesting(token, tile.getTileID(), tmp);
-			int scoreDiff = ScoreToken.calculateScore(tmp.getMap(), token) - prevScore;
+		int[] best = {-1, -1};
+		boolean finished = true;
+		List<HabitatTile> possibleTiles = map.getPossibleTokenPlacements(token);
+		int prevScore = scoreOfMap(table, map, token);
+		// no placement can beat this (plus a nature token for a keystone), so we stop if
+		// we reach it
+		int bound = ScoreBounds.maxGain(map, token, 1, prevScore) + 1;
+
+		for (int i = 0; i < possibleTiles.size(); i++) {
+			HabitatTile tile = possibleTiles.get(i);
+			int scoreDiff = scoreAfterPlacement(table, map, tile, token) - prevScore;
 			if (tile.isKeystone()) {
 				// we get an extra point for getting a nature token from placing on a keystone tile
 				scoreDiff++;
@@ -132,60 +68,56 @@ public class TokenBot {
 			// rather than not placing it
 			if (scoreDiff >= max) {
 				max = scoreDiff;
-				bestPlacementIds[idx] = tile.getTileID();
+				best = tile.getMapPosition();
 			}
 
-
-			if (!BotTimer.isTimeLeft()) {
+			if (max >= bound) {
+				break;
+			}
+			if (i < possibleTiles.size() - 1 && !keepGoing.getAsBoolean()) {
+				finished = false;
 				break;
 			}
 		}
 
-		// we don't want to set our placement as the other players best placement, so we
-		// denote the fact that it's the other players'
-		if (!isConst) {
-			bestPlacementIds[idx] = -2;
+		int[] result = {max, best[0], best[1]};
+		// if we stopped early not every placement was tried, so we don't store it
+		if (finished) {
+			cache.put(key, result);
 		}
-
-		return max;
+		return result;
 	}
 
-	// converts an arraylist of scores (e.g. [1,10,5,6]) to their relative
-	// ranking (e.g. [0,3,1,2])
-	private void convertToRank(int[] scores, List<WildlifeToken> deckTokens) {
-
-		List<Integer> sorted = Arrays.stream(scores).sorted().boxed().toList();
-
-		for (int i = 0; i < sorted.size(); i++) {
-			scores[i] = sorted.indexOf(scores[i]);
+	static int scoreOfMap(TranspositionTable table, PlayerMap map, WildlifeToken token) {
+		long key = map.getZobristHash() ^ Zobrist.scoringKey(token);
+		long entry = table.probe(key);
+		if (entry != TranspositionTable.MISS) {
+			return TranspositionTable.score(entry);
 		}
-
-//		for (int i = 0; i < scores.length; i++) {
-//			rankedTokens[i] = 4 - scores[i];
-//		}
-		System.arraycopy(scores, 0, rankedTokens, 0, rankedTokens.length);
+		int score = ScoreToken.calculateScore(map, token);
+		table.store(key, score, 0, 0);
+		return score;
 	}
 
-	/**
-	 * Returns the best calculated tile ID to place the token on.
-	 * Returns -1 if there are no possible spots to place the token on.
-	 *
-	 * @param token the token to find the best placement of
-	 * @param player the player whose map will be analysed
-	 * @return the tileID to place the token on, or -1 if there are no possible
-	 * 				options
+	/*
+		Returns the score the map would have with the token placed on the given tile.
+		The hash of the resulting map is worked out without copying the map, so we
+		only need to copy it if the position has not been scored before.
 	 */
-	public int getBestPlacement(WildlifeToken token, int deckIdx, Player player) {
-		int id = bestPlacementIds[deckIdx];
-//		System.out.println(Arrays.toString(bestPlacementIds));
-
-		// if we were doing the destructive method (finding the best token for the opponent
-		// and taking it) we want to find where we can place that token on our map
-		if (id == -2) {
-			calculatePlacementScoresAndReturnMax(token, player, true, deckIdx);
-			id = bestPlacementIds[deckIdx];
-//			System.out.println(Arrays.toString(bestPlacementIds));
+	private static int scoreAfterPlacement(TranspositionTable table, PlayerMap map,
+										   HabitatTile tile, WildlifeToken token) {
+		int[] position = tile.getMapPosition();
+		long key = map.getZobristHash() ^ Zobrist.tokenKey(position[0], position[1], token)
+				^ Zobrist.scoringKey(token);
+		long entry = table.probe(key);
+		if (entry != TranspositionTable.MISS) {
+			return TranspositionTable.score(entry);
 		}
-		return id;
+
+		PlayerMap tmp = map.copy();
+		tmp.placeTokenAt(position[0], position[1], token);
+		int score = ScoreToken.calculateScore(tmp, token);
+		table.store(key, score, 0, 0);
+		return score;
 	}
 }
@@ -0,0 +1,162 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+/**
+ * A fixed size table of evaluated positions, keyed by Zobrist hash.
+ * Different move orders often reach the same position (e.g. placing a
+ * tile then a token, or picking the same tile and token using a nature
+ * token), so storing the results means a position only needs evaluated once.
+ *
+ * <p>The table is made of two primitive arrays and is safe to share between
+ * search threads without locking.  Each entry stores its data, and its key
+ * XORed with its data.  If two threads write to the same slot at once the
+ * key check fails, and the probe is just treated as a miss.
+ *
+ * <p>Entries are packed into a long as follows:
+ * bits 0-31 score, bits 32-39 depth, bits 40-47 age, bits 48-62 move,
+ * bit 63 set if the entry is in use.
+ *
+ * @see Zobrist
+ */
+public class TranspositionTable {
+	/** Returned by {@link #probe(long)} when the position is not stored. */
+	public static final long MISS = 0;
+	private static final int DEFAULT_SIZE_BITS = 16;
+	private static final int BUCKET_SIZE = 2;
+	private static final long IN_USE = 1L << 63;
+	private final long[] keys;
+	private final long[] data;
+	private final int bucketMask;
+	private volatile int age = 0;
+
+	public TranspositionTable() {
+		this(DEFAULT_SIZE_BITS);
+	}
+
+	/**
+	 * Creates a table with 2^sizeBits entries.
+	 *
+	 * @param sizeBits the log2 of the number of entries, between 2 and 28
+	 */
+	public TranspositionTable(int sizeBits) {
+		if (sizeBits < 2 || sizeBits > 28) {
+			throw new IllegalArgumentException("sizeBits must be between 2 and 28.  It was "
+					+ sizeBits);
+		}
+		keys = new long[1 << sizeBits];
+		data = new long[1 << sizeBits];
+		bucketMask = (1 << sizeBits) / BUCKET_SIZE - 1;
+	}
+
+	/**
+	 * Increments the age of the table.  Should be called at the start of
+	 * each turn, so entries from old searches are replaced first.
+	 */
+	public void newSearch() {
+		age = (age + 1) & 0xFF;
+	}
+
+	/**
+	 * Looks up a position.
+	 *
+	 * @param key the Zobrist hash of the position
+	 * @return the packed entry, or {@link #MISS} if it is not in the table
+	 */
+	public long probe(long key) {
+		int start = bucket(key);
+		for (int i = start; i < start + BUCKET_SIZE; i++) {
+			long entry = data[i];
+			if (entry != MISS && (keys[i] ^ entry) == key) {
+				return entry;
+			}
+		}
+		return MISS;
+	}
+
+	/**
+	 * Stores a position.
+	 * If the bucket is full, the entry from the oldest search is replaced,
+	 * or if they are all from the current search, the shallowest one.
+	 *
+	 * @param key the Zobrist hash of the position
+	 * @param score the score of the position
+	 * @param depth how deep the search below the position was (0 for a
+	 *              static evaluation), 0-255
+	 * @param move the best move found from the position, 0-32767
+	 */
+	public void store(long key, int score, int depth, int move) {
+		int currentAge = age;
+		long entry = IN_USE | (long) (move & 0x7FFF) << 48 | (long) currentAge << 40
+				| (long) (depth & 0xFF) << 32 | (score & 0xFFFFFFFFL);
+		int start = bucket(key);
+		int replace = start;
+		int worst = Integer.MAX_VALUE;
+		for (int i = start; i < start + BUCKET_SIZE; i++) {
+			long old = data[i];
+			if (old == MISS || (keys[i] ^ old) == key) {
+				// an empty slot, or the same position which we only overwrite with
+				// an equal or deeper search (or an old one)
+				if (old != MISS && depth(old) > depth && age(old) == currentAge) {
+					return;
+				}
+				replace = i;
+				break;
+			}
+			int value = age(old) == currentAge ? depth(old) : depth(old) - 256;
+			if (value < worst) {
+				worst = value;
+				replace = i;
+			}
+		}
+		data[replace] = entry;
+		keys[replace] = key ^ entry;
+	}
+
+	/**
+	 * Removes every entry from the table.
+	 */
+	public void clear() {
+		for (int i = 0; i < data.length; i++) {
+			data[i] = MISS;
+			keys[i] = 0;
+		}
+	}
+
+	public int capacity() {
+		return data.length;
+	}
+
+	private int bucket(long key) {
+		return ((int) (key ^ (key >>> 32)) & bucketMask) * BUCKET_SIZE;
+	}
+
+	public static int score(long entry) {
+		return (int) entry;
+	}
+
+	public static int depth(long entry) {
+		return (int) (entry >>> 32) & 0xFF;
+	}
+
+	public static int age(long entry) {
+		return (int) (entry >>> 40) & 0xFF;
+	}
+
+	public static int move(long entry) {
+		return (int) (entry >>> 48) & 0x7FFF;
+	}
+}
@@ -0,0 +1,177 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.Arrays;
+import java.util.function.BooleanSupplier;
+
+/**
+ * The time a bot has for its turn, which can also be cancelled early.
+ * Plugins check it while they search, and stop as soon as it runs out.
+ * It also holds the best move found so far, so a move can be played however
+ * early the turn is stopped.
+ *
+ * @see TimeControl
+ */
+public class TurnBudget {
+	private final TimeControl time;
+	private volatile boolean cancelled = false;
+	// the last best move reported, so changes can be noticed
+	private int[] bestMove = null;
+	// the move to play if the plugin doesn't return one
+	private int[] bestSoFar = null;
+	private int depth = 0;
+	// the time spent in each phase of the turn so far, see DecisionTrace
+	private final long[] phaseNanos = new long[DecisionTrace.NUM_PHASES];
+	private long phaseStart = System.nanoTime();
+	private DecisionTrace.Strategy strategy = null;
+
+	public TurnBudget(TimeControl time) {
+		this.time = time;
+	}
+
+	/**
+	 * True if the turn hasn't been cancelled and there is time left.
+	 * Cheap enough to call in a search's inner loop.
+	 */
+	public boolean isTimeLeft() {
+		return !cancelled && time.isTimeLeft();
+	}
+
+	/**
+	 * True if the turn hasn't been cancelled and less than the given fraction
+	 * of the time has been used, so a plugin can leave time for a fallback.
+	 */
+	public boolean isTimeLeft(double fraction) {
+		return !cancelled && time.isTimeLeft(fraction);
+	}
+
+	/**
+	 * True if the turn hasn't been cancelled and the soft deadline hasn't
+	 * passed, so it is worth starting more work.
+	 */
+	public boolean isSoftTimeLeft() {
+		return !cancelled && time.isSoftTimeLeft();
+	}
+
+	/**
+	 * Reports the best move found so far.  If it is different to the last one
+	 * reported, the search is unstable and the soft deadline is pushed back.
+	 */
+	public synchronized void reportBestMove(int[] move) {
+		if (move == null) {
+			return;
+		}
+		if (bestMove != null && !Arrays.equals(bestMove, move)) {
+			time.bestMoveChanged();
+		}
+		bestMove = move.clone();
+		bestSoFar = bestMove;
+	}
+
+	/**
+	 * Offers a quickly found move to fall back on, which is only kept if no
+	 * better one has been reported.  Unlike {@link #reportBestMove} it
+	 * doesn't count as a change of the best move.
+	 */
+	public synchronized void offerFallback(int[] move) {
+		if (move != null && bestSoFar == null) {
+			bestSoFar = move.clone();
+		}
+	}
+
+	/**
+	 * Forgets the moves reported so far, as the deck has changed during the
+	 * turn (e.g. tokens were wiped) so they may no longer be possible.
+	 */
+	public synchronized void deckChanged() {
+		bestMove = null;
+		bestSoFar = null;
+	}
+
+	/**
+	 * Returns the best move reported so far, or the fallback, or null if
+	 * there is neither.
+	 */
+	public synchronized int[] getBestSoFar() {
+		return bestSoFar == null ? null : bestSoFar.clone();
+	}
+
+	/**
+	 * Reports how many of the player's turns a search looked ahead, e.g. 2
+	 * if it searched this turn and the next.  The deepest report is kept.
+	 */
+	public synchronized void reportDepth(int turns) {
+		depth = Math.max(depth, turns);
+	}
+
+	public synchronized int getDepth() {
+		return depth;
+	}
+
+	/**
+	 * Ends a phase of the turn, adding the time since the last phase ended
+	 * (or the budget was made) to it.  A phase can be ended more than once.
+	 */
+	public synchronized void endPhase(DecisionTrace.Phase phase) {
+		long now = System.nanoTime();
+		phaseNanos[phase.ordinal()] += now - phaseStart;
+		phaseStart = now;
+	}
+
+	public synchronized long getPhaseNanos(DecisionTrace.Phase phase) {
+		return phaseNanos[phase.ordinal()];
+	}
+
+	/**
+	 * Reports what chose the move.  The last report is kept.
+	 */
+	public synchronized void reportStrategy(DecisionTrace.Strategy strategy) {
+		this.strategy = strategy;
+	}
+
+	public synchronized DecisionTrace.Strategy getStrategy() {
+		return strategy;
+	}
+
+	/**
+	 * Returns a check of the time left with its own poll counter, for a
+	 * search running on its own thread.
+	 */
+	public BooleanSupplier poller() {
+		return poller(1);
+	}
+
+	/**
+	 * Returns a check of {@link #isTimeLeft(double)} with its own poll
+	 * counter, for a search running on its own thread.
+	 */
+	public BooleanSupplier poller(double fraction) {
+		BooleanSupplier poller = time.poller(fraction);
+		return () -> !cancelled && poller.getAsBoolean();
+	}
+
+	/**
+	 * Stops the turn, e.g. when the game is quit.
+	 */
+	public void cancel() {
+		cancelled = true;
+	}
+
+	public boolean isCancelled() {
+		return cancelled;
+	}
+}
@@ -0,0 +1,318 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Searches every way of playing a turn with the current deck: which pair to
+ * take, where and in which rotation to place the tile, and where to place
+ * the token (including on the new tile).  Each placement is valued by the
+ * increase in the player's longest corridors plus the increase in the
+ * token's score.
+ *
+ * <p>The tree is kept between searches.  A player's map only changes on
+ * their own turn, so a search of the next turn made while the other player
+ * is moving (see {@link Ponderer}) is still valid for every pair they leave
+ * in the deck, and only the refilled pair needs searched when the turn
+ * actually starts.
+ *
+ * <p>The tree has the map being searched as its root, pairs as its
+ * children (keyed by their contents, as the deck is reordered when a pair
+ * is taken), tile placements below them, and the best token placement for
+ * each tile placement below those.
+ */
+public class TurnSearch {
+	// 131,072 nodes, far more than a turn needs
+	public static final long DEFAULT_MEMORY_BUDGET = 4L << 20;
+	private static final int UNEXPANDED = 0;
+	private static final int EXPANDED = 1;
+	private final SearchTree tree;
+	private final TranspositionTable table;
+	private final EvaluationCache cache;
+
+	public TurnSearch(TranspositionTable table, EvaluationCache cache) {
+		this(table, cache, SearchTree.withMemoryBudget(DEFAULT_MEMORY_BUDGET));
+	}
+
+	public TurnSearch(TranspositionTable table, EvaluationCache cache, SearchTree tree) {
+		this.table = table;
+		this.cache = cache;
+		this.tree = tree;
+	}
+
+	/**
+	 * Gets the tree ready to search a turn on the map with the given deck.
+	 * If the tree was already searching the same map, the subtrees of the
+	 * pairs which are still in the deck are kept, and the rest are released.
+	 * Otherwise the whole tree is released.
+	 *
+	 * @return the number of pairs whose subtrees were kept
+	 */
+	public int reroot(PlayerMap map, List<HabitatTile> tiles, List<WildlifeToken> tokens) {
+		int root = tree.getRoot();
+		if (root == SearchTree.NONE || tree.getKey(root) != map.getZobristHash()) {
+			tree.clear();
+			tree.setRoot(tree.newNode(map.getZobristHash(), SearchTree.NONE));
+			return 0;
+		}
+
+		Set<Long> deckKeys = new HashSet<>();
+		for (int i = 0; i < deckSize(tiles, tokens); i++) {
+			deckKeys.add(Zobrist.pairKey(tiles.get(i), tokens.get(i)));
+		}
+		int kept = 0;
+		int child = tree.getFirstChild(root);
+		while (child != SearchTree.NONE) {
+			int next = tree.getNextSibling(child);
+			if (deckKeys.contains(tree.getKey(child))) {
+				kept++;
+			} else {
+				tree.releaseChild(child);
+			}
+			child = next;
+		}
+		return kept;
+	}
+
+	/**
+	 * Searches every pair in the deck which hasn't been searched yet.
+	 * The map and deck are only read, so this can run on any thread as long
+	 * as they aren't changed during the search.
+	 *
+	 * @param keepGoing checked after each tile placement, the search stops
+	 *                  once it returns false
+	 * @return true if every pair in the deck has been searched
+	 */
+	public boolean search(PlayerMap map, List<HabitatTile> tiles, List<WildlifeToken> tokens,
+						  BooleanSupplier keepGoing) {
+		reroot(map, tiles, tokens);
+		int root = tree.getRoot();
+		CorridorBoard board = null;
+		for (int i = 0; i < deckSize(tiles, tokens); i++) {
+			long key = Zobrist.pairKey(tiles.get(i), tokens.get(i));
+			int pair = tree.findChild(root, key);
+			if (pair == SearchTree.NONE) {
+				pair = tree.addChild(root, key, i);
+				if (pair == SearchTree.NONE) {
+					return false;
+				}
+			}
+			if (tree.getState(pair) == EXPANDED) {
+				continue;
+			}
+			if (board == null) {
+				board = new CorridorBoard(map);
+			}
+			if (!expandPair(map, board, pair, tiles.get(i), tokens.get(i), keepGoing)) {
+				// a half searched pair would look worse than it is, so we start it again next time
+				tree.releaseChildren(pair);
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private boolean expandPair(PlayerMap map, CorridorBoard board, int pair, HabitatTile tile,
+							   WildlifeToken token, BooleanSupplier keepGoing) {
+		// the best place for the token on the map as it is, which only changes if the
+		// new tile is a better place for it
+		int[] tokenBest = TokenBot.evaluate(map, token, table, cache, keepGoing);
+		int tokenScore = TokenBot.scoreOfMap(table, map, token);
+		int numRotations = tile.isKeystone() ? 1 : Constants.NUM_EDGES;
+		float best = Float.NEGATIVE_INFINITY;
+
+		for (int[] cell : board.frontier()) {
+			for (int rotation = 0; rotation < numRotations; rotation++) {
+				if (!keepGoing.getAsBoolean()) {
+					return false;
+				}
+				int corridorGain = corridorGain(board, cell, tile, rotation);
+
+				int tokenGain = tokenBest[0];
+				int tokenMove = tokenBest[1] < 0 ? SearchTree.NONE
+						: tokenBest[1] * PlayerMap.BOARD_WIDTH + tokenBest[2];
+				if (canHold(tile, token)) {
+					// only copy the map when the token could go on the new tile
+					PlayerMap after = map.copy();
+					HabitatTile placed = tile.duplicate();
+					placed.rotateTile((rotation - placed.getRotation() + Constants.NUM_EDGES)
+							% Constants.NUM_EDGES);
+					after.addTileToMap(placed, cell[0], cell[1]);
+					after.placeTokenAt(cell[0], cell[1], token);
+					int gain = TokenBot.scoreOfMap(table, after, token) - tokenScore
+							+ (placed.isKeystone() ? 1 : 0);
+					if (gain >= tokenGain) {
+						tokenGain = gain;
+						tokenMove = cell[0] * PlayerMap.BOARD_WIDTH + cell[1];
+					}
+				}
+
+				int placement = tree.addChild(pair, 0, (cell[0] * PlayerMap.BOARD_WIDTH + cell[1])
+						* Constants.NUM_EDGES + rotation);
+				if (placement == SearchTree.NONE) {
+					return false;
+				}
+				int tokenNode = tree.addChild(placement, 0, tokenMove);
+				if (tokenNode == SearchTree.NONE) {
+					return false;
+				}
+				tree.setValue(tokenNode, tokenGain);
+				tree.setValue(placement, corridorGain + tokenGain);
+				best = Math.max(best, corridorGain + tokenGain);
+			}
+		}
+
+		tree.setValue(pair, best);
+		tree.setState(pair, EXPANDED);
+		return true;
+	}
+
+	/**
+	 * Returns the best move found for the deck, as {deck index, row, col,
+	 * rotation, token row, token col}, where the token row and col are -1 if
+	 * the token can't be placed.  The rotation is from the tile's starting
+	 * orientation, see {@link HabitatTile#getRotation()}.
+	 *
+	 * @return the best move, or null if not every pair has been searched
+	 */
+	public int[] getBestMove(List<HabitatTile> tiles, List<WildlifeToken> tokens) {
+		int root = tree.getRoot();
+		if (root == SearchTree.NONE) {
+			return null;
+		}
+		int bestIdx = -1;
+		int bestPair = SearchTree.NONE;
+		for (int i = 0; i < deckSize(tiles, tokens); i++) {
+			int pair = tree.findChild(root, Zobrist.pairKey(tiles.get(i), tokens.get(i)));
+			if (pair == SearchTree.NONE || tree.getState(pair) != EXPANDED) {
+				return null;
+			}
+			if (bestPair == SearchTree.NONE || tree.getValue(pair) > tree.getValue(bestPair)) {
+				bestIdx = i;
+				bestPair = pair;
+			}
+		}
+		if (bestPair == SearchTree.NONE) {
+			return null;
+		}
+
+		int bestPlacement = bestPlacement(bestPair);
+		if (bestPlacement == SearchTree.NONE) {
+			// there is nowhere to place the tile
+			return null;
+		}
+		int move = tree.getMove(bestPlacement);
+		int cell = move / Constants.NUM_EDGES;
+		int tokenMove = tree.getMove(tree.getFirstChild(bestPlacement));
+		return new int[]{bestIdx, cell / PlayerMap.BOARD_WIDTH, cell % PlayerMap.BOARD_WIDTH,
+				move % Constants.NUM_EDGES,
+				tokenMove == SearchTree.NONE ? -1 : tokenMove / PlayerMap.BOARD_WIDTH,
+				tokenMove == SearchTree.NONE ? -1 : tokenMove % PlayerMap.BOARD_WIDTH};
+	}
+
+	/**
+	 * Returns the best placement found for each pair in the deck, so they can
+	 * be compared by something that knows more than the search's values.
+	 *
+	 * @return {row, col, rotation} of each deck tile, as for
+	 * 			{@link EvaluationPolicy#choose}, where the row is -1 if the tile
+	 * 			can't be placed.  Null if not every pair has been searched
+	 */
+	public int[][] getBestPlacements(List<HabitatTile> tiles, List<WildlifeToken> tokens) {
+		int root = tree.getRoot();
+		if (root == SearchTree.NONE) {
+			return null;
+		}
+		int[][] placements = new int[deckSize(tiles, tokens)][];
+		for (int i = 0; i < placements.length; i++) {
+			int pair = tree.findChild(root, Zobrist.pairKey(tiles.get(i), tokens.get(i)));
+			if (pair == SearchTree.NONE || tree.getState(pair) != EXPANDED) {
+				return null;
+			}
+			int placement = bestPlacement(pair);
+			if (placement == SearchTree.NONE) {
+				placements[i] = new int[]{-1, -1, 0};
+				continue;
+			}
+			int move = tree.getMove(placement);
+			int cell = move / Constants.NUM_EDGES;
+			placements[i] = new int[]{cell / PlayerMap.BOARD_WIDTH, cell % PlayerMap.BOARD_WIDTH,
+					move % Constants.NUM_EDGES};
+		}
+		return placements;
+	}
+
+	// the pair's placement with the highest value, NONE if it has none
+	private int bestPlacement(int pair) {
+		int best = SearchTree.NONE;
+		for (int child = tree.getFirstChild(pair); child != SearchTree.NONE;
+			 child = tree.getNextSibling(child)) {
+			if (best == SearchTree.NONE || tree.getValue(child) > tree.getValue(best)) {
+				best = child;
+			}
+		}
+		return best;
+	}
+
+	/**
+	 * Returns the value of the best move found for a pair, or null if the
+	 * pair hasn't been searched.
+	 */
+	public Float getPairValue(HabitatTile tile, WildlifeToken token) {
+		int root = tree.getRoot();
+		int pair = root == SearchTree.NONE ? SearchTree.NONE
+				: tree.findChild(root, Zobrist.pairKey(tile, token));
+		if (pair == SearchTree.NONE || tree.getState(pair) != EXPANDED) {
+			return null;
+		}
+		return tree.getValue(pair);
+	}
+
+	public SearchTree getTree() {
+		return tree;
+	}
+
+	private static int deckSize(List<HabitatTile> tiles, List<WildlifeToken> tokens) {
+		return Math.min(tiles.size(), tokens.size());
+	}
+
+	private static boolean canHold(HabitatTile tile, WildlifeToken token) {
+		for (WildlifeToken option : tile.getTokenOptions()) {
+			if (option == token) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	// how much the longest corridors of the tile's habitats grow by placing it
+	private static int corridorGain(CorridorBoard board, int[] cell, HabitatTile tile,
+									int rotation) {
+		Habitat[] edges = CorridorBoard.rotatedEdges(tile, rotation);
+		int gain = 0;
+		for (Habitat habitat : CorridorBoard.habitatsOf(tile)) {
+			int longest = board.getLongestCorridorSize(habitat);
+			gain += Math.max(longest, board.grownCorridorSize(cell[0], cell[1], edges, habitat))
+					- longest;
+		}
+		return gain;
+	}
+}
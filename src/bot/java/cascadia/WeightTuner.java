@@ -0,0 +1,267 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoreCards;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Tunes the evaluator's weights offline by self-play, using SPSA
+ * (simultaneous perturbation stochastic approximation).
+ * Each iteration every tuned weight is nudged up or down at random, and games
+ * are played between the weights nudged one way and the other.  Each seed is
+ * played twice with the seats swapped, so both sides get the same tiles and
+ * tokens.  The weights then move towards whichever side scored more.
+ * Both sides play with the standard plugin, so the weights are tuned for the
+ * searches they are actually played with, see
+ * {@link SelfPlay#play(LinearEvaluator[], long)}.
+ * The games are played in parallel, and the weights are saved to a checkpoint
+ * file after every iteration, so tuning can be stopped and resumed.
+ *
+ * <p>Usage: {@code WeightTuner [iterations] [games per iteration] [checkpoint]
+ * [threads]}.  The bot plays with tuned weights when the checkpoint is given
+ * as the {@code cascadia.weights} system property.
+ */
+public class WeightTuner {
+	/** The system property the bot reads its weights file from. */
+	public static final String WEIGHTS_PROPERTY = "cascadia.weights";
+	private static final String ITERATION = "iteration=";
+	private static final String GAMES = "games=";
+	private static final String WEIGHTS = "weights=";
+	// SPSA gains, the step and perturbation sizes shrink as the iterations go on
+	private static final double STEP = 0.005;
+	private static final double STEP_OFFSET = 10;
+	private static final double PERTURBATION = 0.1;
+	private final ExecutorService pool;
+	private final Path checkpoint;
+	private final SplittableRandom rand;
+	private float[] weights;
+	private int iteration = 0;
+	private long games = 0;
+
+	public WeightTuner(Path checkpoint, int threads, long seed) {
+		this.checkpoint = checkpoint;
+		this.pool = Executors.newFixedThreadPool(threads);
+		this.rand = new SplittableRandom(seed);
+		this.weights = LinearEvaluator.defaultWeights();
+		if (checkpoint != null && Files.exists(checkpoint)) {
+			load();
+		}
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int gamesPerIteration = args.length > 1 ? Integer.parseInt(args[1]) : 16;
+		Path checkpoint = Paths.get(args.length > 2 ? args[2] : "weights.txt");
+		int threads = args.length > 3 ? Integer.parseInt(args[3])
+				: Runtime.getRuntime().availableProcessors();
+
+		// the bots always play with the same scorecards
+		Game.botMode = true;
+		ScoreCards.generateScorecards();
+		Metrics.startExportIfAsked();
+		WeightTuner tuner = new WeightTuner(checkpoint, threads, System.nanoTime());
+		try {
+			long start = System.nanoTime();
+			long startGames = tuner.games;
+			for (int i = 0; i < iterations; i++) {
+				float diff = tuner.step(gamesPerIteration);
+				double seconds = (System.nanoTime() - start) / 1e9;
+				System.out.printf("Iteration %d: score difference %.2f, %.2f games/sec%n",
+						tuner.iteration, diff, (tuner.games - startGames) / seconds);
+			}
+		} finally {
+			tuner.shutdown();
+			Metrics.stopExport();
+		}
+	}
+
+	/**
+	 * Runs one SPSA iteration of the given number of games (rounded up to an
+	 * even number, so each seed is played from both seats), then saves the
+	 * checkpoint.
+	 *
+	 * @return the average score difference between the weights nudged up and
+	 * 			nudged down
+	 */
+	public float step(int numGames) throws InterruptedException {
+		int k = iteration + 1;
+		double step = STEP / Math.pow(k + STEP_OFFSET, 0.602);
+		double perturbation = PERTURBATION / Math.pow(k, 0.101);
+
+		float[] delta = new float[weights.length];
+		float[] plus = weights.clone();
+		float[] minus = weights.clone();
+		for (int i = 0; i < weights.length; i++) {
+			if (!isTuned(i)) {
+				continue;
+			}
+			// weights are nudged in proportion to their size, so small ones aren't swamped
+			delta[i] = (float) ((rand.nextBoolean() ? 1 : -1)
+					* perturbation * Math.max(1, Math.abs(weights[i])));
+			plus[i] += delta[i];
+			minus[i] -= delta[i];
+		}
+
+		float diff = playMatch(plus, minus, (numGames + 1) / 2, rand.nextLong());
+		for (int i = 0; i < weights.length; i++) {
+			if (delta[i] != 0) {
+				weights[i] += (float) (step * diff / (2 * delta[i]));
+			}
+		}
+		iteration++;
+		if (checkpoint != null) {
+			save();
+		}
+		return diff;
+	}
+
+	// plays each seed from both seats, returning the average score of a minus b
+	private float playMatch(float[] a, float[] b, int seeds, long seed)
+			throws InterruptedException {
+		LinearEvaluator first = new LinearEvaluator(a);
+		LinearEvaluator second = new LinearEvaluator(b);
+		List<Future<Integer>> results = new ArrayList<>();
+		for (int s = 0; s < seeds; s++) {
+			long gameSeed = seed + s;
+			results.add(pool.submit(() -> {
+				int[] scores = SelfPlay.play(new LinearEvaluator[]{first, second}, gameSeed);
+				return scores[0] - scores[1];
+			}));
+			results.add(pool.submit(() -> {
+				int[] scores = SelfPlay.play(new LinearEvaluator[]{second, first}, gameSeed);
+				return scores[1] - scores[0];
+			}));
+		}
+
+		long total = 0;
+		try {
+			for (Future<Integer> result : results) {
+				total += result.get();
+			}
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("A self-play game failed", e.getCause());
+		}
+		games += results.size();
+		return (float) total / results.size();
+	}
+
+	// the bias doesn't change which move is best, and every move has the same turns left
+	private static boolean isTuned(int feature) {
+		return feature != FeatureExtractor.BIAS && feature != FeatureExtractor.TURNS_LEFT;
+	}
+
+	public float[] getWeights() {
+		return weights.clone();
+	}
+
+	public int getIteration() {
+		return iteration;
+	}
+
+	public long getGames() {
+		return games;
+	}
+
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	// writes to a temporary file first, so stopping part way through a save doesn't
+	// lose the last checkpoint
+	private void save() {
+		List<String> lines = List.of(ITERATION + iteration, GAMES + games,
+				WEIGHTS + formatWeights(weights));
+		try {
+			Path tmp = checkpoint.resolveSibling(checkpoint.getFileName() + ".tmp");
+			Files.write(tmp, lines);
+			Files.move(tmp, checkpoint, StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Couldn't save the checkpoint " + checkpoint, e);
+		}
+	}
+
+	private void load() {
+		for (String line : readLines(checkpoint)) {
+			if (line.startsWith(ITERATION)) {
+				iteration = Integer.parseInt(line.substring(ITERATION.length()).trim());
+			} else if (line.startsWith(GAMES)) {
+				games = Long.parseLong(line.substring(GAMES.length()).trim());
+			} else if (line.startsWith(WEIGHTS)) {
+				weights = parseWeights(line.substring(WEIGHTS.length()));
+			}
+		}
+	}
+
+	/**
+	 * Returns an evaluator with the weights from the checkpoint named by the
+	 * {@value #WEIGHTS_PROPERTY} system property, or the default weights if
+	 * it isn't set.
+	 */
+	public static LinearEvaluator loadEvaluator() {
+		String path = System.getProperty(WEIGHTS_PROPERTY);
+		if (path == null) {
+			return new LinearEvaluator();
+		}
+		for (String line : readLines(Paths.get(path))) {
+			if (line.startsWith(WEIGHTS)) {
+				return new LinearEvaluator(parseWeights(line.substring(WEIGHTS.length())));
+			}
+		}
+		throw new IllegalArgumentException("There are no weights in " + path);
+	}
+
+	private static List<String> readLines(Path path) {
+		try {
+			return Files.readAllLines(path);
+		} catch (IOException e) {
+			throw new UncheckedIOException("Couldn't read the weights from " + path, e);
+		}
+	}
+
+	static String formatWeights(float[] weights) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < weights.length; i++) {
+			if (i > 0) {
+				builder.append(',');
+			}
+			builder.append(weights[i]);
+		}
+		return builder.toString();
+	}
+
+	static float[] parseWeights(String line) {
+		String[] parts = line.split(",");
+		float[] weights = new float[parts.length];
+		for (int i = 0; i < parts.length; i++) {
+			weights[i] = Float.parseFloat(parts[i].trim());
+		}
+		return weights;
+	}
+}
@@ -0,0 +1,91 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.Scoring;
+import cascadia.scoring.ScoringHabitatCorridors;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Benchmarks of the map operations the scoring and the bots use most.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	public Fixtures.Size size;
+	private PlayerMap map;
+	private List<HabitatTile> tiles;
+	private HabitatTile newTile;
+	private int[] cell;
+
+	@Setup
+	public void setUp() {
+		map = Fixtures.board(size, 1);
+		tiles = map.getTilesInMap();
+		newTile = Fixtures.deckTiles(1).get(0);
+		cell = new CorridorBoard(map).frontier().get(0);
+	}
+
+	// the cost of copying the map, which addTileToMap is measured with
+	@Benchmark
+	public PlayerMap copy() {
+		return map.copy();
+	}
+
+	@Benchmark
+	public PlayerMap addTileToMap() {
+		PlayerMap copy = map.copy();
+		copy.addTileToMap(newTile.duplicate(), cell[0], cell[1]);
+		return copy;
+	}
+
+	@Benchmark
+	public List<HabitatTile> getTilesInMap() {
+		return map.getTilesInMap();
+	}
+
+	@Benchmark
+	public void getAdjacentTiles(Blackhole blackhole) {
+		for (HabitatTile tile : tiles) {
+			blackhole.consume(Scoring.getAdjacentTiles(tile, map));
+		}
+	}
+
+	@Benchmark
+	public void findLongestHabitatCorridor(Blackhole blackhole) {
+		for (HabitatTile.Habitat habitat : HabitatTile.Habitat.values()) {
+			blackhole.consume(ScoringHabitatCorridors.findLongestHabitatCorridor(map, habitat));
+		}
+	}
+}
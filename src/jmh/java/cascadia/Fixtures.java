@@ -0,0 +1,113 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoreCards;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Seeded boards and decks for the benchmarks, so every run measures the same
+ * positions.  Boards are grown from one tile by placing tiles sampled from a
+ * bot game's bag next to the map, and tokens on most of them.
+ */
+public class Fixtures {
+	// the chance of a token being placed on each new tile
+	private static final double TOKEN_CHANCE = 0.7;
+
+	/**
+	 * How many tiles a fixture board has: the start of a game, the middle,
+	 * and the end of a two player game.
+	 */
+	public enum Size {
+		SMALL(3), MEDIUM(12), LARGE(23);
+
+		final int tiles;
+
+		Size(int tiles) {
+			this.tiles = tiles;
+		}
+	}
+
+	/**
+	 * Sets the scorecards the bots play with, which scoring needs.
+	 */
+	public static void useBotScorecards() {
+		boolean botMode = Game.botMode;
+		Game.botMode = true;
+		ScoreCards.generateScorecards();
+		Game.botMode = botMode;
+	}
+
+	/**
+	 * Places tiles next to those already on the map until it is the given
+	 * size, e.g. around a player's starter tiles.
+	 */
+	public static void grow(PlayerMap map, Size size, long seed) {
+		SplittableRandom rand = new SplittableRandom(seed);
+		BagModel bag = BagModel.botGame();
+		if (map.getTilesInMap().isEmpty()) {
+			map.addTileToMap(bag.sampleTile(rand), 9, 9);
+		}
+		for (int i = map.getTilesInMap().size(); i < size.tiles; i++) {
+			List<int[]> frontier = new CorridorBoard(map).frontier();
+			int[] cell = frontier.get(rand.nextInt(frontier.size()));
+			HabitatTile tile = bag.sampleTile(rand);
+			tile.rotateTile(rand.nextInt(Constants.NUM_EDGES));
+			map.addTileToMap(tile, cell[0], cell[1]);
+			if (rand.nextDouble() < TOKEN_CHANCE) {
+				List<WildlifeToken> options = new ArrayList<>();
+				for (WildlifeToken option : tile.getTokenOptions()) {
+					if (option != null) {
+						options.add(option);
+					}
+				}
+				map.placeTokenAt(cell[0], cell[1], options.get(rand.nextInt(options.size())));
+			}
+		}
+	}
+
+	/**
+	 * Returns a map with a board of the given size.
+	 */
+	public static PlayerMap board(Size size, long seed) {
+		PlayerMap map = PlayerMap.empty();
+		grow(map, size, seed);
+		return map;
+	}
+
+	public static List<HabitatTile> deckTiles(long seed) {
+		SplittableRandom rand = new SplittableRandom(seed);
+		BagModel bag = BagModel.botGame();
+		List<HabitatTile> tiles = new ArrayList<>();
+		for (int i = 0; i < Constants.MAX_DECK_SIZE; i++) {
+			tiles.add(bag.sampleTile(rand));
+		}
+		return tiles;
+	}
+
+	public static List<WildlifeToken> deckTokens(long seed) {
+		// a different stream to the tiles, so they aren't correlated
+		SplittableRandom rand = new SplittableRandom(~seed);
+		BagModel bag = BagModel.botGame();
+		List<WildlifeToken> tokens = new ArrayList<>();
+		for (int i = 0; i < Constants.MAX_DECK_SIZE; i++) {
+			tokens.add(bag.sampleToken(rand));
+		}
+		return tokens;
+	}
+}
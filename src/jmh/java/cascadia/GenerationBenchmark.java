@@ -0,0 +1,75 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of drawing tiles and tokens from the bag of a bot game.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GenerationBenchmark {
+	// the bag is put back as it was after this many tiles, about as many as a game draws.
+	// Drawing from an empty bag fails, and redrawn token options are added back to the
+	// bag, so over many draws it would stop looking like a real game's
+	private static final int REFILL_EVERY = 40;
+	private final Map<HabitatTile.TileType, Integer> types = new HashMap<>();
+	private final Map<HabitatTile.Habitat, Integer> habitats = new HashMap<>();
+	private final Map<WildlifeToken, Integer> tokens = new HashMap<>();
+	private int draws = 0;
+
+	@Setup
+	public void setUp() {
+		// a bot game's bag, which the bots draw from the most
+		Game.botMode = true;
+		Bag.createBag(2);
+		types.putAll(Bag.remainingTypes);
+		habitats.putAll(Bag.remainingHabitats);
+		tokens.putAll(Bag.remainingTokens);
+	}
+
+	@Benchmark
+	public HabitatTile drawTile() {
+		if (++draws % REFILL_EVERY == 0) {
+			Bag.remainingTypes.putAll(types);
+			Bag.remainingHabitats.putAll(habitats);
+			Bag.remainingTokens.putAll(tokens);
+		}
+		return Generation.generateHabitatTile();
+	}
+
+	@Benchmark
+	public WildlifeToken drawToken() {
+		return Generation.generateWildlifeToken(false);
+	}
+}
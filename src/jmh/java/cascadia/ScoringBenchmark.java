@@ -0,0 +1,73 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.Scorable;
+import cascadia.scoring.ScoringBear;
+import cascadia.scoring.ScoringElk;
+import cascadia.scoring.ScoringFox;
+import cascadia.scoring.ScoringHawk;
+import cascadia.scoring.ScoringSalmon;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of each wildlife scorecard option.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	public Fixtures.Size size;
+	@Param({"B1", "B2", "B3", "E1", "E2", "E3", "S1", "S2", "S3", "H1", "H2", "H3",
+			"F1", "F2", "F3"})
+	public String option;
+	private PlayerMap map;
+	private Scorable scorable;
+
+	@Setup
+	public void setUp() {
+		Fixtures.useBotScorecards();
+		map = Fixtures.board(size, 1);
+		scorable = switch (option.charAt(0)) {
+			case 'B' -> ScoringBear.Option.valueOf(option);
+			case 'E' -> ScoringElk.Option.valueOf(option);
+			case 'S' -> ScoringSalmon.Option.valueOf(option);
+			case 'H' -> ScoringHawk.Option.valueOf(option);
+			case 'F' -> ScoringFox.Option.valueOf(option);
+			default -> throw new IllegalArgumentException("Unknown scorecard option " + option);
+		};
+	}
+
+	@Benchmark
+	public int score() {
+		return scorable.score(map);
+	}
+}
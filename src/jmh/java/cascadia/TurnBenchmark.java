@@ -0,0 +1,95 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks a whole bot turn, from the deck being dealt to the move being
+ * chosen.  Pondering is off and the time budget is long, so the turn's
+ * searches run to the end and the time measured is the work they do.
+ * Each turn starts a new game for the plugins, so nothing is reused from
+ * the turn before.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TurnBenchmark {
+	private static final String BUDGET_MILLIS = "60000";
+	@Param({"SMALL", "MEDIUM", "LARGE"})
+	public Fixtures.Size size;
+	private List<Player> players;
+	private BotMain bot;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		Game.botMode = true;
+		Fixtures.useBotScorecards();
+		System.setProperty(BotMain.BUDGET_PROPERTY, BUDGET_MILLIS);
+		Bag.createBag(2);
+		players = List.of(new Player("BOT A"), new Player("BOT B"));
+		Fixtures.grow(players.get(0).getMap(), size, 1);
+		Fixtures.grow(players.get(1).getMap(), size, 2);
+		// the tiles placed after the starter tiles, and the deck
+		Bag.decrementTilesInUse(Bag.tilesInUse());
+		Bag.incrementTilesInUse(Math.min(Bag.getMaxTiles(),
+				2 * (size.tiles - 3) + Constants.MAX_DECK_SIZE));
+		CurrentDeck.getDeckTiles().clear();
+		CurrentDeck.getDeckTokens().clear();
+		Fixtures.deckTiles(3).forEach(CurrentDeck::addDeckTile);
+		Fixtures.deckTokens(3).forEach(CurrentDeck::addDeckToken);
+
+		bot = new BotMain(2, TurnSearch.DEFAULT_MEMORY_BUDGET);
+		bot.setPondering(false);
+		// warms up each plugin, which only needs done once
+		bot.getBotPlayers(players);
+	}
+
+	@Setup(Level.Invocation)
+	public void newGame() {
+		for (int seat = 0; seat < players.size(); seat++) {
+			bot.getPlugin(seat).newGame(players, seat);
+		}
+	}
+
+	@Benchmark
+	public int[] turn() {
+		bot.makeBestChoiceFromDeck(players.get(0));
+		return bot.getBestChoice();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		bot.endGame();
+	}
+}
@@ -0,0 +1,43 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for a tile or token drawn from the bag.
+ *
+ * @see FlightRecording
+ */
+@Name("cascadia.BagDraw")
+@Label("Bag Draw")
+@Category({"Cascadia", "Game"})
+@Description("A tile or token drawn from the bag")
+class BagDrawEvent extends jdk.jfr.Event {
+	@Label("Kind")
+	@Description("tile or token")
+	String kind;
+
+	@Label("Drawn")
+	String drawn;
+
+	@Label("Remaining")
+	@Description("How many tiles or tokens were left in the bag after the draw")
+	int remaining;
+}
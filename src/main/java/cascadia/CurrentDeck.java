@@ -20,6 +20,7 @@ import cascadia.scoring.ScoringHabitatCorridors;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Stores information related to the tiles and tokens in the communal deck.
@@ -27,6 +28,8 @@ import java.util.List;
 public class CurrentDeck {
 	private static List<HabitatTile> deckTiles = new ArrayList<>();
 	private static List<WildlifeToken> deckTokens = new ArrayList<>();
+	private static final LatencyHistogram PICK_LATENCY = Metrics.histogram("deck.pick");
+	private static final LongAdder NATURE_TOKEN_PICKS = Metrics.counter("deck.natureTokenPicks");
 
 	public static HabitatTile getTile(int index) {
 		return deckTiles.get(index);
@@ -73,6 +76,10 @@ public class CurrentDeck {
 							+ "%d and the amount of deck tokens is %d", tokenChoice,
 					deckTokens.size() - 1));
 		}
+		long start = System.nanoTime();
+		if (tileChoice != tokenChoice) {
+			NATURE_TOKEN_PICKS.increment();
+		}
 		int[] rowAndColumn;
 		if (!Game.botMode) {
 			rowAndColumn = Input.chooseTilePlacement(player);
@@ -80,8 +87,8 @@ public class CurrentDeck {
 		} else {
 			rowAndColumn = Game.getBot().bestTilePlacement(tileChoice);
 			System.out.println("Chosen row and column: " + Arrays.toString(rowAndColumn));
-//			int rotations = Game.getBot().getNumRotations(tileChoice);
-//			deckTiles.get(tileChoice).rotateTile(rotations);
+			int rotations = Game.getBot().getNumRotations(tileChoice);
+			deckTiles.get(tileChoice).rotateTile(rotations);
 		}
 		placeTileChoiceOnMap(player, tileChoice, rowAndColumn);
 		placeTokenChoiceOnMap(player, tokenChoice);
@@ -96,6 +103,7 @@ public class CurrentDeck {
 			Generation.generateTileTokenPairs(1);
 		}
 
+		PICK_LATENCY.recordSince(start);
 		Game.switchTurn(); //move to next player
 	}
 
@@ -194,7 +202,8 @@ public class CurrentDeck {
 	/**
 	 * Checks whether we are in the situation where there are 3 tokens of the
 	 * same type in the deck.
-	 * If so, asks whether the user wants to cull them.
+	 * If so, asks whether the user (or the bot whose turn is next) wants to
+	 * cull them.
 	 */
 	public static void cullCheckThreeTokens() {
 		// trying to run the cull functions with less than 4 tokens will throw an
@@ -208,7 +217,8 @@ public class CurrentDeck {
 		if (!Game.botMode && hasThreeDuplicates(deckTokens)
 				&& Input.chooseCullThreeOptions() == 1) {
 			cullThreeTokens();
-		} else if (Game.botMode && hasThreeDuplicates(deckTokens)) {
+		} else if (Game.botMode && hasThreeDuplicates(deckTokens)
+				&& Game.getBot().shouldCull()) {
 			cullThreeTokens();
 		}
 	}
@@ -0,0 +1,81 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+/**
+ * Records the game with Java Flight Recorder when the {@value #PROPERTY}
+ * system property names a file, e.g.
+ * {@code java -Dcascadia.jfr=game.jfr -cp ... cascadia.Main}.
+ * The recording uses the JDK's low overhead default settings, with every
+ * Cascadia event turned on (including scorer calls, which are off
+ * otherwise), and is written when the game ends or the JVM exits.
+ * Summarise it with {@link RecordingAnalyser}.
+ */
+public class FlightRecording {
+	public static final String PROPERTY = "cascadia.jfr";
+	private static final String[] EVENTS = {"cascadia.Turn", "cascadia.BagDraw",
+			"cascadia.BotSearch", "cascadia.Score"};
+	private static Recording recording;
+
+	/**
+	 * Starts recording if the property is set.
+	 */
+	public static void startIfAsked() {
+		String file = System.getProperty(PROPERTY);
+		if (file == null || recording != null) {
+			return;
+		}
+		try {
+			recording = start(Paths.get(file));
+		} catch (IOException | ParseException e) {
+			Display.outln("Couldn't start recording to " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Starts a recording to the given file, with every Cascadia event on.
+	 */
+	public static Recording start(Path file) throws IOException, ParseException {
+		Recording started = new Recording(Configuration.getConfiguration("default"));
+		for (String event : EVENTS) {
+			started.enable(event);
+		}
+		started.setName("cascadia");
+		started.setToDisk(true);
+		started.setDestination(file);
+		started.setDumpOnExit(true);
+		started.start();
+		return started;
+	}
+
+	/**
+	 * Stops the recording, if there is one, which writes it to its file.
+	 */
+	public static void stop() {
+		if (recording != null) {
+			recording.stop();
+			recording.close();
+			recording = null;
+		}
+	}
+}
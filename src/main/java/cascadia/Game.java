@@ -31,6 +31,7 @@ public class Game {
      an issue
     */
     private static boolean switchTurn = false;
+    private static final LatencyHistogram TURN_LATENCY = Metrics.histogram("game.turn");
 
     /*
      * Get player names
@@ -88,6 +89,9 @@ public class Game {
     public void startGame() {
     	CurrentDeck.setStartTileTokenSelection();
     	playerTurnCycle();
+    	if (botMode) {
+    		bot.endGame();
+    	}
     }
 
     /**
@@ -96,9 +100,13 @@ public class Game {
      * A sleep call is made after displaying the users map.
      */
     private void playerTurnCycle() {
+        int turn = 0;
     	while (Bag.tilesInUse() < Bag.getMaxTiles()) {
     		for (Player player : playerList) {
                 switchTurn = false;
+                TurnEvent event = new TurnEvent();
+                event.begin();
+                long start = System.nanoTime();
         		Display.outln("Current player is: " + player.getPlayerName());
                 Display.displayPlayerTileMap(player);
                 /*
@@ -110,6 +118,14 @@ public class Game {
                 do {
                     player.setCommand();
                 } while (!switchTurn);
+                TURN_LATENCY.recordSince(start);
+                if (event.shouldCommit()) {
+                    event.player = player.getPlayerName();
+                    event.turn = turn;
+                    event.bot = botMode;
+                    event.commit();
+                }
+                turn++;
                 // automatically moves to next player if command type is next
         	}
     	}
@@ -18,8 +18,12 @@ package cascadia;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Generation {
+    private static final LongAdder TILE_DRAWS = Metrics.counter("bag.tileDraws");
+    private static final LongAdder TOKEN_DRAWS = Metrics.counter("bag.tokenDraws");
+
     /**
      * Generates a starter habitat.
      * A starter habitat is 3 tiles, one of which being a keystone tile.
@@ -80,6 +84,8 @@ public class Generation {
      * as more tokens with that animal are placed.
      */
     public static WildlifeToken generateWildlifeToken(boolean removeFromRemaining) {
+        BagDrawEvent event = new BagDrawEvent();
+        event.begin();
         int tokensLeft = getNumTokensLeft();
 
         int index = new Random().nextInt(tokensLeft);
@@ -94,6 +100,16 @@ public class Generation {
                 }
             }
         }
+        // only tokens taken out of the bag are draws, not token options on tiles
+        if (removeFromRemaining) {
+            TOKEN_DRAWS.increment();
+        }
+        if (removeFromRemaining && event.shouldCommit()) {
+            event.kind = "token";
+            event.drawn = String.valueOf(animalType);
+            event.remaining = tokensLeft - 1;
+            event.commit();
+        }
         return animalType;
     }
 
@@ -135,6 +151,22 @@ public class Generation {
      * keystone tiles already generated.
      */
     public static HabitatTile generateHabitatTile() {
+        BagDrawEvent event = new BagDrawEvent();
+        event.begin();
+        HabitatTile tile = drawHabitatTile();
+        TILE_DRAWS.increment();
+        if (event.shouldCommit()) {
+            event.kind = "tile";
+            event.drawn = tile.isKeystone() ? tile.getHabitat1() + " keystone"
+                    : tile.getHabitat1() + "/" + tile.getHabitat2();
+            event.remaining = Bag.remainingTypes.values().stream().mapToInt(Integer::intValue)
+                    .sum();
+            event.commit();
+        }
+        return tile;
+    }
+
+    private static HabitatTile drawHabitatTile() {
         int tilesLeft = 0;
 
         // get the total amount of tiles left
@@ -17,6 +17,7 @@ package cascadia;
 
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Deals with habitat tiles.
@@ -83,12 +84,14 @@ public class HabitatTile {
 	private WildlifeToken placedToken = null;
 	private boolean isTokenPlaced = false;
 	// counts number of tiles instantiated, used to assign a tileID number
-    private static int tileCounter = 0;
+    private static final AtomicInteger tileCounter = new AtomicInteger();
     private int tileID;
     private final Habitat habitat1;
     private final Habitat habitat2;
     private final int[] mapPosition = new int[2]; //set to -1 initially to show it's not been placed
 	private List<Edge> edges;
+	// how many times the tile has been rotated from its starting orientation, 0-5
+	private int rotation = 0;
 
 
 	/**
@@ -109,6 +112,46 @@ public class HabitatTile {
 		edges = Edge.makeEdges(tileID, habitat1, habitat2); //used for tile rotation
 	}
 
+	// used by duplicate(), copies the tile without taking a new ID or generating token options
+	private HabitatTile(HabitatTile original) {
+		tileID = original.tileID;
+		habitat1 = original.habitat1;
+		habitat2 = original.habitat2;
+		tileType = original.tileType;
+		tokenOptions = original.tokenOptions;
+		isTokenPlaced = original.isTokenPlaced;
+		placedToken = original.placedToken;
+		setMapPosition(original.mapPosition[0], original.mapPosition[1]);
+		edges = Edge.makeEdges(tileID, habitat1, habitat2);
+		rotation = original.rotation;
+		// keeps the rotation of the tile, so the copy hashes the same as the original
+		for (int i = 0; i < NUMBER_OF_EDGES; i++) {
+			edges.get(i).setHabitatType(original.edges.get(i).getHabitatType());
+		}
+	}
+
+	// used by imagine(), doesn't take a tile from the bag
+	private HabitatTile(Habitat habitat1, Habitat habitat2, WildlifeToken[] tokenOptions,
+						int tileID) {
+		this.tileID = tileID;
+		this.habitat1 = habitat1;
+		this.habitat2 = habitat2;
+		this.setKeystoneType();
+		this.tokenOptions = tokenOptions;
+		this.setMapPosition(-1, -1);
+		edges = Edge.makeEdges(tileID, habitat1, habitat2);
+	}
+
+	/**
+	 * Creates a tile which isn't taken from the bag, so the bots can try out
+	 * tiles that might be drawn, or play games of their own.
+	 * It still gets a new ID, so it can be placed on a map with other tiles.
+	 */
+	public static HabitatTile imagine(Habitat habitat1, Habitat habitat2,
+									  WildlifeToken[] tokenOptions) {
+		return new HabitatTile(habitat1, habitat2, tokenOptions, tileCounter.getAndIncrement());
+	}
+
 	/**
 	 * Allows the manual setting of the token, which is usually
 	 * generated randomly, for testing.
@@ -120,7 +163,7 @@ public class HabitatTile {
 	}
 	
 	public static int getTileCounter() {
-		return tileCounter;
+		return tileCounter.get();
 	}
 
 	public Habitat getHabitat1() {
@@ -132,8 +175,7 @@ public class HabitatTile {
 	}
 
 	public void setTileID() {
-		this.tileID = tileCounter;
-		tileCounter++;
+		this.tileID = tileCounter.getAndIncrement();
 	}
 
 	public int getTileID() {
@@ -235,19 +277,7 @@ public class HabitatTile {
 	 * returned tile will not affect this one.
 	 */
 	public HabitatTile duplicate() {
-		HabitatTile tile = new HabitatTile(habitat1, habitat2, 0);
-
-		tile.tileID = tileID;
-//		if (!tile.isFakeTile()) {
-			tile.tokenOptions = tokenOptions;
-			tile.isTokenPlaced = isTokenPlaced;
-			tile.placedToken = placedToken;
-//		}
-		tile.tileType = tileType;
-		tile.mapPosition[0] = this.mapPosition[0];
-		tile.mapPosition[1] = this.mapPosition[1];
-//		tile.edges = Edge.makeEdges(tileID, habitat1, habitat2); //used for tile rotation
-		return tile;
+		return new HabitatTile(this);
 	}
 
 	@Override
@@ -305,6 +335,16 @@ public class HabitatTile {
 		for (int j = 0; j < NUMBER_OF_EDGES; j++) {
 			edges.get(j).setHabitatType(temp[j]);
 		}
+		rotation = (rotation + input) % NUMBER_OF_EDGES;
+	}
+
+	/**
+	 * Returns how many times the tile has been rotated from its starting
+	 * orientation (in which edges 0-2 are habitat 1), between 0 and 5.
+	 * Always 0 for keystone tiles, as they aren't rotated.
+	 */
+	public int getRotation() {
+		return rotation;
 	}
 
 	/**
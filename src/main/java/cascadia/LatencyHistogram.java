@@ -0,0 +1,120 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of latencies in nanoseconds, in the style of HdrHistogram.
+ * Values up to 63 get a bucket each, and each power of two above that is
+ * split into 32 equal buckets, so a value is known to within about 3% while
+ * the whole range of a long fits in under 2000 counts.  The counts are a
+ * primitive array updated without locking, so any thread can record.
+ */
+public class LatencyHistogram {
+	private static final int SUB_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+	// values below this are counted exactly
+	private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+	private static final int NUM_BUCKETS = (64 - SUB_BITS) * SUB_BUCKETS;
+	private final AtomicLongArray counts = new AtomicLongArray(NUM_BUCKETS);
+
+	/**
+	 * Records a latency, negative values are counted as 0.
+	 */
+	public void record(long nanos) {
+		counts.incrementAndGet(index(Math.max(0, nanos)));
+	}
+
+	/**
+	 * Records the time since the given {@link System#nanoTime()}.
+	 */
+	public void recordSince(long startNanos) {
+		record(System.nanoTime() - startNanos);
+	}
+
+	/**
+	 * Returns a copy of the bucket counts, which {@link #percentile} and
+	 * {@link #count} work on.  Subtract an older snapshot to get the counts
+	 * of the values recorded in between.
+	 */
+	public long[] snapshot() {
+		long[] copy = new long[NUM_BUCKETS];
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			copy[i] = counts.get(i);
+		}
+		return copy;
+	}
+
+	static int index(long value) {
+		if (value < LINEAR_LIMIT) {
+			return (int) value;
+		}
+		int magnitude = 63 - Long.numberOfLeadingZeros(value);
+		return (magnitude - SUB_BITS + 1) * SUB_BUCKETS
+				+ (int) (value >>> (magnitude - SUB_BITS)) - SUB_BUCKETS;
+	}
+
+	/**
+	 * Returns the smallest value counted in the given bucket.
+	 */
+	static long lowestValue(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		int magnitude = index / SUB_BUCKETS + SUB_BITS - 1;
+		return (long) (index % SUB_BUCKETS + SUB_BUCKETS) << (magnitude - SUB_BITS);
+	}
+
+	/**
+	 * Returns the largest value counted in the given bucket.
+	 */
+	static long highestValue(int index) {
+		if (index < LINEAR_LIMIT) {
+			return index;
+		}
+		return index == NUM_BUCKETS - 1 ? Long.MAX_VALUE : lowestValue(index + 1) - 1;
+	}
+
+	public static long count(long[] snapshot) {
+		long total = 0;
+		for (long count : snapshot) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Returns the value at the given percentile (0-100) of a snapshot, to
+	 * within the precision of its bucket, or 0 if the snapshot is empty.
+	 */
+	public static long percentile(long[] snapshot, double percentile) {
+		long total = count(snapshot);
+		if (total == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+		long seen = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			seen += snapshot[i];
+			if (seen >= rank) {
+				return highestValue(i);
+			}
+		}
+		return highestValue(snapshot.length - 1);
+	}
+}
@@ -19,6 +19,8 @@ import cascadia.scoring.Scoring;
 
 public class Main {
     public static void main(String[] args) {
+        FlightRecording.startIfAsked();
+        Metrics.startExportIfAsked();
         Display.welcome();  // prints cascadia welcome message
 
         /*
@@ -33,5 +35,7 @@ public class Main {
 
         Scoring.startScoring();
         Display.endScreen();
+        Metrics.stopExport();
+        FlightRecording.stop();
     }
 }
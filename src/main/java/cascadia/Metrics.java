@@ -0,0 +1,110 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * A registry of named counters, gauges and latency histograms.
+ * Counters are {@link LongAdder}s, so the bots' search threads can count
+ * without fighting over one value.  Hot code should look its metrics up
+ * once and keep them in a static field.
+ * When the {@value #PROPERTY} system property names a file the metrics are
+ * written to it periodically by a {@link MetricsExporter}, e.g.
+ * {@code java -Dcascadia.metrics=metrics.jsonl -cp ... cascadia.Main}.
+ */
+public class Metrics {
+	public static final String PROPERTY = "cascadia.metrics";
+	public static final String INTERVAL_PROPERTY = "cascadia.metricsIntervalMillis";
+	private static final long DEFAULT_INTERVAL_MILLIS = 10_000;
+	private static final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+	private static final Map<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+	private static final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+	private static MetricsExporter exporter;
+
+	static {
+		gauge("heap.usedBytes", () -> Runtime.getRuntime().totalMemory()
+				- Runtime.getRuntime().freeMemory());
+		gauge("bag.tilesInUse", Bag::tilesInUse);
+	}
+
+	/**
+	 * Returns the counter with the given name, creating it if needed.
+	 */
+	public static LongAdder counter(String name) {
+		return counters.computeIfAbsent(name, k -> new LongAdder());
+	}
+
+	/**
+	 * Returns the histogram with the given name, creating it if needed.
+	 */
+	public static LatencyHistogram histogram(String name) {
+		return histograms.computeIfAbsent(name, k -> new LatencyHistogram());
+	}
+
+	/**
+	 * Registers a gauge, which is read each time the metrics are exported.
+	 */
+	public static void gauge(String name, LongSupplier value) {
+		gauges.put(name, value);
+	}
+
+	static Map<String, LongAdder> getCounters() {
+		return counters;
+	}
+
+	static Map<String, LongSupplier> getGauges() {
+		return gauges;
+	}
+
+	static Map<String, LatencyHistogram> getHistograms() {
+		return histograms;
+	}
+
+	/**
+	 * Starts exporting the metrics if the property is set.
+	 */
+	public static synchronized void startExportIfAsked() {
+		String file = System.getProperty(PROPERTY);
+		if (file == null || exporter != null) {
+			return;
+		}
+		try {
+			exporter = new MetricsExporter(Paths.get(file));
+			exporter.start(Long.getLong(INTERVAL_PROPERTY, DEFAULT_INTERVAL_MILLIS));
+			// quitting the game exits straight away, so the last export happens then
+			Runtime.getRuntime().addShutdownHook(new Thread(Metrics::stopExport));
+		} catch (IOException e) {
+			Display.outln("Couldn't export metrics to " + file + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Stops exporting, if we are, after a final export.
+	 */
+	public static synchronized void stopExport() {
+		if (exporter != null) {
+			exporter.close();
+			exporter = null;
+		}
+	}
+}
@@ -0,0 +1,168 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Periodically writes the {@link Metrics} to a file, one export at a time.
+ * A file ending in .csv gets rows of {@code timeMillis,metric,value},
+ * anything else gets a JSON object per line.
+ * Counters are written as their total and their rate over the interval,
+ * gauges as their value, and histograms as the count, rate, percentiles and
+ * maximum of the values recorded during the interval, in milliseconds.
+ */
+public class MetricsExporter {
+	private static final double[] PERCENTILES = {50, 90, 99};
+	private final ScheduledExecutorService executor =
+			Executors.newSingleThreadScheduledExecutor(runnable -> {
+				Thread thread = new Thread(runnable, "metrics-exporter");
+				thread.setDaemon(true);
+				return thread;
+			});
+	private final BufferedWriter writer;
+	private final boolean csv;
+	private final Map<String, long[]> lastSnapshots = new HashMap<>();
+	private final Map<String, Long> lastCounts = new HashMap<>();
+	private long lastExportNanos = System.nanoTime();
+
+	/**
+	 * Opens the file, replacing anything already in it.
+	 */
+	public MetricsExporter(Path file) throws IOException {
+		writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+		csv = file.toString().endsWith(".csv");
+		if (csv) {
+			writer.write("timeMillis,metric,value");
+			writer.newLine();
+			writer.flush();
+		}
+	}
+
+	/**
+	 * Exports every given number of milliseconds on a daemon thread.
+	 */
+	public void start(long intervalMillis) {
+		executor.scheduleAtFixedRate(() -> {
+			try {
+				export();
+			} catch (IOException e) {
+				// there's nothing more we can write, so we stop trying
+				System.err.println("Couldn't export metrics: " + e.getMessage());
+				executor.shutdown();
+			}
+		}, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * Writes the metrics as they are now, and since the last export.
+	 */
+	public synchronized void export() throws IOException {
+		long now = System.nanoTime();
+		double seconds = Math.max(1e-9, (now - lastExportNanos) / 1e9);
+		lastExportNanos = now;
+		long timeMillis = System.currentTimeMillis();
+		Map<String, Number> values = new LinkedHashMap<>();
+
+		for (Map.Entry<String, LongAdder> entry : new TreeMap<>(Metrics.getCounters()).entrySet()) {
+			long total = entry.getValue().sum();
+			long last = lastCounts.getOrDefault(entry.getKey(), 0L);
+			lastCounts.put(entry.getKey(), total);
+			values.put(entry.getKey() + ".total", total);
+			values.put(entry.getKey() + ".rate", (total - last) / seconds);
+		}
+		for (Map.Entry<String, LongSupplier> entry : new TreeMap<>(Metrics.getGauges()).entrySet()) {
+			values.put(entry.getKey(), entry.getValue().getAsLong());
+		}
+		for (Map.Entry<String, LatencyHistogram> entry
+				: new TreeMap<>(Metrics.getHistograms()).entrySet()) {
+			long[] snapshot = entry.getValue().snapshot();
+			long[] last = lastSnapshots.put(entry.getKey(), snapshot.clone());
+			if (last != null) {
+				for (int i = 0; i < snapshot.length; i++) {
+					snapshot[i] -= last[i];
+				}
+			}
+			long count = LatencyHistogram.count(snapshot);
+			values.put(entry.getKey() + ".count", count);
+			values.put(entry.getKey() + ".rate", count / seconds);
+			for (double percentile : PERCENTILES) {
+				values.put(entry.getKey() + ".p" + (int) percentile + "Millis",
+						LatencyHistogram.percentile(snapshot, percentile) / 1e6);
+			}
+			values.put(entry.getKey() + ".maxMillis",
+					LatencyHistogram.percentile(snapshot, 100) / 1e6);
+		}
+
+		if (csv) {
+			for (Map.Entry<String, Number> entry : values.entrySet()) {
+				writer.write(timeMillis + "," + entry.getKey() + "," + format(entry.getValue()));
+				writer.newLine();
+			}
+		} else {
+			StringBuilder line = new StringBuilder("{\"timeMillis\":").append(timeMillis);
+			for (Map.Entry<String, Number> entry : values.entrySet()) {
+				line.append(",\"").append(entry.getKey()).append("\":")
+						.append(format(entry.getValue()));
+			}
+			writer.write(line.append('}').toString());
+			writer.newLine();
+		}
+		writer.flush();
+	}
+
+	private static String format(Number value) {
+		if (value instanceof Double) {
+			return String.format(Locale.ROOT, "%.3f", value.doubleValue());
+		}
+		return value.toString();
+	}
+
+	/**
+	 * Stops the periodic exports, then does a final one and closes the file.
+	 */
+	public void close() {
+		executor.shutdown();
+		try {
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		synchronized (this) {
+			try {
+				export();
+				writer.close();
+			} catch (IOException e) {
+				System.err.println("Couldn't export metrics: " + e.getMessage());
+			}
+		}
+	}
+}
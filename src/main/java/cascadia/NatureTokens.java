@@ -38,10 +38,14 @@ public class NatureTokens {
     }
 
     private static void spendToken(Player player) {
-        // in the bot mode we know the player will only want to select
-        // any tile token combination
+        // in the bot mode the bot has already decided whether to wipe tokens or to
+        // select any tile token combination
         if (Game.botMode) {
-            pickAnyTwo(player);
+            if (Game.getBot().shouldWipeTokens()) {
+                wipeTokens(player);
+            } else {
+                pickAnyTwo(player);
+            }
             return;
         }
         int optionChoice = Input.boundedInt(1, 2,
@@ -85,7 +89,8 @@ public class NatureTokens {
         Display.displayDeck();
 
         // removes the selected tokens from the current deck
-        removeFromCurrentDeck(selectTokensToWipe());
+        removeFromCurrentDeck(Game.botMode ? Game.getBot().getTokensToWipe()
+                : selectTokensToWipe());
 
         player.subPlayerNatureToken();
         int tokens = player.getPlayerNatureTokens();
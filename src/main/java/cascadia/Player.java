@@ -45,12 +45,20 @@ public class Player {
 	private int totalPlayerScore;
 
 	public Player(String playerName) {
+		this(playerName, new PlayerMap());
+	}
+
+	/**
+	 * Creates a player with a map that is already made, e.g. one loaded from
+	 * a file, so no starter tiles are taken from the bag.
+	 */
+	public Player(String playerName, PlayerMap map) {
 		this.playerName = playerName;
 		for (int i = 0; i < 5; i++) {
 			ArrayList<HabitatTile> newCorridor = new ArrayList<>();
 			longestCorridors.add(newCorridor);
 		}
-		map = new PlayerMap();
+		this.map = map;
 		for (HabitatTile t : map.getTilesInMap()) { //score initial corridors when starter tiles added
 			ScoringHabitatCorridors.scorePlayerHabitatCorridors(this, t);
 		}
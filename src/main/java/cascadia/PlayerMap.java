@@ -23,17 +23,51 @@ import java.util.stream.Collectors;
 
 
 public class PlayerMap {
-	private static final int BOARD_HEIGHT = 20;
-	private static final int BOARD_WIDTH = 20;
+	public static final int BOARD_HEIGHT = 20;
+	public static final int BOARD_WIDTH = 20;
 	private final List<HabitatTile> tilesInMap;
 	//position of tiles on map
 	private HabitatTile[][] tileBoardPosition = new HabitatTile[BOARD_HEIGHT][BOARD_WIDTH];
+	// updated every time a tile or token is placed, see Zobrist
+	private long zobristHash = 0;
 
 	public PlayerMap() { //constructor
 		tilesInMap = new ArrayList<>();
 		makeStarterTiles();
 	}
 
+	// used by copy(), so no starter tiles are taken from the bag
+	private PlayerMap(HabitatTile[][] board, long zobristHash) {
+		tilesInMap = new ArrayList<>();
+		tileBoardPosition = board;
+		for (HabitatTile[] row : board) {
+			for (HabitatTile tile : row) {
+				if (tile != null && !tile.isFakeTile()) {
+					tilesInMap.add(tile);
+				}
+			}
+		}
+		this.zobristHash = zobristHash;
+	}
+
+	/**
+	 * Returns a map with no tiles on it.
+	 * Unlike creating a new map, no starter tiles are taken from the bag, so
+	 * the bots can use it to play games of their own on any thread.
+	 */
+	public static PlayerMap empty() {
+		return new PlayerMap(new HabitatTile[BOARD_HEIGHT][BOARD_WIDTH], 0);
+	}
+
+	/**
+	 * Returns a deep copy of the map.
+	 * Unlike creating a new map, this doesn't change the bag or print anything,
+	 * so the bots can use it to try out placements on any thread.
+	 */
+	public PlayerMap copy() {
+		return new PlayerMap(deepCopy(tileBoardPosition), zobristHash);
+	}
+
 	public void makeStarterTiles() {
 		HabitatTile[] starter = Generation.generateStarterHabitat();
 		addTileToMap(starter[0], 8, 9); //places tiles in the middle of the map
@@ -76,6 +110,7 @@ public class PlayerMap {
 	 */
 	public void setTileBoard(HabitatTile[][] board) {
 		tileBoardPosition = board;
+		zobristHash = Zobrist.hashBoard(board);
 //		fillTileMap(board);
 	}
 
@@ -92,6 +127,18 @@ public class PlayerMap {
 
 	public void clearTileBoard() {
 		tileBoardPosition = new HabitatTile[BOARD_HEIGHT][BOARD_WIDTH]; //position of tiles on map
+		zobristHash = 0;
+	}
+
+	/**
+	 * Returns the Zobrist hash of the map.
+	 * Two maps with the same tiles (with the same rotations) and tokens in
+	 * the same positions will have the same hash.
+	 *
+	 * @see Zobrist
+	 */
+	public long getZobristHash() {
+		return zobristHash;
 	}
 
 	/**
@@ -119,6 +166,7 @@ public class PlayerMap {
 		tile.setMapPosition(row, col);
 		if (!tile.isFakeTile()) {
 			tilesInMap.add(tile);
+			zobristHash ^= Zobrist.tileKey(tile, row, col);
 		}
 	}
 
@@ -170,6 +218,7 @@ public class PlayerMap {
 //					tile.setPlacedToken(token);
 //					tile.setTokenPlaced();
 					tile.placeToken(token);
+					p.getMap().hashToken(tile, token);
 					Display.outln("You have successfully placed your token.");
 					Display.displayPlayerTileMap(p);
 					checkIfKeystoneTokenMatch(token, tile, p); //check if player gets a nature token
@@ -201,6 +250,7 @@ public class PlayerMap {
 					}
 					if (placed) {
 						tile.placeToken(token);
+						p.getMap().hashToken(tile, token);
 						break;
 					}
 				}
@@ -212,6 +262,21 @@ public class PlayerMap {
 	}
 
 
+	/**
+	 * Places a token on the tile at the given position, without checking the
+	 * tile's token options or printing anything.
+	 * Used by the bots on copies of maps to try out placements.
+	 */
+	void placeTokenAt(int row, int col, WildlifeToken token) {
+		HabitatTile tile = tileBoardPosition[row][col];
+		tile.placeToken(token);
+		hashToken(tile, token);
+	}
+
+	private void hashToken(HabitatTile tile, WildlifeToken token) {
+		zobristHash ^= Zobrist.tokenKey(tile.getMapPosition()[0], tile.getMapPosition()[1], token);
+	}
+
 	/**
 	 * Check whether the chosen token can be placed on a certain tile.
 	 *
@@ -0,0 +1,111 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Summarises the Cascadia events in a Java Flight Recorder file as a table
+ * of timings for each subsystem: turns by player, bot searches by plugin,
+ * scorer calls by scorecard and bag draws by kind.
+ *
+ * <p>Run with {@code <recording.jfr>}.
+ *
+ * @see FlightRecording
+ */
+public class RecordingAnalyser {
+	// the field each event is grouped by
+	private static final Map<String, String> GROUP_BY = Map.of("cascadia.Turn", "player",
+			"cascadia.BotSearch", "plugin", "cascadia.Score", "scorecard",
+			"cascadia.BagDraw", "kind");
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 1) {
+			System.out.println("Usage: RecordingAnalyser <recording.jfr>");
+			return;
+		}
+		System.out.print(summarise(Paths.get(args[0])));
+	}
+
+	/**
+	 * Returns the table of timings, one row for each event and group.
+	 */
+	public static String summarise(Path file) throws IOException {
+		// event name then group, to the durations of each event in nanoseconds
+		Map<String, Map<String, List<Long>>> durations = new TreeMap<>();
+		long nodes = 0;
+		int searches = 0;
+		int deadlinesHit = 0;
+		for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+			String name = event.getEventType().getName();
+			String field = GROUP_BY.get(name);
+			if (field == null) {
+				continue;
+			}
+			Object group = event.getValue(field);
+			durations.computeIfAbsent(name, n -> new TreeMap<>())
+					.computeIfAbsent(String.valueOf(group), g -> new ArrayList<>())
+					.add(event.getDuration().toNanos());
+			if (name.equals("cascadia.BotSearch")) {
+				searches++;
+				nodes += event.getLong("nodes");
+				if (event.getBoolean("deadlineHit")) {
+					deadlinesHit++;
+				}
+			}
+		}
+
+		StringBuilder table = new StringBuilder();
+		table.append(String.format("%-20s %-20s %9s %11s %9s %9s %9s %9s%n", "Event", "Group",
+				"Count", "Total ms", "Mean ms", "p50 ms", "p99 ms", "Max ms"));
+		for (Map.Entry<String, Map<String, List<Long>>> event : durations.entrySet()) {
+			for (Map.Entry<String, List<Long>> group : event.getValue().entrySet()) {
+				table.append(row(event.getKey(), group.getKey(), group.getValue()));
+			}
+		}
+		if (searches > 0) {
+			table.append(String.format("%nBot searches: %d nodes, %.0f a search, %d of %d hit "
+					+ "the deadline%n", nodes, (double) nodes / searches, deadlinesHit, searches));
+		}
+		return table.toString();
+	}
+
+	private static String row(String event, String group, List<Long> nanos) {
+		List<Long> sorted = new ArrayList<>(nanos);
+		sorted.sort(null);
+		long total = 0;
+		for (long value : sorted) {
+			total += value;
+		}
+		return String.format("%-20s %-20s %9d %11.2f %9.3f %9.3f %9.3f %9.3f%n", event, group,
+				sorted.size(), total / 1e6, total / 1e6 / sorted.size(),
+				percentile(sorted, 0.5) / 1e6, percentile(sorted, 0.99) / 1e6,
+				sorted.get(sorted.size() - 1) / 1e6);
+	}
+
+	private static long percentile(List<Long> sorted, double percentile) {
+		int index = (int) Math.ceil(percentile * sorted.size()) - 1;
+		return sorted.get(Math.max(0, index));
+	}
+}
@@ -0,0 +1,43 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for a player's turn, from when it starts to
+ * when play passes to the next player.
+ *
+ * @see FlightRecording
+ */
+@Name("cascadia.Turn")
+@Label("Turn")
+@Category({"Cascadia", "Game"})
+@Description("A player's turn")
+class TurnEvent extends jdk.jfr.Event {
+	@Label("Player")
+	String player;
+
+	@Label("Turn")
+	@Description("How many turns had been played before this one, by every player")
+	int turn;
+
+	@Label("Bot")
+	boolean bot;
+}
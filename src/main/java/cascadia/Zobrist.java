@@ -0,0 +1,207 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoreCards;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Zobrist hashing of maps, decks and players.
+ * Every (cell, edge, habitat), (cell, token option) and (cell, placed token)
+ * combination is given a random 64-bit key, and a map's hash is the XOR of
+ * the keys of everything on it.  As XOR is its own inverse, the hash can be
+ * updated incrementally when a tile or token is placed, rather than being
+ * recalculated from the whole board.
+ * The edges of a tile are hashed individually, so the rotation of a tile is
+ * part of its hash.
+ *
+ * @see PlayerMap#getZobristHash()
+ */
+public class Zobrist {
+	private static final int NUM_CELLS = PlayerMap.BOARD_HEIGHT * PlayerMap.BOARD_WIDTH;
+	// fixed seed, so hashes are the same across runs
+	private static final long SEED = 0x2F0B5A6C1D3E4F70L;
+	private static final long[] EDGE_KEYS =
+			new long[NUM_CELLS * Constants.NUM_EDGES * Constants.NUM_HABITAT_TYPES];
+	private static final long[] OPTION_KEYS = new long[NUM_CELLS * Constants.NUM_TOKEN_TYPES];
+	private static final long[] TOKEN_KEYS = new long[NUM_CELLS * Constants.NUM_TOKEN_TYPES];
+
+	static {
+		SplittableRandom rand = new SplittableRandom(SEED);
+		fill(EDGE_KEYS, rand);
+		fill(OPTION_KEYS, rand);
+		fill(TOKEN_KEYS, rand);
+	}
+
+	private static void fill(long[] keys, SplittableRandom rand) {
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = rand.nextLong();
+		}
+	}
+
+	private static int cell(int row, int col) {
+		return row * PlayerMap.BOARD_WIDTH + col;
+	}
+
+	/**
+	 * Returns the key of a tile placed at the given position, including its
+	 * edges (and so its rotation), its token options and its placed token
+	 * if it has one.
+	 */
+	public static long tileKey(HabitatTile tile, int row, int col) {
+		int cell = cell(row, col);
+		long key = 0;
+		for (int i = 0; i < Constants.NUM_EDGES; i++) {
+			int habitat = tile.getEdge(i).getHabitatType().ordinal();
+			key ^= EDGE_KEYS[(cell * Constants.NUM_EDGES + i) * Constants.NUM_HABITAT_TYPES
+					+ habitat];
+		}
+		for (WildlifeToken option : tile.getTokenOptions()) {
+			if (option != null) {
+				key ^= OPTION_KEYS[cell * Constants.NUM_TOKEN_TYPES + option.ordinal()];
+			}
+		}
+		if (tile.getIsTokenPlaced()) {
+			key ^= tokenKey(row, col, tile.getPlacedToken());
+		}
+		return key;
+	}
+
+	/**
+	 * Returns the key of a token placed on the tile at the given position.
+	 * XOR this with a map's hash to get the hash of the map with (or without)
+	 * the token placed.
+	 */
+	public static long tokenKey(int row, int col, WildlifeToken token) {
+		return TOKEN_KEYS[cell(row, col) * Constants.NUM_TOKEN_TYPES + token.ordinal()];
+	}
+
+	/**
+	 * Calculates the hash of a full board from scratch.
+	 * Fake tiles are ignored, as they are only used for displaying the map.
+	 */
+	public static long hashBoard(HabitatTile[][] board) {
+		long hash = 0;
+		for (int i = 0; i < board.length; i++) {
+			for (int j = 0; j < board[i].length; j++) {
+				HabitatTile tile = board[i][j];
+				if (tile != null && !tile.isFakeTile()) {
+					hash ^= tileKey(tile, i, j);
+				}
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Returns a key for a tile token pair, based only on their contents (the
+	 * habitats and token options of the tile, and the token), so identical
+	 * pairs have the same key wherever they are in the deck.
+	 */
+	public static long pairKey(HabitatTile tile, WildlifeToken token) {
+		return mix((contentCode(tile) << 3) | (token == null ? 7 : token.ordinal()));
+	}
+
+	/**
+	 * Returns a key for a deck tile based only on its contents.
+	 */
+	public static long tileContentKey(HabitatTile tile) {
+		return mix(contentCode(tile) | (1L << 40));
+	}
+
+	/**
+	 * Returns a key for a wildlife token type, used to distinguish the scores
+	 * of different token types on the same board.
+	 */
+	public static long tokenTypeKey(WildlifeToken token) {
+		return mix(token.ordinal() | (1L << 41));
+	}
+
+	/**
+	 * Returns a key for a habitat type.
+	 */
+	public static long habitatKey(HabitatTile.Habitat habitat) {
+		return mix(habitat.ordinal() | (1L << 43));
+	}
+
+	/**
+	 * Returns a key for scoring a token type with the scorecard currently in
+	 * use for it, so scores stored from a game with different scorecards are
+	 * not mixed up.
+	 */
+	public static long scoringKey(WildlifeToken token) {
+		String card = ScoreCards.getScorecards()[token.ordinal()];
+		return mix(tokenTypeKey(token) ^ (card == null ? 0 : card.hashCode()));
+	}
+
+	private static long contentCode(HabitatTile tile) {
+		int options = 0;
+		for (WildlifeToken option : tile.getTokenOptions()) {
+			if (option != null) {
+				options |= 1 << option.ordinal();
+			}
+		}
+		return ((long) tile.getHabitat1().ordinal() * Constants.NUM_HABITAT_TYPES
+				+ tile.getHabitat2().ordinal()) << 5 | options;
+	}
+
+	/**
+	 * Hashes the contents of a deck.
+	 * Pair keys are added rather than XORed, so the hash does not depend on the
+	 * order of the pairs, and two identical pairs do not cancel each other out.
+	 */
+	public static long hashDeck(List<HabitatTile> tiles, List<WildlifeToken> tokens) {
+		long hash = 0;
+		for (int i = 0; i < Math.max(tiles.size(), tokens.size()); i++) {
+			HabitatTile tile = i < tiles.size() ? tiles.get(i) : null;
+			WildlifeToken token = i < tokens.size() ? tokens.get(i) : null;
+			if (tile != null) {
+				hash += pairKey(tile, token);
+			} else if (token != null) {
+				hash += tokenTypeKey(token);
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * Hashes the contents of the current deck.
+	 */
+	public static long hashDeck() {
+		return hashDeck(CurrentDeck.getDeckTiles(), CurrentDeck.getDeckTokens());
+	}
+
+	/**
+	 * Returns the hash of a player's position, their map along with how many
+	 * nature tokens they have.
+	 */
+	public static long hashPlayer(Player player) {
+		return player.getMap().getZobristHash()
+				^ mix(player.getPlayerNatureTokens() | (1L << 42));
+	}
+
+	/**
+	 * SplitMix64 finaliser, spreads the bits of a small value over the whole
+	 * 64-bit key.
+	 */
+	public static long mix(long z) {
+		z = (z ^ SEED) + 0x9E3779B97F4A7C15L;
+		z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+		z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+		return z ^ (z >>> 31);
+	}
+}
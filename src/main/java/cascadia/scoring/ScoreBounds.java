@@ -0,0 +1,182 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia.scoring;
+
+import cascadia.HabitatTile;
+import cascadia.PlayerMap;
+import cascadia.WildlifeToken;
+
+/**
+ * Upper bounds on the wildlife scores a map can still reach.
+ * The bounds only need the number of tokens of each type on the map, so
+ * they are found in one pass over the tiles rather than a full scorer call,
+ * and they never underestimate, so a search can safely cut off any move
+ * whose bound is no better than a move it has already found.
+ *
+ * <p>Each card has a most it can score for a number of tokens (e.g. with B1
+ * every two bears make at most one pair), and for most cards a most that one
+ * placement can add (e.g. with B1 a bear makes at most one new pair).  A
+ * player places at most one token a turn.
+ */
+public class ScoreBounds {
+	/** Returned by {@link #maxStep(String)} when a card has no such bound. */
+	public static final int NO_BOUND = Integer.MAX_VALUE;
+	private static final int[] BEAR_PAIR_SCORES = {0, 4, 11, 19, 27};
+	private static final int[] HAWK_SINGLE_SCORES = {0, 2, 5, 8, 11, 14, 18, 22, 26};
+	private static final int[] HAWK_SIGHT_SCORES = {0, 2, 5, 9, 12, 16, 20, 24, 28};
+	// the points for a group of each size from 1, larger groups score the last value
+	private static final int[] BEAR_GROUP_SCORES = {2, 5, 8};
+	private static final int[] ELK_LINE_SCORES = {2, 5, 9, 13};
+	private static final int[] ELK_GROUP_SCORES = {2, 4, 7, 10, 14, 18, 23, 28};
+	private static final int[] SALMON_RUN_SCORES_1 = {2, 4, 7, 11, 15, 20, 26};
+	private static final int[] SALMON_RUN_SCORES_2 = {2, 4, 8, 12};
+	private static final int[] SALMON_RUN_SCORES_3 = {2, 4, 9, 11, 17};
+	private static final int B3_BONUS = 3;
+	// two of each group size are needed for the B3 bonus
+	private static final int B3_BONUS_BEARS = 12;
+
+	/**
+	 * Returns the most the card can score once the given number of tokens
+	 * have been placed, where tokens is the number of the card's animal on
+	 * the map.
+	 *
+	 * @param card the scorecard, e.g. "B1"
+	 * @param tokens how many of the card's animal are on the map
+	 * @param placements how many more tokens will be placed
+	 */
+	public static int maxScore(String card, int tokens, int placements) {
+		int n = tokens + placements;
+		return switch (card) {
+			case "B1" -> BEAR_PAIR_SCORES[Math.min(BEAR_PAIR_SCORES.length - 1, n / 2)];
+			case "B2" -> 10 * (n / 3);
+			case "B3" -> bestPartition(BEAR_GROUP_SCORES, n) + (n >= B3_BONUS_BEARS ? B3_BONUS : 0);
+			case "E1", "E3" -> bestPartition(ELK_LINE_SCORES, n);
+			case "E2" -> bestPartition(ELK_GROUP_SCORES, n);
+			case "S1" -> bestPartition(SALMON_RUN_SCORES_1, n);
+			case "S2" -> bestPartition(SALMON_RUN_SCORES_2, n);
+			case "S3" -> bestPartition(SALMON_RUN_SCORES_3, n);
+			case "H1" -> HAWK_SINGLE_SCORES[Math.min(HAWK_SINGLE_SCORES.length - 1, n)];
+			case "H2" -> HAWK_SIGHT_SCORES[Math.min(HAWK_SIGHT_SCORES.length - 1,
+					linesOfSight(n))];
+			case "H3" -> 3 * linesOfSight(n);
+			// each fox has at most 5 types of animal next to it, 3 pairs, or 6 of one type
+			case "F1" -> 5 * n;
+			case "F2" -> 7 * n;
+			case "F3" -> 6 * n;
+			default -> throw new IllegalArgumentException("Unknown scorecard: " + card);
+		};
+	}
+
+	/**
+	 * Returns the most the card's score can increase by from placing one
+	 * token (of any type), or {@link #NO_BOUND} if placing a token can change
+	 * how the whole map is scored.
+	 */
+	public static int maxStep(String card) {
+		return switch (card) {
+			// at most one new pair or triple
+			case "B1" -> 8;
+			case "B2" -> 10;
+			// two singles joined into a triple, and the bonus
+			case "B3" -> 4 + B3_BONUS;
+			// at most one new single hawk
+			case "H1" -> 4;
+			// a new fox, and a new type next to each of the 6 foxes around it
+			case "F1" -> 5 + 6;
+			// a new pair next to each of the 6 foxes around it
+			case "F2" -> 3 * 6;
+			case "F3" -> 6;
+			default -> NO_BOUND;
+		};
+	}
+
+	/**
+	 * Returns the most the card's score can increase by over the next
+	 * placements.
+	 *
+	 * @param currentScore what the card scores now
+	 */
+	public static int maxGain(String card, int tokens, int placements, int currentScore) {
+		int gain = maxScore(card, tokens, placements) - currentScore;
+		int step = maxStep(card);
+		if (step != NO_BOUND) {
+			gain = Math.min(gain, step * placements);
+		}
+		return Math.max(0, gain);
+	}
+
+	/**
+	 * Returns the most the token's score can increase by over the player's
+	 * remaining turns, using the scorecard in play.
+	 *
+	 * @param currentScore the map's current score for the token
+	 */
+	public static int maxGain(PlayerMap map, WildlifeToken token, int turnsLeft,
+							  int currentScore) {
+		String card = ScoreCards.getScorecards()[token.ordinal()];
+		return maxGain(card, countTokens(map, token), turnsLeft, currentScore);
+	}
+
+	/**
+	 * Returns the most the map's wildlife could score by the end of the game.
+	 * Comparing this with a bot's final score measures how far it was from
+	 * the best possible play.
+	 */
+	public static int maxWildlifeScore(PlayerMap map, int turnsLeft) {
+		String[] cards = ScoreCards.getScorecards();
+		int[] counts = new int[WildlifeToken.values().length];
+		for (HabitatTile tile : map.getTilesInMap()) {
+			if (tile.getIsTokenPlaced()) {
+				counts[tile.getPlacedToken().ordinal()]++;
+			}
+		}
+		int score = 0;
+		for (WildlifeToken token : WildlifeToken.values()) {
+			score += maxScore(cards[token.ordinal()], counts[token.ordinal()], turnsLeft);
+		}
+		return score;
+	}
+
+	public static int countTokens(PlayerMap map, WildlifeToken token) {
+		int count = 0;
+		for (HabitatTile tile : map.getTilesInMap()) {
+			if (tile.getIsTokenPlaced() && tile.getPlacedToken() == token) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	// each hawk can see at most 6 others, and each line of sight is between two hawks
+	private static int linesOfSight(int hawks) {
+		return Math.min(hawks * (hawks - 1) / 2, 3 * hawks);
+	}
+
+	/*
+		The best score from splitting n tokens into groups, where scores[i] is the score
+		of a group of size i + 1
+	 */
+	private static int bestPartition(int[] scores, int n) {
+		int[] best = new int[n + 1];
+		for (int i = 1; i <= n; i++) {
+			for (int size = 1; size <= i; size++) {
+				int score = scores[Math.min(size, scores.length) - 1];
+				best[i] = Math.max(best[i], best[i - size] + score);
+			}
+		}
+		return best[n];
+	}
+}
@@ -0,0 +1,42 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia.scoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event for a call to a wildlife scorer.
+ * The bots score maps hundreds of thousands of times a second, so it is
+ * off unless a recording asks for it, as {@code cascadia.FlightRecording}
+ * does.
+ */
+@Name("cascadia.Score")
+@Label("Score")
+@Category({"Cascadia", "Scoring"})
+@Description("A map scored with a wildlife scorecard")
+@Enabled(false)
+class ScoreEvent extends jdk.jfr.Event {
+	@Label("Scorecard")
+	String scorecard;
+
+	@Label("Map Size")
+	@Description("How many tiles are on the map")
+	int mapSize;
+}
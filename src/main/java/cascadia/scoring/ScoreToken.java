@@ -15,6 +15,8 @@
 
 package cascadia.scoring;
 
+import cascadia.LatencyHistogram;
+import cascadia.Metrics;
 import cascadia.PlayerMap;
 import cascadia.WildlifeToken;
 
@@ -30,11 +32,22 @@ public abstract class ScoreToken extends Scoring {
 ////	index 3 stores Hawk score card option as a string		(H1,H2,H3,H4)
 ////	index 4 stores Fox score card option as a string			(F1,F2,F3,F4)
 	private static final String[] cards = ScoreCards.getScorecards();
+	private static final LatencyHistogram SCORING_LATENCY = Metrics.histogram("scoring.call");
 
 
 	//overloaded method name: this one used with specified option in testing
     public static int calculateScore(PlayerMap map, Scorable option) {
-        return option.score(map);
+        ScoreEvent event = new ScoreEvent();
+        event.begin();
+        long start = System.nanoTime();
+        int score = option.score(map);
+        SCORING_LATENCY.recordSince(start);
+        if (event.shouldCommit()) {
+            event.scorecard = option.toString();
+            event.mapSize = map.getTilesInMap().size();
+            event.commit();
+        }
+        return score;
     }
 
     //mynah - change made
@@ -49,6 +62,6 @@ public abstract class ScoreToken extends Scoring {
 			case Fox -> option = ScoringFox.Option.valueOf(cards[4]);
 			default -> throw new IllegalArgumentException("Unexpected token value to be scored for player: " + token);
 		}
-    	return option.score(map);
+    	return calculateScore(map, option);
     }
 }
@@ -22,7 +22,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ScoringBear extends ScoreToken {
-	private static final List<HabitatTile> visitedTiles = new ArrayList<>();
+	// one list per thread, so maps can be scored on several threads at once
+	private static final ThreadLocal<List<HabitatTile>> visitedTiles =
+			ThreadLocal.withInitial(ArrayList::new);
 
 	/**
 	 * Contains the scoring method for the 3 types of bear scoring, B1, B2,
@@ -46,14 +48,14 @@ public class ScoringBear extends ScoreToken {
 
 	private static int bearScoringOption1(PlayerMap map) {
 		//score for pairs of bears
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int pairs = 0;
 		int MAX_PAIRS_SCORED = 4;
 		int[] bearScores = new int[]{0, 4, 11, 19, 27};
 		List<HabitatTile> bearGroup = new ArrayList<>();
 
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (!visitedTiles.contains(tile) && tile.getPlacedToken() == WildlifeToken.Bear) {
+			if (!visitedTiles.get().contains(tile) && tile.getPlacedToken() == WildlifeToken.Bear) {
 				bearGroup.clear();
 				Scoring.findTokenGroup(bearGroup, WildlifeToken.Bear, tile, map);
 				if (bearGroup.size() == 2) {
@@ -61,7 +63,7 @@ public class ScoringBear extends ScoreToken {
 				}
 				//add this group of bears to tiles that have been checked for scoring,
 				// regardless of size
-				visitedTiles.addAll(bearGroup);
+				visitedTiles.get().addAll(bearGroup);
 			}
 		} //all pairs now found
 		
@@ -76,12 +78,12 @@ public class ScoringBear extends ScoreToken {
 	
 	private static int bearScoringOption2(PlayerMap map) {
 		//score for each group of 3 bears
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int triples = 0;
 		List<HabitatTile> bearGroup = new ArrayList<>();
 
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (!visitedTiles.contains(tile) && tile.getPlacedToken() == WildlifeToken.Bear) {
+			if (!visitedTiles.get().contains(tile) && tile.getPlacedToken() == WildlifeToken.Bear) {
 				bearGroup.clear();
 				Scoring.findTokenGroup(bearGroup, WildlifeToken.Bear, tile, map);
 				if (bearGroup.size() == 3) {
@@ -89,7 +91,7 @@ public class ScoringBear extends ScoreToken {
 				}
 				//add this group of bears to tiles that have been checked for scoring,
 				// regardless of size
-				visitedTiles.addAll(bearGroup);
+				visitedTiles.get().addAll(bearGroup);
 			}
 		} //all triples now found
 		return triples * 10;
@@ -97,7 +99,7 @@ public class ScoringBear extends ScoreToken {
 
 	private static int bearScoringOption3(PlayerMap map) {
 		//score for each group of bears 1-3 in size
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int singles = 0;
 		int doubles = 0;
 		int triples = 0;
@@ -105,7 +107,7 @@ public class ScoringBear extends ScoreToken {
 		List<HabitatTile> bearGroup = new ArrayList<>();
 
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (!visitedTiles.contains(tile) && tile.getPlacedToken() == WildlifeToken.Bear) {
+			if (!visitedTiles.get().contains(tile) && tile.getPlacedToken() == WildlifeToken.Bear) {
 				bearGroup.clear();
 				Scoring.findTokenGroup(bearGroup, WildlifeToken.Bear, tile, map);
 				if (bearGroup.size() == 1) {
@@ -117,7 +119,7 @@ public class ScoringBear extends ScoreToken {
 				}
 				//add this group of bears to tiles that have been checked for scoring,
 				// regardless of size
-				visitedTiles.addAll(bearGroup);
+				visitedTiles.get().addAll(bearGroup);
 			}
 		} //all groups found
 		
@@ -22,7 +22,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ScoringElk extends ScoreToken {
-	private static final List<HabitatTile> visitedTiles = new ArrayList<>();
+	// one list per thread, so maps can be scored on several threads at once
+	private static final ThreadLocal<List<HabitatTile>> visitedTiles =
+			ThreadLocal.withInitial(ArrayList::new);
 
 	/**
 	 * Contains the scoring method for the 3 types of bear scoring, B1, B2,
@@ -46,12 +48,12 @@ public class ScoringElk extends ScoreToken {
 
 	//treats line > 4 the same as 4
 	private static int elkScoringOption1(PlayerMap map) {
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int score = 0;
 		int MAX_LENGTH = 4;
 		for (int z = MAX_LENGTH; z > 0; z--) {
 			for (HabitatTile tile : map.getTilesInMap()) {
-				if (tile.getPlacedToken() == WildlifeToken.Elk && !visitedTiles.contains(tile)) {
+				if (tile.getPlacedToken() == WildlifeToken.Elk && !visitedTiles.get().contains(tile)) {
 					score = calculateLines(score, tile, map, z);
 				}
 			}
@@ -80,7 +82,7 @@ public class ScoringElk extends ScoreToken {
 
 			//moves along till it reaches a non elk tile or the edge
 			while (currTile != null && currTile.getPlacedToken() == WildlifeToken.Elk
-					&& !visitedTiles.contains(currTile)) {
+					&& !visitedTiles.get().contains(currTile)) {
 				lines.get(i - 1).add(currTile);
 				currTile = Scoring.getAdjacentTiles(currTile, map)[i];
 			}
@@ -93,7 +95,7 @@ public class ScoringElk extends ScoreToken {
 				(lines.get(1).size() > lines.get(2).size()) ? 1 : 2;
 
 		if (lines.get(maxIndex).size() >= z) {
-			visitedTiles.addAll(lines.get(maxIndex));
+			visitedTiles.get().addAll(lines.get(maxIndex));
 			switch (lines.get(maxIndex).size()) {
 				case (1) -> score += 2;
 				case (2) -> score += 5;
@@ -105,7 +107,7 @@ public class ScoringElk extends ScoreToken {
 	}
 
 	private static int elkScoringOption2(PlayerMap map) {
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		List<HabitatTile> elkGroup = new ArrayList<>();
 
 		int score = 0;
@@ -113,11 +115,11 @@ public class ScoringElk extends ScoreToken {
 		int[] points = {2, 4, 7, 10, 14, 18, 23};
 
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (tile.getPlacedToken() == WildlifeToken.Elk && !visitedTiles.contains(tile)) {
+			if (tile.getPlacedToken() == WildlifeToken.Elk && !visitedTiles.get().contains(tile)) {
 				elkGroup.clear();
 				Scoring.findTokenGroup(elkGroup, WildlifeToken.Elk, tile, map);
 
-				visitedTiles.addAll(elkGroup);
+				visitedTiles.get().addAll(elkGroup);
 				score += elkGroup.size() < MAX_SCORED_SIZE ? points[elkGroup.size() - 1] : 28;
 			}
 		}
@@ -125,11 +127,11 @@ public class ScoringElk extends ScoreToken {
 	}
 	
 	private static int elkScoringOption3(PlayerMap map) {
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int score = 0;
 		
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (tile.getPlacedToken() == WildlifeToken.Elk && !visitedTiles.contains(tile)) {
+			if (tile.getPlacedToken() == WildlifeToken.Elk && !visitedTiles.get().contains(tile)) {
 				score += checkShapes(tile, map);
 			}
 		}
@@ -181,7 +183,7 @@ public class ScoringElk extends ScoreToken {
 			HabitatTile bottomTile = Scoring.walkToTileAtSide(adjacentTiles[i], map, 2);
 			if (isDiamond(bottomTile)) {
 				diamondShape.add(bottomTile);
-				visitedTiles.addAll(diamondShape);
+				visitedTiles.get().addAll(diamondShape);
 				return true;
 			}
 		}
@@ -189,17 +191,17 @@ public class ScoringElk extends ScoreToken {
 	}
 
 	private static boolean isDiamond(HabitatTile bottomTile) {
-		return (bottomTile != null && !visitedTiles.contains(bottomTile)
+		return (bottomTile != null && !visitedTiles.get().contains(bottomTile)
 				&& bottomTile.getIsTokenPlaced()
 				&& bottomTile.getPlacedToken() == WildlifeToken.Elk);
 	}
 
 	private static boolean isTriangle(HabitatTile[] adjacentTiles, int i) {
 		//if two adjacent tokens next to each other and central token are elk, it's a triangle
-		return (!visitedTiles.contains(adjacentTiles[i - 1])
+		return (!visitedTiles.get().contains(adjacentTiles[i - 1])
 				&& adjacentTiles[i - 1].getIsTokenPlaced()
 				&& adjacentTiles[i - 1].getPlacedToken() == WildlifeToken.Elk
-				&& !visitedTiles.contains(adjacentTiles[i])
+				&& !visitedTiles.get().contains(adjacentTiles[i])
 				&& adjacentTiles[i].getIsTokenPlaced()
 				&& adjacentTiles[i].getPlacedToken() == WildlifeToken.Elk);
 	}
@@ -213,15 +215,15 @@ public class ScoringElk extends ScoreToken {
 			if (adjacentTiles[i - 1] != null && adjacentTiles[i] != null) {
 				//if two adjacent tokens next to each other and central token are elk, it's a
 				// triangle
-				if (!visitedTiles.contains(adjacentTiles[i - 1])
+				if (!visitedTiles.get().contains(adjacentTiles[i - 1])
 						&& adjacentTiles[i - 1].getIsTokenPlaced()
 						&& adjacentTiles[i - 1].getPlacedToken() == WildlifeToken.Elk
-						&& !visitedTiles.contains(adjacentTiles[i])
+						&& !visitedTiles.get().contains(adjacentTiles[i])
 						&& adjacentTiles[i].getIsTokenPlaced()
 						&& adjacentTiles[i].getPlacedToken() == WildlifeToken.Elk) {
 					triangleShape.add(adjacentTiles[i - 1]); //left of triangle
 					triangleShape.add(adjacentTiles[i]); //right of triangle
-					visitedTiles.addAll(triangleShape);
+					visitedTiles.get().addAll(triangleShape);
 					return true;
 				}
 			}
@@ -232,10 +234,10 @@ public class ScoringElk extends ScoreToken {
 	private static boolean checkTwos(HabitatTile elkTile, PlayerMap map) {
 		HabitatTile[] adjacentTiles = Scoring.getAdjacentTiles(elkTile, map);
 		for (HabitatTile t : adjacentTiles) {
-			if (t != null && !visitedTiles.contains(t) && t.getIsTokenPlaced()
+			if (t != null && !visitedTiles.get().contains(t) && t.getIsTokenPlaced()
 					&& t.getPlacedToken() == WildlifeToken.Elk) {
-				visitedTiles.add(elkTile);
-				visitedTiles.add(t);
+				visitedTiles.get().add(elkTile);
+				visitedTiles.get().add(t);
 				return true;
 			}
 		}
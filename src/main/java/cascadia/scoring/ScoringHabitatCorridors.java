@@ -80,6 +80,72 @@ public class ScoringHabitatCorridors {
 		Display.outln("");
 	}
 
+	/**
+	 * Works out the corridor bonus each player would get, following the same
+	 * rules as {@link #longestOverallCorridorsBonusScoring(List)}, but without
+	 * changing the players or printing anything.  Used by the bots to see how
+	 * a move changes the bonuses.
+	 *
+	 * @param corridorSizes each player's longest corridor sizes, indexed by
+	 *                      player then habitat
+	 * @return the total bonus of each player
+	 */
+	public static int[] calculateCorridorBonuses(int[][] corridorSizes) {
+		int[] bonuses = new int[corridorSizes.length];
+		int[] sizes = new int[corridorSizes.length];
+		for (int i = 0; i < 5; i++) {
+			for (int p = 0; p < corridorSizes.length; p++) {
+				sizes[p] = corridorSizes[p][i];
+			}
+			for (int p = 0; p < corridorSizes.length; p++) {
+				bonuses[p] += corridorBonus(sizes, p);
+			}
+		}
+		return bonuses;
+	}
+
+	/**
+	 * Works out the bonus a player would get for one habitat, given each
+	 * player's longest corridor of that habitat.
+	 *
+	 * @see #calculateCorridorBonuses(int[][])
+	 */
+	public static int corridorBonus(int[] sizes, int player) {
+		int longest = 0;
+		for (int size : sizes) {
+			longest = Math.max(longest, size);
+		}
+		int numLongest = 0;
+		int secondLongest = 0;
+		for (int size : sizes) {
+			if (size == longest) {
+				numLongest++;
+			} else if (size > secondLongest) {
+				secondLongest = size;
+			}
+		}
+
+		if (sizes.length == 2) {
+			if (sizes[player] != longest) {
+				return 0;
+			}
+			return numLongest > 1 ? 1 : 2;
+		} else if (sizes.length == 3 || sizes.length == 4) {
+			if (sizes[player] == longest) {
+				return numLongest == 1 ? 3 : numLongest == 2 ? 2 : 1;
+			}
+			// the second longest only gets a bonus when the longest is tied
+			int numSecond = 0;
+			for (int size : sizes) {
+				if (size == secondLongest) {
+					numSecond++;
+				}
+			}
+			return numLongest > 1 && sizes[player] == secondLongest && numSecond == 1 ? 1 : 0;
+		}
+		return 0;
+	}
+
 	private static int[] getLongestCorridor(List<Player> players) {
 		int[] longestCorridorSizes = new int[5];
 		for (int i = 0; i < 5; i++) { //get longest corridors
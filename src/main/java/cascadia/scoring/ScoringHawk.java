@@ -22,7 +22,9 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ScoringHawk extends ScoreToken {
-	private static final List<HabitatTile> visitedTiles = new ArrayList<>();
+	// one list per thread, so maps can be scored on several threads at once
+	private static final ThreadLocal<List<HabitatTile>> visitedTiles =
+			ThreadLocal.withInitial(ArrayList::new);
 
 	/**
 	 * Contains the scoring method for the 3 types of fox scoring, F1, F2,
@@ -46,7 +48,7 @@ public class ScoringHawk extends ScoreToken {
 
 	//scores for individual hawks on map
 	private static int hawkScoringOption1(PlayerMap map) {
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int hawkCount = 0;
 		int[] hawkScores = new int[]{0, 2, 5, 8, 11, 14, 18, 22, 26};
 
@@ -70,17 +72,17 @@ public class ScoringHawk extends ScoreToken {
 	//scores for uninterrupted lines of sight, between individual valid hawks on map without
 	// adjacent hawks
 	private static int hawkScoringOption2(PlayerMap map) {
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int linesOfSight = 0;
 		int[] hawkScores = new int[]{0, 2, 5, 9, 12, 16, 20, 24, 28};
 
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (tile.getPlacedToken() == WildlifeToken.Hawk && !visitedTiles.contains(tile)) {
+			if (tile.getPlacedToken() == WildlifeToken.Hawk && !visitedTiles.get().contains(tile)) {
 				boolean validHawk = checkValidHawk(map, tile);
 				
 				if (validHawk) { //check lines of sight now for a valid hawk
 					linesOfSight += getLineOfSightOneStepOver(map, tile);
-					visitedTiles.add(tile); //already accounted for all its lines of sight
+					visitedTiles.get().add(tile); //already accounted for all its lines of sight
 				}
 			}
 		}
@@ -98,17 +100,17 @@ public class ScoringHawk extends ScoreToken {
 	//scores for uninterrupted lines of sight, between individual valid hawks on map without
 	// adjacent hawks
 	private static int hawkScoringOption3(PlayerMap map) {
-		visitedTiles.clear();
+		visitedTiles.get().clear();
 		int linesOfSight = 0;
 		int score;
 
 		for (HabitatTile tile : map.getTilesInMap()) {
-			if (tile.getPlacedToken() == WildlifeToken.Hawk && !visitedTiles.contains(tile)) {
+			if (tile.getPlacedToken() == WildlifeToken.Hawk && !visitedTiles.get().contains(tile)) {
 				boolean validHawk = checkValidHawk(map, tile);
 				
 				if (validHawk) { //check lines of sight now for a valid hawk
 					linesOfSight += getLinesOfSight(map, tile);
-					visitedTiles.add(tile); //already accounted for all its lines of sight
+					visitedTiles.get().add(tile); //already accounted for all its lines of sight
 				}
 			}
 		}
@@ -123,8 +125,8 @@ public class ScoringHawk extends ScoreToken {
 		for (HabitatTile t : adjacentTiles) {
 			//not a valid hawk
 			if (t != null && t.getIsTokenPlaced() && t.getPlacedToken() == WildlifeToken.Hawk) {
-				visitedTiles.add(t); //both invalid hawk tiles get added to visited tiles
-				visitedTiles.add(hawkTile);
+				visitedTiles.get().add(t); //both invalid hawk tiles get added to visited tiles
+				visitedTiles.get().add(hawkTile);
 				return false;
 			}
 		}
@@ -145,7 +147,7 @@ public class ScoringHawk extends ScoreToken {
 			}
 			if (currTile != null && currTile.getIsTokenPlaced()
 					&& currTile.getPlacedToken() == WildlifeToken.Hawk
-					&& !visitedTiles.contains(currTile) && checkValidHawk(map, currTile)) {
+					&& !visitedTiles.get().contains(currTile) && checkValidHawk(map, currTile)) {
 				linesOfSight++;
 			}
 		}
@@ -168,7 +170,7 @@ public class ScoringHawk extends ScoreToken {
 			}
 			if (currTile != null && currTile.getIsTokenPlaced()
 					&& currTile.getPlacedToken() == WildlifeToken.Hawk
-					&& !visitedTiles.contains(currTile) && checkValidHawk(map, currTile)) {
+					&& !visitedTiles.get().contains(currTile) && checkValidHawk(map, currTile)) {
 				linesOfSight++;
 			}
 		}
@@ -0,0 +1,125 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BotMainTest {
+    @Test
+    public void testOneBotPerSeat() {
+        BotMain bot = new BotMain(4, 1 << 20);
+        assertArrayEquals(new String[]{"BOT A", "BOT B", "BOT C", "BOT D"},
+                bot.makeBotPlayerNames());
+        assertEquals("standard", bot.getPlugin(3).getName());
+        bot.setPondering(false);
+    }
+
+    @Test
+    public void testPluginsAreLoadedByName() {
+        PluginChoice greedy = PluginChoice.create("greedy");
+        assertTrue(greedy instanceof GreedyPlugin);
+        // each call makes a new instance, so each seat has its own state
+        assertTrue(greedy != PluginChoice.create("greedy"));
+        assertTrue(PluginChoice.create("standard") instanceof StandardPlugin);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownPlugin() {
+        PluginChoice.create("nonexistent");
+    }
+
+    @Test
+    public void testWipeAndChoiceAreOneTurn() {
+        BotMain bot = new BotMain(2, 1 << 20);
+        WipingPlugin wiping = new WipingPlugin();
+        bot.setPlugin(0, wiping);
+        bot.setPlugin(1, new WipingPlugin());
+        List<Player> players = List.of(new Player("a"), new Player("b"));
+        players.get(0).addPlayerNatureToken();
+        bot.getBotPlayers(players);
+
+        bot.makeBestChoiceFromDeck(players.get(0));
+        assertTrue(bot.shouldWipeTokens());
+        // the game wipes the tokens, then asks again in the same turn
+        bot.makeBestChoiceFromDeck(players.get(0));
+        assertFalse(bot.shouldWipeTokens());
+        assertEquals(2, wiping.moves);
+        assertEquals(1, wiping.getStats().getTurns());
+        assertEquals(1, bot.getTrace().getTotal());
+        // the plugin's stats are exported with the metrics
+        assertEquals(1, Metrics.getGauges().get("bot.seat0.turns").getAsLong());
+        bot.endGame();
+    }
+
+    @Test
+    public void testEndingTheGameCancelsTheTurn() {
+        BotMain bot = new BotMain(2, 1 << 20);
+        WipingPlugin wiping = new WipingPlugin();
+        bot.setPlugin(0, wiping);
+        bot.setPlugin(1, new WipingPlugin());
+        List<Player> players = List.of(new Player("a"), new Player("b"));
+        bot.getBotPlayers(players);
+
+        bot.makeBestChoiceFromDeck(players.get(0));
+        assertFalse(wiping.budget.isCancelled());
+        // a search still holding the budget stops with the game
+        bot.endGame();
+        assertTrue(wiping.budget.isCancelled());
+        assertFalse(wiping.budget.poller().getAsBoolean());
+    }
+
+    // wipes the first token on its first move, then plays nothing
+    private static class WipingPlugin implements PluginChoice {
+        private final PluginStats stats = new PluginStats();
+        private int moves = 0;
+        private TurnBudget budget;
+
+        @Override
+        public String getName() {
+            return "wiping";
+        }
+
+        @Override
+        public void newGame(List<Player> players, int seat) {
+        }
+
+        @Override
+        public int[] chooseMove(Player player, List<HabitatTile> deckTiles,
+                                List<WildlifeToken> deckTokens, int turnsLeft, TurnBudget budget) {
+            moves++;
+            this.budget = budget;
+            return null;
+        }
+
+        @Override
+        public int getTokensToWipe() {
+            return moves == 1 ? 1 : 0;
+        }
+
+        @Override
+        public PluginStats getStats() {
+            return stats;
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyBots() {
+        new BotMain(5, 1 << 20);
+    }
+}
@@ -0,0 +1,70 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoringHabitatCorridors;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CorridorBoardTest {
+
+    @Test
+    public void testGrownCorridorsMatchFullSearch() {
+        Random rand = new Random(12);
+        PlayerMap map = new PlayerMap();
+        for (int n = 0; n < 25; n++) {
+            CorridorBoard board = new CorridorBoard(map);
+            List<int[]> frontier = board.frontier();
+            int[] cell = frontier.get(rand.nextInt(frontier.size()));
+            HabitatTile tile = new HabitatTile(Habitat.values()[rand.nextInt(5)],
+                    Habitat.values()[rand.nextInt(5)], 2);
+            int rotation = rand.nextInt(6);
+
+            int[] expected = board.getLongestCorridorSizes();
+            for (Habitat habitat : CorridorBoard.habitatsOf(tile)) {
+                int grown = board.grownCorridorSize(cell[0], cell[1],
+                        CorridorBoard.rotatedEdges(tile, rotation), habitat);
+                assertTrue(grown <= board.maxGrownCorridorSize(cell[0], cell[1], habitat));
+                expected[habitat.ordinal()] = Math.max(expected[habitat.ordinal()], grown);
+            }
+
+            tile.rotateTile(rotation);
+            map.addTileToMap(tile, cell[0], cell[1]);
+            for (Habitat habitat : Habitat.values()) {
+                int actual = ScoringHabitatCorridors.findLongestHabitatCorridor(map, habitat).size();
+                assertEquals(actual, expected[habitat.ordinal()]);
+                assertEquals(actual, new CorridorBoard(map).getLongestCorridorSize(habitat));
+            }
+        }
+    }
+
+    @Test
+    public void testCorridorBonuses() {
+        // two players, a tie gets 1 each and the longest gets 2
+        int[][] sizes = {{3, 4, 1, 0, 2}, {3, 2, 5, 0, 1}};
+        assertArrayEquals(new int[]{1 + 2 + 0 + 1 + 2, 1 + 0 + 2 + 1 + 0},
+                ScoringHabitatCorridors.calculateCorridorBonuses(sizes));
+        // three players, a tie for longest gets 2 each and a single second longest gets 1
+        assertEquals(2, ScoringHabitatCorridors.corridorBonus(new int[]{5, 5, 3}, 0));
+        assertEquals(1, ScoringHabitatCorridors.corridorBonus(new int[]{5, 5, 3}, 2));
+        assertEquals(3, ScoringHabitatCorridors.corridorBonus(new int[]{6, 5, 3}, 0));
+        assertEquals(0, ScoringHabitatCorridors.corridorBonus(new int[]{6, 5, 3}, 1));
+    }
+}
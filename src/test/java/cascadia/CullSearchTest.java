@@ -0,0 +1,91 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class CullSearchTest {
+    private PlayerMap map;
+    private List<HabitatTile> tiles;
+    private int[][] placements;
+    private EvaluationPolicy policy;
+
+    @Before
+    public void generateMap() {
+        TestFixtures.useBotScorecards();
+
+        map = TestFixtures.oneTileMap();
+        tiles = TestFixtures.deckTiles();
+        placements = TestFixtures.deckPlacements();
+        policy = new EvaluationPolicy(new LinearEvaluator(), new TranspositionTable(10),
+                new EvaluationCache());
+    }
+
+    @Test
+    public void testPairScoresMatchChoose() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Bear, WildlifeToken.Elk,
+                WildlifeToken.Salmon, WildlifeToken.Hawk);
+        for (int nature = 0; nature <= 1; nature++) {
+            float[][][] pairs = policy.pairScores(map, nature, 10, tiles, placements, () -> true);
+            policy.choose(map, nature, 10, tiles, tokens, placements, () -> true);
+            assertEquals(policy.getBestScore(), CullSearch.bestMove(pairs, tokens), 1e-4f);
+        }
+    }
+
+    @Test
+    public void testChooseStopsAfterTheFirstTile() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Bear, WildlifeToken.Elk,
+                WildlifeToken.Salmon, WildlifeToken.Hawk);
+        int[] move = policy.choose(map, 1, 10, tiles, tokens, placements, () -> false);
+        // only the first tile's moves were scored before it stopped
+        assertEquals(0, move[0]);
+        assertEquals(tokens.size(), policy.getMovesEvaluated());
+    }
+
+    @Test
+    public void testCulledTokensAreReplacedInPlace() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Hawk, WildlifeToken.Elk,
+                WildlifeToken.Hawk, WildlifeToken.Hawk);
+        assertEquals(WildlifeToken.Hawk, CullSearch.tripled(tokens));
+        for (int seed = 0; seed < 20; seed++) {
+            List<WildlifeToken> after = CullSearch.cull(tokens, WildlifeToken.Hawk,
+                    BagModel.botGame(), new SplittableRandom(seed));
+            assertEquals(WildlifeToken.Elk, after.get(1));
+            assertTrue(after.stream().distinct().count() > 1);
+        }
+    }
+
+    @Test
+    public void testNoDecisionWithoutThreeTokens() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Hawk, WildlifeToken.Elk,
+                WildlifeToken.Hawk, WildlifeToken.Bear);
+        CullSearch search = new CullSearch(policy, new SplittableRandom(1));
+        assertFalse(search.shouldCull(map, 0, 10, tiles, tokens, placements,
+                BagModel.botGame(), () -> true));
+        assertEquals(0, search.getSamplesTaken());
+
+        List<WildlifeToken> tripled = List.of(WildlifeToken.Hawk, WildlifeToken.Hawk,
+                WildlifeToken.Hawk, WildlifeToken.Bear);
+        search.shouldCull(map, 0, 10, tiles, tripled, placements, BagModel.botGame(),
+                () -> true);
+        assertEquals(CullSearch.SAMPLES, search.getSamplesTaken());
+    }
+}
@@ -0,0 +1,95 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class DecisionTraceTest {
+    private CorpusPosition position;
+    private TimeControl clock;
+
+    @Before
+    public void generatePosition() {
+        TestFixtures.useBotScorecards();
+
+        position = PositionCorpus.generate(1, 7, new int[] {5}, 2).get(0);
+        clock = new TimeControl(60_000_000_000L, 0);
+    }
+
+    @Test
+    public void testKeepsTheLatestDecisions() {
+        DecisionTrace trace = new DecisionTrace(2);
+        for (int i = 0; i < 3; i++) {
+            clock.startTurn();
+            TurnBudget budget = new TurnBudget(clock);
+            budget.reportStrategy(i == 2 ? DecisionTrace.Strategy.SEARCH
+                    : DecisionTrace.Strategy.EVALUATION);
+            trace.record("standard", i % 2, 20 - i, budget, i, 1_000_000, -1, null);
+            clock.endTurn();
+        }
+        assertEquals(2, trace.size());
+        assertEquals(3, trace.getTotal());
+        // the first decision was replaced, so the oldest held is the second
+        assertEquals(1, trace.getCandidates(0));
+        assertEquals(DecisionTrace.Strategy.SEARCH, trace.getStrategy(1));
+
+        String dump = trace.dump();
+        assertEquals(3, dump.split("\n").length);
+        String latest = dump.split("\n")[2];
+        assertTrue(dump, latest.matches("2 +standard +0 +18 +search +2 +1\\.00 +- .*"));
+    }
+
+    @Test
+    public void testPluginReportsItsPhases() {
+        List<Player> players = new ArrayList<>();
+        for (int p = 0; p < position.getNumPlayers(); p++) {
+            players.add(position.toPlayer(p, "BOT " + (char) ('A' + p)));
+        }
+        PluginChoice plugin = new GreedyPlugin();
+        plugin.newGame(players, position.getToMove());
+        clock.startTurn();
+        TurnBudget budget = new TurnBudget(clock);
+        long allocated = DecisionTrace.allocatedBytes();
+        int[] move = plugin.chooseMove(players.get(position.getToMove()),
+                position.getDeckTiles(), position.getDeckTokens(), position.getTurnsLeft(),
+                budget);
+        long used = clock.endTurn();
+        plugin.endGame();
+
+        assertNotNull(move);
+        assertEquals(DecisionTrace.Strategy.EVALUATION, budget.getStrategy());
+        assertTrue(budget.getPhaseNanos(DecisionTrace.Phase.PLACEMENTS) > 0);
+        assertTrue(budget.getPhaseNanos(DecisionTrace.Phase.EVALUATION) > 0);
+        assertEquals(0, budget.getPhaseNanos(DecisionTrace.Phase.SEARCH));
+
+        DecisionTrace trace = new DecisionTrace();
+        trace.record(plugin.getName(), position.getToMove(), position.getTurnsLeft(), budget,
+                plugin.getStats().getNodes(), used, DecisionTrace.allocatedBytes() - allocated,
+                move);
+        assertTrue(trace.getAllocatedBytes(0) > 0);
+        String expected = "[" + move[0];
+        for (int i = 1; i < move.length; i++) {
+            expected += "," + move[i];
+        }
+        assertTrue(trace.dump(), trace.dump().trim().endsWith(expected + "]"));
+    }
+}
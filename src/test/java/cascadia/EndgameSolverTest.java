@@ -0,0 +1,118 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EndgameSolverTest {
+    private Player player;
+    private List<Player> players;
+    private List<HabitatTile> tiles;
+    private List<WildlifeToken> tokens;
+    private EndgameSolver solver;
+
+    @Before
+    public void setUp() {
+        TestFixtures.useBotScorecards();
+
+        player = new Player("a");
+        players = List.of(player, new Player("b"));
+        tiles = new ArrayList<>();
+        tokens = new ArrayList<>();
+        for (int i = 0; i < Constants.MAX_DECK_SIZE; i++) {
+            tiles.add(new HabitatTile(Habitat.values()[i], Habitat.values()[i + 1], 2));
+            tokens.add(WildlifeToken.values()[i]);
+        }
+        solver = new EndgameSolver(new TranspositionTable(), 2, new SplittableRandom(1));
+    }
+
+    @Test
+    public void testTurnsLeft() {
+        assertEquals(1, EndgameSolver.turnsLeft(2, 0, 0));
+        assertEquals(1, EndgameSolver.turnsLeft(2, 0, 2));
+        assertEquals(2, EndgameSolver.turnsLeft(2, 0, 3));
+        // the second player's refill is the last, so the round is still played in full
+        assertEquals(1, EndgameSolver.turnsLeft(2, 1, 1));
+        assertEquals(2, EndgameSolver.turnsLeft(2, 1, 2));
+        assertEquals(3, EndgameSolver.turnsLeft(3, 2, 7));
+    }
+
+    @Test
+    public void testLastTurnPlacesNextToTheMap() {
+        int[] move = solver.solve(player, players, tiles, tokens, 1, 0, () -> () -> true);
+        assertNotNull(move);
+        // without nature tokens the pair can't be split
+        assertEquals(move[EndgameSolver.TILE], move[EndgameSolver.TOKEN]);
+        PlayerMap map = player.getMap();
+        assertNull(map.returnTileAtPositionInMap(move[EndgameSolver.ROW],
+                move[EndgameSolver.COL]));
+        boolean onFrontier = false;
+        for (int[] cell : new CorridorBoard(map).frontier()) {
+            onFrontier |= cell[0] == move[EndgameSolver.ROW] && cell[1] == move[EndgameSolver.COL];
+        }
+        assertTrue(onFrontier);
+    }
+
+    @Test
+    public void testNatureTokenSplitsPairs() {
+        int[] withoutToken = solver.solve(player, players, tiles, tokens, 1, 0, () -> () -> true);
+        player.addPlayerNatureToken();
+        int[] withToken = solver.solve(player, players, tiles, tokens, 1, 0, () -> () -> true);
+        // splitting costs the nature token, so it's only done if it's worth more
+        assertTrue(withToken[EndgameSolver.VALUE] >= withoutToken[EndgameSolver.VALUE]);
+    }
+
+    @Test
+    public void testTwoTurnsAndDeadline() {
+        assertNotNull(solver.solve(player, players, tiles, tokens, 2, 3, () -> () -> true));
+        assertNull(solver.solve(player, players, tiles, tokens, 2, 3, () -> () -> false));
+    }
+
+    @Test
+    public void testDeadlineUsesTheScenariosSampled() {
+        // time runs out after enough rounds of scenarios, so a move is still chosen
+        assertNotNull(solver.solve(player, players, tiles, tokens, 2, 3,
+                expiringAfterRounds(EndgameSolver.MIN_SCENARIOS)));
+        // one round too few
+        assertNull(solver.solve(player, players, tiles, tokens, 2, 3,
+                expiringAfterRounds(EndgameSolver.MIN_SCENARIOS - 1)));
+    }
+
+    /*
+        Each of the solver's tasks makes its own poller: one for each deck tile's first
+        moves, then one for each first move searched in each round of scenarios.  So the
+        pollers made after the given number of rounds have no time, however the threads
+        run and whatever is sampled
+     */
+    private Supplier<BooleanSupplier> expiringAfterRounds(int rounds) {
+        AtomicInteger made = new AtomicInteger();
+        int allowed = tiles.size() + rounds * EndgameSolver.FIRST_MOVES;
+        return () -> {
+            boolean timeLeft = made.incrementAndGet() <= allowed;
+            return () -> timeLeft;
+        };
+    }
+}
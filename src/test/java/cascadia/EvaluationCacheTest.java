@@ -0,0 +1,54 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EvaluationCacheTest {
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() {
+        EvaluationCache cache = new EvaluationCache(2);
+        cache.put(1L, new int[]{1});
+        cache.put(2L, new int[]{2});
+        // using 1 makes 2 the least recently used
+        assertArrayEquals(new int[]{1}, cache.get(1L));
+        cache.put(3L, new int[]{3});
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get(2L));
+        assertNotNull(cache.get(1L));
+        assertNotNull(cache.get(3L));
+    }
+
+    @Test
+    public void testHitsAndMissesCounted() {
+        EvaluationCache cache = new EvaluationCache();
+        cache.get(5L);
+        cache.put(5L, new int[]{0, -1, -1});
+        cache.get(5L);
+        cache.get(5L);
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testEmptyCacheNotAllowed() {
+        new EvaluationCache(0);
+    }
+}
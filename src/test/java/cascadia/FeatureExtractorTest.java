@@ -0,0 +1,88 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoringHabitatCorridors;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FeatureExtractorTest {
+
+    @Test
+    public void testLongestCorridorsMatchFullSearch() {
+        Random rand = new Random(34);
+        PlayerMap map = new PlayerMap();
+        FeatureExtractor extractor = new FeatureExtractor();
+        float[] features = new float[FeatureExtractor.NUM_FEATURES];
+        for (int n = 0; n < 25; n++) {
+            List<int[]> frontier = new CorridorBoard(map).frontier();
+            int[] cell = frontier.get(rand.nextInt(frontier.size()));
+            HabitatTile tile = new HabitatTile(Habitat.values()[rand.nextInt(5)],
+                    Habitat.values()[rand.nextInt(5)], 2);
+            tile.rotateTile(rand.nextInt(6));
+            map.addTileToMap(tile, cell[0], cell[1]);
+
+            // the same extractor is reused, so nothing can be left over from the last map
+            extractor.extract(map, 0, 0, features, 0);
+            for (Habitat habitat : Habitat.values()) {
+                int actual = ScoringHabitatCorridors.findLongestHabitatCorridor(map, habitat).size();
+                assertEquals(actual, features[FeatureExtractor.LONGEST_CORRIDOR
+                        + habitat.ordinal()], 0);
+            }
+        }
+    }
+
+    @Test
+    public void testTokenFeatures() {
+        PlayerMap map = new PlayerMap();
+        map.clearTileBoard();
+        int[][] cells = {{8, 8}, {8, 9}, {8, 10}, {10, 10}};
+        WildlifeToken[] tokens = {WildlifeToken.Bear, WildlifeToken.Bear, WildlifeToken.Fox, null};
+        for (int i = 0; i < cells.length; i++) {
+            HabitatTile tile = new HabitatTile(Habitat.Forest, Habitat.Forest, 1);
+            if (tokens[i] != null) {
+                tile.setTokenForTesting(tokens[i]);
+            }
+            map.addTileToMap(tile, cells[i][0], cells[i][1]);
+        }
+
+        float[] features = new float[3 * FeatureExtractor.NUM_FEATURES];
+        new FeatureExtractor().extract(map, 2, 5, features, FeatureExtractor.NUM_FEATURES);
+        int offset = FeatureExtractor.NUM_FEATURES;
+        assertEquals(2, features[offset + FeatureExtractor.TOKENS + WildlifeToken.Bear.ordinal()], 0);
+        assertEquals(1, features[offset + FeatureExtractor.SAME_PAIRS
+                + WildlifeToken.Bear.ordinal()], 0);
+        assertEquals(1, features[offset + FeatureExtractor.ISOLATED
+                + WildlifeToken.Fox.ordinal()], 0);
+        // the fox is next to a bear
+        assertEquals(1, features[offset + FeatureExtractor.FOX_VARIETY], 0);
+        assertEquals(2, features[offset + FeatureExtractor.NATURE_TOKENS], 0);
+        assertEquals(5, features[offset + FeatureExtractor.TURNS_LEFT], 0);
+        // the positions either side are untouched
+        assertEquals(0, features[offset - 1], 0);
+        assertEquals(0, features[2 * offset], 0);
+
+        LinearEvaluator evaluator = new LinearEvaluator();
+        float[] scores = new float[3];
+        evaluator.evaluateBatch(features, 3, scores);
+        assertEquals(evaluator.evaluate(features, offset), scores[1], 0);
+        assertEquals(0, scores[0], 0);
+    }
+}
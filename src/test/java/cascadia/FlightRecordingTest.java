@@ -0,0 +1,55 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoreToken;
+import cascadia.scoring.ScoringBear;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import jdk.jfr.Recording;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class FlightRecordingTest {
+
+    @Test
+    public void testScorerCallsAreRecordedAndSummarised() throws Exception {
+        PlayerMap map = PlayerMap.empty();
+        HabitatTile bear = new HabitatTile(Habitat.Forest, Habitat.River, 1);
+        map.addTileToMap(bear, 9, 9);
+        map.placeTokenAt(9, 9, bear.getTokenOptions()[0]);
+
+        Path file = Files.createTempFile("cascadia", ".jfr");
+        try {
+            Recording recording = FlightRecording.start(file);
+            for (int i = 0; i < 3; i++) {
+                ScoreToken.calculateScore(map, ScoringBear.Option.B2);
+            }
+            recording.stop();
+            recording.close();
+
+            String summary = RecordingAnalyser.summarise(file);
+            assertTrue(summary, summary.contains("cascadia.Score"));
+            // the event, the scorecard and the number of calls
+            assertTrue(summary, summary.matches("(?s).*cascadia\\.Score +B2 +3 .*"));
+            assertFalse(summary, summary.contains("cascadia.BotSearch"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class MetricsTest {
+
+    @Test
+    public void testBucketsCoverEveryValue() {
+        // buckets follow on from each other, and each value is within its bucket
+        for (int i = 1; i < 1888; i++) {
+            assertEquals(LatencyHistogram.highestValue(i - 1) + 1, LatencyHistogram.lowestValue(i));
+        }
+        long[] values = {0, 63, 64, 65, 1000, 123_456_789L, Long.MAX_VALUE};
+        for (long value : values) {
+            int index = LatencyHistogram.index(value);
+            assertTrue(LatencyHistogram.lowestValue(index) <= value);
+            assertTrue(LatencyHistogram.highestValue(index) >= value);
+        }
+    }
+
+    @Test
+    public void testPercentilesAreWithinThreePercent() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long i = 1; i <= 10_000; i++) {
+            histogram.record(i * 1000);
+        }
+        long[] snapshot = histogram.snapshot();
+        assertEquals(10_000, LatencyHistogram.count(snapshot));
+        assertEquals(5_000_000, LatencyHistogram.percentile(snapshot, 50), 5_000_000 * 0.03);
+        assertEquals(9_900_000, LatencyHistogram.percentile(snapshot, 99), 9_900_000 * 0.03);
+        assertEquals(10_000_000, LatencyHistogram.percentile(snapshot, 100), 10_000_000 * 0.03);
+        assertEquals(0, LatencyHistogram.percentile(new LatencyHistogram().snapshot(), 99));
+    }
+
+    @Test
+    public void testExportsIntervalDeltas() throws Exception {
+        LatencyHistogram histogram = Metrics.histogram("test.latency");
+        Path file = Files.createTempFile("metrics", ".jsonl");
+        try {
+            MetricsExporter exporter = new MetricsExporter(file);
+            Metrics.counter("test.count").add(5);
+            histogram.record(2_000_000);
+            exporter.export();
+            Metrics.counter("test.count").add(2);
+            exporter.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals(2, lines.size());
+            assertTrue(lines.get(0), lines.get(0).matches("\\{\"timeMillis\":\\d+,.*"));
+            assertTrue(lines.get(0), lines.get(0).contains("\"test.latency.count\":1,"));
+            assertTrue(lines.get(0), lines.get(0).contains("\"test.latency.p99Millis\":2.0"));
+            // the second export only has what was recorded since the first
+            assertTrue(lines.get(1), lines.get(1).contains("\"test.latency.count\":0,"));
+            assertTrue(lines.get(1), lines.get(1).contains("\"heap.usedBytes\":"));
+            long first = total(lines.get(0));
+            assertEquals(first + 2, total(lines.get(1)));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testExportsCsv() throws Exception {
+        Path file = Files.createTempFile("metrics", ".csv");
+        try {
+            Metrics.counter("test.csv").increment();
+            MetricsExporter exporter = new MetricsExporter(file);
+            exporter.close();
+
+            List<String> lines = Files.readAllLines(file);
+            assertEquals("timeMillis,metric,value", lines.get(0));
+            assertTrue(lines.stream().anyMatch(line -> line.matches("\\d+,test\\.csv\\.total,1")));
+            assertTrue(lines.stream().anyMatch(line -> line.matches("\\d+,bag\\.tilesInUse,\\d+")));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long total(String line) {
+        String key = "\"test.count.total\":";
+        int start = line.indexOf(key) + key.length();
+        int end = line.indexOf(',', start);
+        return Long.parseLong(line.substring(start, end));
+    }
+}
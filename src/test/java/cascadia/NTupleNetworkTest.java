@@ -0,0 +1,97 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NTupleNetworkTest {
+    private PlayerMap map;
+
+    @Before
+    public void generateMap() {
+        TestFixtures.useBotScorecards();
+
+        map = PlayerMap.empty();
+        map.addTileToMap(new HabitatTile(Habitat.Forest, Habitat.River, 2), 9, 9);
+        map.addTileToMap(new HabitatTile(Habitat.Forest, Habitat.Forest, 1), 9, 10);
+        HabitatTile bear = new HabitatTile(Habitat.Mountain, Habitat.Wetland, 3);
+        map.addTileToMap(bear, 10, 9);
+        map.placeTokenAt(10, 9, bear.getTokenOptions()[0]);
+    }
+
+    @Test
+    public void testEvaluateMatchesActiveIndices() {
+        NTupleNetwork network = new NTupleNetwork();
+        int[] indices = new int[NTupleNetwork.MAX_ACTIVE];
+        int count = network.activeIndices(map, 2, 10, indices);
+        // the nature tokens and turns left, and two patterns per direction of each tile
+        assertEquals(1 + 3 * Constants.NUM_EDGES * 2, count);
+
+        network.update(indices, count, 0.5f);
+        assertEquals(network.evaluate(indices, count), network.evaluate(map, 2, 10), 1e-4f);
+        assertTrue(network.evaluate(map, 2, 10) > network.evaluate(map, 3, 10));
+    }
+
+    @Test
+    public void testSaveAndLoad() throws Exception {
+        NTupleNetwork network = new NTupleNetwork();
+        int[] indices = new int[NTupleNetwork.MAX_ACTIVE];
+        int count = network.activeIndices(map, 0, 5, indices);
+        network.update(indices, count, 0.25f);
+
+        Path path = Files.createTempDirectory("ntuple").resolve("ntuple.bin");
+        network.save(path);
+        NTupleNetwork loaded = NTupleNetwork.load(path);
+        assertEquals(network.evaluate(map, 0, 5), loaded.evaluate(map, 0, 5), 0f);
+
+        Files.write(path, new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        try {
+            NTupleNetwork.load(path);
+            fail("Loaded a file that isn't a network");
+        } catch (java.io.IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testTrainingMovesTowardsFinalScore() {
+        NTupleNetwork network = new NTupleNetwork();
+        NTupleTrainer trainer = new NTupleTrainer(network, 0.1f, 1f);
+        int[] scores = trainer.trainGame(7);
+        assertEquals(1, trainer.getGames());
+
+        // with lambda 1 every position was moved part of the way from 0 towards the final
+        // score, so the last positions of a game from the same seed are now worth some of it
+        int[] indices = new int[NTupleNetwork.MAX_ACTIVE];
+        float[] last = new float[2];
+        SelfPlay.play(new EvaluationPolicy[]{
+                new EvaluationPolicy(network, new TranspositionTable(10), new EvaluationCache()),
+                new EvaluationPolicy(network, new TranspositionTable(10), new EvaluationCache())},
+                7, (player, after, natureTokens, turnsLeft) -> {
+                    int count = network.activeIndices(after, natureTokens, turnsLeft, indices);
+                    last[player] = network.evaluate(indices, count);
+                });
+        assertTrue(Arrays.toString(last), last[0] > 0 && last[0] <= scores[0]);
+        assertTrue(Arrays.toString(last), last[1] > 0 && last[1] <= scores[1]);
+    }
+}
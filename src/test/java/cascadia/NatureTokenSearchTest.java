@@ -0,0 +1,103 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class NatureTokenSearchTest {
+    private PlayerMap map;
+    private List<HabitatTile> tiles;
+    private int[][] placements;
+    private NatureTokenSearch search;
+
+    @Before
+    public void generateMap() {
+        TestFixtures.useBotScorecards();
+
+        map = TestFixtures.oneTileMap();
+        tiles = TestFixtures.deckTiles();
+        placements = TestFixtures.deckPlacements();
+        TranspositionTable table = new TranspositionTable(10);
+        EvaluationCache cache = new EvaluationCache();
+        search = new NatureTokenSearch(
+                () -> new EvaluationPolicy(new LinearEvaluator(), table, cache), 2,
+                new SplittableRandom(3));
+    }
+
+    @Test
+    public void testWipedTokensAreRefilledAtTheEnd() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Bear, WildlifeToken.Elk,
+                WildlifeToken.Salmon, WildlifeToken.Hawk);
+        List<WildlifeToken> after = NatureTokenSearch.wipe(tokens, 0b0101, BagModel.botGame(),
+                new SplittableRandom(1));
+        assertEquals(4, after.size());
+        assertEquals(WildlifeToken.Elk, after.get(0));
+        assertEquals(WildlifeToken.Hawk, after.get(1));
+    }
+
+    @Test
+    public void testNeverWipesWithoutNatureTokens() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Hawk, WildlifeToken.Hawk,
+                WildlifeToken.Hawk, WildlifeToken.Elk);
+        assertEquals(0, search.chooseWipe(map, 0, 10, tiles, tokens, placements,
+                Float.NEGATIVE_INFINITY, BagModel.botGame(), () -> () -> true));
+    }
+
+    @Test
+    public void testWipesWhenEveryMoveIsBad() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Hawk, WildlifeToken.Hawk,
+                WildlifeToken.Hawk, WildlifeToken.Elk);
+        // any wipe beats a move scored this low, and nothing is wiped without time
+        assertNotEquals(0, search.chooseWipe(map, 1, 10, tiles, tokens, placements, -1000,
+                BagModel.botGame(), () -> () -> true));
+        assertEquals(0, search.chooseWipe(map, 1, 10, tiles, tokens, placements, -1000,
+                BagModel.botGame(), () -> () -> false));
+        assertEquals(0, search.chooseWipe(map, 1, 10, tiles, tokens, placements, 1000,
+                BagModel.botGame(), () -> () -> true));
+    }
+
+    @Test
+    public void testDeadlineDuringTheLastSampleWipesNothing() {
+        List<WildlifeToken> tokens = List.of(WildlifeToken.Hawk, WildlifeToken.Hawk,
+                WildlifeToken.Hawk, WildlifeToken.Elk);
+        AtomicInteger checks = new AtomicInteger();
+        assertNotEquals(0, singleThreadSearch().chooseWipe(map, 1, 10, tiles, tokens,
+                placements, -1000, BagModel.botGame(),
+                () -> () -> checks.incrementAndGet() > 0));
+
+        // the same search, but time runs out at the very last check
+        int allowed = checks.get() - 1;
+        AtomicInteger late = new AtomicInteger();
+        assertEquals(0, singleThreadSearch().chooseWipe(map, 1, 10, tiles, tokens, placements,
+                -1000, BagModel.botGame(),
+                () -> () -> late.incrementAndGet() <= allowed));
+    }
+
+    // searches the subsets in the same order each time, so the time checks are the same
+    private NatureTokenSearch singleThreadSearch() {
+        TranspositionTable table = new TranspositionTable(10);
+        EvaluationCache cache = new EvaluationCache();
+        return new NatureTokenSearch(
+                () -> new EvaluationPolicy(new LinearEvaluator(), table, cache), 1,
+                new SplittableRandom(3));
+    }
+}
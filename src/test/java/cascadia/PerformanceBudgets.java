@@ -0,0 +1,330 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.scoring.ScoreCards;
+import cascadia.scoring.ScoreToken;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Budgets for how fast the bots must be, checked by {@code PerformanceTest}
+ * so slow bots are caught by the normal test run.  There are budgets for
+ * the 99th percentile time of a bot turn, the bytes allocated in a turn,
+ * and how many times a second a map can be scored.
+ *
+ * <p>The turns are replayed from a fixed {@link PositionCorpus} of 200
+ * positions, so the 99th percentile leaves out the two slowest turns rather
+ * than being the slowest one.  The time budget is long, so each search runs
+ * to the end and the time measured is the work it does.
+ *
+ * <p>Machines differ, so the budgets are read from the file named by the
+ * {@value #BUDGETS_PROPERTY} system property, or the defaults are used if
+ * there isn't one.  Running this class measures the machine and writes the
+ * budgets, with some headroom, to that file.
+ */
+public class PerformanceBudgets {
+    public static final String BUDGETS_PROPERTY = "cascadia.perfBudgets";
+    private static final String DEFAULT_FILE = "perf-budgets.properties";
+    private static final String TURN_P99_MILLIS = "turnP99Millis";
+    private static final String TURN_ALLOCATED_BYTES = "turnAllocatedBytes";
+    private static final String SCORING_CALLS_PER_SECOND = "scoringCallsPerSecond";
+    // loose enough for a slow machine, calibrate for tighter ones
+    private static final PerformanceBudgets DEFAULTS =
+            new PerformanceBudgets(1000, 64L << 20, 5000);
+    // how far past its measurement a calibrated budget is
+    private static final double TIME_HEADROOM = 2;
+    private static final double ALLOCATION_HEADROOM = 1.5;
+    private static final double RATE_HEADROOM = 0.5;
+    // 10 games x 10 rounds x 2 seats, enough turns for a 99th percentile
+    private static final int CORPUS_GAMES = 10;
+    private static final long CORPUS_SEED = 20050;
+    private static final int[] CORPUS_ROUNDS = {0, 2, 4, 6, 8, 10, 12, 14, 16, 19};
+    private static final int CORPUS_PLAYERS = 2;
+    // how many positions are played to compile the searches before measuring
+    private static final int WARM_UP_POSITIONS = 20;
+    private static final long TURN_BUDGET_NANOS = 60_000_000_000L;
+    private static final long SCORING_NANOS = 250_000_000L;
+    private static final double PERCENTILE = 0.99;
+    // keeps the scores from being optimised away
+    private static volatile int sink;
+    private final double turnP99Millis;
+    private final long turnAllocatedBytes;
+    private final double scoringCallsPerSecond;
+
+    /**
+     * @param turnP99Millis the most the 99th percentile turn may take
+     * @param turnAllocatedBytes the most a turn may allocate, on average
+     * @param scoringCallsPerSecond the fewest scorer calls a second there may be
+     */
+    public PerformanceBudgets(double turnP99Millis, long turnAllocatedBytes,
+                              double scoringCallsPerSecond) {
+        this.turnP99Millis = turnP99Millis;
+        this.turnAllocatedBytes = turnAllocatedBytes;
+        this.scoringCallsPerSecond = scoringCallsPerSecond;
+    }
+
+    /**
+     * What was measured on this machine.
+     */
+    public static class Measurement {
+        private final double turnP99Millis;
+        private final long turnAllocatedBytes;
+        private final double scoringCallsPerSecond;
+
+        Measurement(double turnP99Millis, long turnAllocatedBytes, double scoringCallsPerSecond) {
+            this.turnP99Millis = turnP99Millis;
+            this.turnAllocatedBytes = turnAllocatedBytes;
+            this.scoringCallsPerSecond = scoringCallsPerSecond;
+        }
+
+        public double getTurnP99Millis() {
+            return turnP99Millis;
+        }
+
+        public long getTurnAllocatedBytes() {
+            return turnAllocatedBytes;
+        }
+
+        public double getScoringCallsPerSecond() {
+            return scoringCallsPerSecond;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("p99 turn %.1f ms, %d KB allocated a turn, %.0f scoring calls/s",
+                    turnP99Millis, turnAllocatedBytes >> 10, scoringCallsPerSecond);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path path = args.length > 0 ? Paths.get(args[0]) : budgetsPath();
+        Game.botMode = true;
+        ScoreCards.generateScorecards();
+        List<CorpusPosition> corpus = corpus();
+        // the slowest of the runs is kept
+        warmUp(corpus);
+        Measurement worst = null;
+        for (int i = 0; i < 3; i++) {
+            Measurement measurement = measure(corpus);
+            System.out.println(measurement);
+            worst = worst == null ? measurement : new Measurement(
+                    Math.max(worst.turnP99Millis, measurement.turnP99Millis),
+                    Math.max(worst.turnAllocatedBytes, measurement.turnAllocatedBytes),
+                    Math.min(worst.scoringCallsPerSecond, measurement.scoringCallsPerSecond));
+        }
+        PerformanceBudgets budgets = calibrate(worst);
+        budgets.save(path);
+        System.out.println("Wrote the budgets to " + path + ": " + budgets);
+    }
+
+    /**
+     * Returns the budgets for this machine, or the defaults if it hasn't been
+     * calibrated.
+     */
+    public static PerformanceBudgets load() throws IOException {
+        Path path = budgetsPath();
+        return Files.exists(path) ? load(path) : DEFAULTS;
+    }
+
+    public static PerformanceBudgets load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (Reader in = Files.newBufferedReader(path)) {
+            properties.load(in);
+        }
+        try {
+            return new PerformanceBudgets(
+                    Double.parseDouble(properties.getProperty(TURN_P99_MILLIS)),
+                    Long.parseLong(properties.getProperty(TURN_ALLOCATED_BYTES)),
+                    Double.parseDouble(properties.getProperty(SCORING_CALLS_PER_SECOND)));
+        } catch (NullPointerException | NumberFormatException e) {
+            throw new IOException(path + " is not a performance budgets file", e);
+        }
+    }
+
+    /**
+     * Writes the budgets, to a temporary file first so they are never left
+     * half written.
+     */
+    public void save(Path path) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(TURN_P99_MILLIS, Double.toString(turnP99Millis));
+        properties.setProperty(TURN_ALLOCATED_BYTES, Long.toString(turnAllocatedBytes));
+        properties.setProperty(SCORING_CALLS_PER_SECOND, Double.toString(scoringCallsPerSecond));
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(tmp)) {
+            properties.store(out, "Performance budgets, written by cascadia.PerformanceBudgets");
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static Path budgetsPath() {
+        return Paths.get(System.getProperty(BUDGETS_PROPERTY, DEFAULT_FILE));
+    }
+
+    /**
+     * Returns budgets with some headroom over a measurement, so the noise
+     * between runs doesn't fail them.
+     */
+    public static PerformanceBudgets calibrate(Measurement measurement) {
+        return new PerformanceBudgets(measurement.turnP99Millis * TIME_HEADROOM,
+                (long) (measurement.turnAllocatedBytes * ALLOCATION_HEADROOM),
+                measurement.scoringCallsPerSecond * RATE_HEADROOM);
+    }
+
+    /**
+     * Returns the positions the budgets are measured on, the same every time.
+     * Scorecards must have been drawn first.
+     */
+    public static List<CorpusPosition> corpus() {
+        return PositionCorpus.generate(CORPUS_GAMES, CORPUS_SEED, CORPUS_ROUNDS, CORPUS_PLAYERS);
+    }
+
+    /**
+     * Plays a few of the positions, so the searches are compiled before
+     * they are measured.
+     */
+    public static void warmUp(List<CorpusPosition> corpus) {
+        measure(corpus.subList(0, Math.min(WARM_UP_POSITIONS, corpus.size())));
+    }
+
+    /**
+     * Plays a turn from each position with the standard bot, then scores
+     * every map in the corpus for a quarter of a second.
+     */
+    public static Measurement measure(List<CorpusPosition> corpus) {
+        PluginChoice plugin = new StandardPlugin(TurnSearch.DEFAULT_MEMORY_BUDGET);
+        plugin.setPondering(false);
+        plugin.warmUp();
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        double[] turnMillis = new double[corpus.size()];
+        long allocated = 0;
+        try {
+            for (int i = 0; i < corpus.size(); i++) {
+                CorpusPosition position = corpus.get(i);
+                List<Player> players = new ArrayList<>();
+                for (int p = 0; p < position.getNumPlayers(); p++) {
+                    players.add(position.toPlayer(p, "BOT " + (char) ('A' + p)));
+                }
+                plugin.newGame(players, position.getToMove());
+                List<HabitatTile> deckTiles = position.getDeckTiles();
+                List<WildlifeToken> deckTokens = position.getDeckTokens();
+                TimeControl clock = new TimeControl(TURN_BUDGET_NANOS, 0);
+
+                Map<Long, Long> before = allocatedBytes(threads);
+                clock.startTurn();
+                plugin.chooseMove(players.get(position.getToMove()), deckTiles, deckTokens,
+                        position.getTurnsLeft(), new TurnBudget(clock));
+                turnMillis[i] = clock.endTurn() / 1e6;
+                allocated += allocatedSince(threads, before);
+            }
+        } finally {
+            plugin.endGame();
+        }
+
+        List<PlayerMap> maps = new ArrayList<>();
+        for (CorpusPosition position : corpus) {
+            for (int p = 0; p < position.getNumPlayers(); p++) {
+                maps.add(position.toMap(p));
+            }
+        }
+        long calls = 0;
+        int total = 0;
+        long start = System.nanoTime();
+        long elapsed;
+        do {
+            for (PlayerMap map : maps) {
+                for (WildlifeToken token : WildlifeToken.values()) {
+                    total += ScoreToken.calculateScore(map, token);
+                    calls++;
+                }
+            }
+            elapsed = System.nanoTime() - start;
+        } while (elapsed < SCORING_NANOS);
+        sink = total;
+
+        return new Measurement(percentile(turnMillis, PERCENTILE),
+                corpus.isEmpty() ? 0 : allocated / corpus.size(), calls / (elapsed / 1e9));
+    }
+
+    // the searches may run on other threads, so the bytes allocated by every thread are counted
+    private static Map<Long, Long> allocatedBytes(com.sun.management.ThreadMXBean threads) {
+        Map<Long, Long> bytes = new HashMap<>();
+        if (threads.isThreadAllocatedMemorySupported()) {
+            long[] ids = threads.getAllThreadIds();
+            long[] allocated = threads.getThreadAllocatedBytes(ids);
+            for (int i = 0; i < ids.length; i++) {
+                bytes.put(ids[i], allocated[i]);
+            }
+        }
+        return bytes;
+    }
+
+    private static long allocatedSince(com.sun.management.ThreadMXBean threads,
+                                       Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> thread : allocatedBytes(threads).entrySet()) {
+            // -1 if the thread has died
+            if (thread.getValue() > 0) {
+                total += thread.getValue() - before.getOrDefault(thread.getKey(), 0L);
+            }
+        }
+        return total;
+    }
+
+    static double percentile(double[] values, double percentile) {
+        if (values.length == 0) {
+            return 0;
+        }
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+
+    public double getTurnP99Millis() {
+        return turnP99Millis;
+    }
+
+    public long getTurnAllocatedBytes() {
+        return turnAllocatedBytes;
+    }
+
+    public double getScoringCallsPerSecond() {
+        return scoringCallsPerSecond;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("p99 turn at most %.1f ms, at most %d KB allocated a turn, at least "
+                        + "%.0f scoring calls/s", turnP99Millis, turnAllocatedBytes >> 10,
+                scoringCallsPerSecond);
+    }
+}
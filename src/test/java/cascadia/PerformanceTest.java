@@ -0,0 +1,94 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Fails if the bots are slower than this machine's budgets, see
+ * {@link PerformanceBudgets}.
+ */
+public class PerformanceTest {
+    // measured once, as every test checks the same run
+    private static PerformanceBudgets.Measurement measurement;
+    private PerformanceBudgets budgets;
+
+    @Before
+    public void measure() throws Exception {
+        TestFixtures.useBotScorecards();
+
+        budgets = PerformanceBudgets.load();
+        if (measurement == null) {
+            List<CorpusPosition> corpus = PerformanceBudgets.corpus();
+            PerformanceBudgets.warmUp(corpus);
+            measurement = PerformanceBudgets.measure(corpus);
+        }
+    }
+
+    @Test
+    public void testTurnLatency() {
+        assertTrue(measurement + " against " + budgets,
+                measurement.getTurnP99Millis() <= budgets.getTurnP99Millis());
+    }
+
+    @Test
+    public void testTurnAllocation() {
+        assertTrue(measurement + " against " + budgets,
+                measurement.getTurnAllocatedBytes() <= budgets.getTurnAllocatedBytes());
+    }
+
+    @Test
+    public void testScoringRate() {
+        assertTrue(measurement + " against " + budgets,
+                measurement.getScoringCallsPerSecond() >= budgets.getScoringCallsPerSecond());
+    }
+
+    @Test
+    public void testCalibratedBudgetsSaveAndLoad() throws Exception {
+        PerformanceBudgets calibrated = PerformanceBudgets.calibrate(measurement);
+        assertTrue(calibrated.getTurnP99Millis() >= measurement.getTurnP99Millis());
+        assertTrue(calibrated.getScoringCallsPerSecond()
+                <= measurement.getScoringCallsPerSecond());
+
+        Path path = Files.createTempFile("budgets", ".properties");
+        try {
+            calibrated.save(path);
+            PerformanceBudgets loaded = PerformanceBudgets.load(path);
+            assertEquals(calibrated.getTurnP99Millis(), loaded.getTurnP99Millis(), 0);
+            assertEquals(calibrated.getTurnAllocatedBytes(), loaded.getTurnAllocatedBytes());
+            assertEquals(calibrated.getScoringCallsPerSecond(),
+                    loaded.getScoringCallsPerSecond(), 0);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testPercentile() {
+        double[] values = new double[200];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = values.length - i;
+        }
+        assertEquals(198, PerformanceBudgets.percentile(values, 0.99), 0);
+        assertEquals(3, PerformanceBudgets.percentile(new double[]{3, 1, 2}, 0.99), 0);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class PositionCorpusTest {
+    private List<CorpusPosition> positions;
+
+    @Before
+    public void generateCorpus() {
+        TestFixtures.useBotScorecards();
+
+        positions = PositionCorpus.generate(1, 7, new int[] {0, 19}, 2);
+    }
+
+    @Test
+    public void testGenerateTakesEachPlayersTurnInTheRounds() {
+        assertEquals(4, positions.size());
+        assertEquals(0, positions.get(0).getTurn());
+        assertEquals(1, positions.get(1).getToMove());
+        assertEquals(20, positions.get(0).getTurnsLeft());
+        assertEquals(1, positions.get(3).getTurnsLeft());
+        // the starter tiles, then a tile for every turn played
+        assertEquals(3, positions.get(0).getBoard(0).length);
+        assertEquals(22, positions.get(2).getBoard(0).length);
+        assertEquals(4, positions.get(0).getDeckTiles().size());
+    }
+
+    @Test
+    public void testGenerateIsDeterministic() {
+        List<CorpusPosition> again = PositionCorpus.generate(1, 7, new int[] {0, 19}, 2);
+        for (int i = 0; i < positions.size(); i++) {
+            assertArrayEquals(positions.get(i).getBoard(1), again.get(i).getBoard(1));
+            assertArrayEquals(positions.get(i).getPackedDeckTiles(),
+                    again.get(i).getPackedDeckTiles());
+        }
+    }
+
+    @Test
+    public void testWriteAndRead() throws Exception {
+        Path path = Files.createTempFile("corpus", ".bin");
+        try {
+            PositionCorpus.write(path, positions);
+            List<CorpusPosition> read = PositionCorpus.read(path);
+            assertEquals(positions.size(), read.size());
+            for (int i = 0; i < positions.size(); i++) {
+                CorpusPosition expected = positions.get(i);
+                CorpusPosition actual = read.get(i);
+                assertEquals(expected.getSeed(), actual.getSeed());
+                assertEquals(expected.getTurn(), actual.getTurn());
+                assertEquals(expected.getToMove(), actual.getToMove());
+                assertArrayEquals(expected.getScorecards(), actual.getScorecards());
+                for (int p = 0; p < expected.getNumPlayers(); p++) {
+                    assertArrayEquals(expected.getBoard(p), actual.getBoard(p));
+                    assertEquals(expected.getNatureTokens(p), actual.getNatureTokens(p));
+                    assertEquals(expected.getScore(p), actual.getScore(p));
+                }
+                assertArrayEquals(expected.getPackedDeckTiles(), actual.getPackedDeckTiles());
+                assertArrayEquals(expected.getPackedDeckTokens(), actual.getPackedDeckTokens());
+                assertArrayEquals(expected.getBag().getTokens(), actual.getBag().getTokens());
+            }
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test(expected = java.io.IOException.class)
+    public void testReadRejectsOtherFiles() throws Exception {
+        Path path = Files.createTempFile("corpus", ".bin");
+        try {
+            Files.write(path, new byte[] {1, 2, 3, 4, 5, 6, 7, 8});
+            PositionCorpus.read(path);
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    @Test
+    public void testPackKeepsRotationAndTokens() {
+        HabitatTile tile = new HabitatTile(Habitat.Wetland, Habitat.Mountain, 3);
+        tile.rotateTile(4);
+        PlayerMap map = PlayerMap.empty();
+        map.addTileToMap(tile, 9, 9);
+        map.placeTokenAt(9, 9, tile.getTokenOptions()[1]);
+
+        int packed = CorpusPosition.pack(tile, 9, 9);
+        assertEquals(9, CorpusPosition.row(packed));
+        assertEquals(9, CorpusPosition.col(packed));
+        assertEquals(tile.getPlacedToken(), CorpusPosition.placedToken(packed));
+        // unpacked tiles don't have their token placed
+        assertEquals(Zobrist.tileKey(tile, 9, 9),
+                Zobrist.tileKey(CorpusPosition.unpack(packed), 9, 9)
+                        ^ Zobrist.tokenKey(9, 9, tile.getPlacedToken()));
+    }
+
+    @Test
+    public void testMapsAreRebuiltExactly() {
+        CorpusPosition last = positions.get(positions.size() - 1);
+        PlayerMap map = last.toMap(1);
+        assertEquals(Zobrist.hashBoard(map.getTileBoardPosition()), map.getZobristHash());
+        assertArrayEquals(last.getBoard(1), CorpusPosition.packMap(map));
+        assertEquals(last.getScore(1), SelfPlay.scores(
+                new PlayerMap[] {last.toMap(0), map},
+                new int[] {last.getNatureTokens(0), last.getNatureTokens(1)})[1]);
+
+        Player player = last.toPlayer(1, "p");
+        assertEquals(last.getNatureTokens(1), player.getPlayerNatureTokens());
+        assertEquals(map.getZobristHash(), player.getMap().getZobristHash());
+    }
+}
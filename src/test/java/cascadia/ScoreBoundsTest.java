@@ -0,0 +1,136 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoreBounds;
+import cascadia.scoring.ScoreToken;
+import cascadia.scoring.Scorable;
+import cascadia.scoring.ScoringBear;
+import cascadia.scoring.ScoringElk;
+import cascadia.scoring.ScoringFox;
+import cascadia.scoring.ScoringHawk;
+import cascadia.scoring.ScoringSalmon;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ScoreBoundsTest {
+    private static final int PLACEMENTS = 3;
+
+    @Test
+    public void testBoundsOfEmptyMap() {
+        assertEquals(27, ScoreBounds.maxScore("B1", 0, 20));
+        assertEquals(4, ScoreBounds.maxScore("B1", 1, 1));
+        assertEquals(0, ScoreBounds.maxScore("B2", 0, 2));
+        // two lines of 4 elk
+        assertEquals(26, ScoreBounds.maxScore("E1", 0, 8));
+        assertEquals(3, ScoreBounds.maxScore("H3", 2, 0));
+        assertEquals(8, ScoreBounds.maxGain("B1", 5, 1, 11));
+        assertEquals(0, ScoreBounds.maxGain("B1", 3, 1, 11));
+        assertEquals(0, ScoreBounds.maxGain("B2", 3, 1, 10));
+    }
+
+    @Test
+    public void testBoundsAreNeverBeaten() {
+        Random rand = new Random(20050);
+        for (int game = 0; game < 200; game++) {
+            PlayerMap map = randomMap(rand);
+            for (Scorable[] options : List.of(ScoringBear.Option.values(),
+                    ScoringElk.Option.values(), ScoringSalmon.Option.values(),
+                    ScoringHawk.Option.values(), ScoringFox.Option.values())) {
+                for (Scorable option : options) {
+                    checkBounds(map.copy(), option, new Random(rand.nextLong()));
+                }
+            }
+        }
+    }
+
+    private static void checkBounds(PlayerMap map, Scorable option, Random rand) {
+        String card = option.toString();
+        WildlifeToken token = tokenOf(card);
+        int tokens = ScoreBounds.countTokens(map, token);
+        int before = ScoreToken.calculateScore(map, option);
+        int bound = ScoreBounds.maxGain(card, tokens, PLACEMENTS, before);
+        assertTrue(card, before <= ScoreBounds.maxScore(card, tokens, 0));
+        for (int i = 1; i <= PLACEMENTS; i++) {
+            placeRandomToken(map, rand);
+            int score = ScoreToken.calculateScore(map, option);
+            assertTrue(card + " went from " + before + " to " + score,
+                    score - before <= ScoreBounds.maxGain(card, tokens, i, before));
+            assertTrue(card, score - before <= bound);
+        }
+    }
+
+    private static WildlifeToken tokenOf(String card) {
+        return switch (card.charAt(0)) {
+            case 'B' -> WildlifeToken.Bear;
+            case 'E' -> WildlifeToken.Elk;
+            case 'S' -> WildlifeToken.Salmon;
+            case 'H' -> WildlifeToken.Hawk;
+            default -> WildlifeToken.Fox;
+        };
+    }
+
+    // a small crowded map, so groups, lines and runs form often
+    private static PlayerMap randomMap(Random rand) {
+        PlayerMap map = new PlayerMap();
+        map.clearTileBoard();
+        for (int row = 8; row < 13; row++) {
+            for (int col = 8; col < 13; col++) {
+                if (rand.nextInt(4) > 0) {
+                    HabitatTile tile = new HabitatTile(Habitat.Forest, Habitat.River, 1);
+                    if (rand.nextInt(3) > 0) {
+                        tile.setTokenForTesting(randomToken(rand));
+                    }
+                    map.addTileToMap(tile, row, col);
+                }
+            }
+        }
+        return map;
+    }
+
+    // places a token on an empty tile, or a new tile with a token next to the others
+    private static void placeRandomToken(PlayerMap map, Random rand) {
+        List<HabitatTile> empty = new ArrayList<>();
+        for (HabitatTile tile : map.getTilesInMap()) {
+            if (!tile.getIsTokenPlaced()) {
+                empty.add(tile);
+            }
+        }
+        if (!empty.isEmpty() && rand.nextBoolean()) {
+            int[] position = empty.get(rand.nextInt(empty.size())).getMapPosition();
+            map.placeTokenAt(position[0], position[1], randomToken(rand));
+            return;
+        }
+        int row;
+        int col;
+        do {
+            row = 7 + rand.nextInt(7);
+            col = 7 + rand.nextInt(7);
+        } while (map.returnTileAtPositionInMap(row, col) != null);
+        HabitatTile tile = new HabitatTile(Habitat.Forest, Habitat.River, 1);
+        tile.setTokenForTesting(randomToken(rand));
+        map.addTileToMap(tile, row, col);
+    }
+
+    private static WildlifeToken randomToken(Random rand) {
+        return WildlifeToken.values()[rand.nextInt(WildlifeToken.values().length)];
+    }
+}
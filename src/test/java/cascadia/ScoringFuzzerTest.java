@@ -0,0 +1,89 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.util.SplittableRandom;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ScoringFuzzerTest {
+
+    @Before
+    public void setScorecards() {
+        TestFixtures.useBotScorecards();
+    }
+
+    @Test
+    public void testFastScorersMatchTheReference() throws Exception {
+        for (String check : ScoringFuzzer.CHECKS.keySet()) {
+            ScoringFuzzer.Failure failure = ScoringFuzzer.run(check, 200, 20050, 2);
+            if (failure != null) {
+                fail(failure.toFixture());
+            }
+        }
+    }
+
+    @Test
+    public void testRandomBoardsAreLegal() {
+        for (int i = 0; i < 100; i++) {
+            int[] board = ScoringFuzzer.randomBoard(new SplittableRandom(i));
+            assertTrue(ScoringFuzzer.isLegal(board));
+            assertTrue(board.length >= 3 && board.length <= 23);
+        }
+        // the same seed always makes the same board
+        assertArrayEquals(ScoringFuzzer.randomBoard(new SplittableRandom(5)),
+                ScoringFuzzer.randomBoard(new SplittableRandom(5)));
+    }
+
+    @Test
+    public void testShrinksToTheSmallestFailingBoard() {
+        // a broken check which fails as soon as a bear is placed
+        ScoringFuzzer.Check bears = () -> (map, placement) ->
+                CorpusPosition.placedToken(placement) == WildlifeToken.Bear ? "a bear" : null;
+        int[] board = null;
+        for (int seed = 0; board == null; seed++) {
+            int[] candidate = ScoringFuzzer.randomBoard(new SplittableRandom(seed));
+            if (candidate.length > 10 && ScoringFuzzer.check(bears, candidate) != null) {
+                board = candidate;
+            }
+        }
+
+        int[] shrunk = ScoringFuzzer.shrink(bears, board);
+        assertEquals(1, shrunk.length);
+        assertEquals(WildlifeToken.Bear, CorpusPosition.placedToken(shrunk[0]));
+        assertEquals(1 << WildlifeToken.Bear.ordinal(), CorpusPosition.options(shrunk[0]));
+        assertEquals(0, CorpusPosition.unpack(shrunk[0]).getRotation());
+    }
+
+    @Test
+    public void testFixtureReplaysTheBoard() {
+        int[] board = ScoringFuzzer.randomBoard(new SplittableRandom(3));
+        ScoringFuzzer.Failure failure = new ScoringFuzzer.Failure("corridors", 3, 0, board,
+                "placement 0: a test");
+        String fixture = failure.toFixture();
+        assertTrue(fixture.contains("public void testCorridorsBoard0()"));
+        assertTrue(fixture.contains(String.format("0x%08x", board[board.length - 1])));
+        assertTrue(fixture.contains("assertNull(ScoringFuzzer.check(\"corridors\", placements));"));
+        assertNull(ScoringFuzzer.check("corridors", board));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testUnknownCheck() {
+        ScoringFuzzer.check("nothing", new int[0]);
+    }
+}
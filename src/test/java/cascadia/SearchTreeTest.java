@@ -0,0 +1,105 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SearchTreeTest {
+
+    @Test
+    public void testReleasedNodesAreReused() {
+        SearchTree tree = new SearchTree(8);
+        int root = tree.newNode(1L, 0);
+        int child = tree.addChild(root, 2L, 0);
+        tree.addChild(child, 3L, 0);
+        tree.addChild(child, 4L, 0);
+        assertEquals(4, tree.size());
+
+        tree.releaseChild(child);
+        assertEquals(1, tree.size());
+        assertEquals(SearchTree.NONE, tree.getFirstChild(root));
+
+        // the released nodes are used again before any new ones
+        for (int i = 0; i < 3; i++) {
+            assertTrue(tree.addChild(root, 5L + i, 0) < 4);
+        }
+    }
+
+    @Test
+    public void testFullTreeReturnsNone() {
+        SearchTree tree = new SearchTree(2);
+        int root = tree.newNode(1L, 0);
+        assertNotEquals(SearchTree.NONE, tree.addChild(root, 2L, 0));
+        assertEquals(SearchTree.NONE, tree.addChild(root, 3L, 0));
+    }
+
+    @Test
+    public void testArenaMemoryBudget() {
+        // 2 ints, 1 float and 1 long is 20 bytes a node
+        NodeArena arena = NodeArena.withMemoryBudget(2, 1, 1, 100);
+        assertEquals(5, arena.capacity());
+        for (int i = 0; i < 5; i++) {
+            int node = arena.allocate();
+            arena.setLong(node, 0, i);
+            arena.setFloat(node, 0, i);
+        }
+        assertEquals(NodeArena.NONE, arena.allocate());
+
+        // freed nodes come back with their fields cleared
+        arena.free(3);
+        assertEquals(3, arena.allocate());
+        assertEquals(0, arena.getLong(3, 0));
+        assertEquals(0, arena.getFloat(3, 0), 0);
+        assertEquals(4, arena.getLong(4, 0));
+    }
+
+    @Test
+    public void testSearchOfRemainingPairsIsKept() {
+        TestFixtures.useBotScorecards();
+
+        PlayerMap map = new PlayerMap();
+        List<HabitatTile> tiles = new ArrayList<>();
+        List<WildlifeToken> tokens = new ArrayList<>();
+        for (int i = 0; i < Constants.MAX_DECK_SIZE; i++) {
+            tiles.add(new HabitatTile(Habitat.values()[i], Habitat.values()[i + 1], 2));
+            tokens.add(WildlifeToken.values()[i]);
+        }
+        TurnSearch search = new TurnSearch(new TranspositionTable(), new EvaluationCache());
+        assertTrue(search.search(map, tiles, tokens, () -> true));
+        int[] move = search.getBestMove(tiles, tokens);
+        assertNotNull(move);
+        // the best move's placement is the best placement of its pair
+        int[][] placements = search.getBestPlacements(tiles, tokens);
+        assertEquals(tiles.size(), placements.length);
+        assertArrayEquals(new int[]{move[1], move[2], move[3]}, placements[move[0]]);
+
+        // the other player takes a pair, and it's replaced
+        tiles.remove(1);
+        tokens.remove(1);
+        tiles.add(new HabitatTile(Habitat.Forest, Habitat.Forest, 1));
+        tokens.add(WildlifeToken.Fox);
+        assertEquals(3, search.reroot(map, tiles, tokens));
+        assertNull(search.getBestMove(tiles, tokens));
+        assertNull(search.getBestPlacements(tiles, tokens));
+        assertTrue(search.search(map, tiles, tokens, () -> true));
+        assertNotNull(search.getBestMove(tiles, tokens));
+    }
+}
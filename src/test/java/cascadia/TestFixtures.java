@@ -0,0 +1,64 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import cascadia.scoring.ScoreCards;
+import java.util.List;
+
+/**
+ * Fixtures shared by the bot tests.
+ */
+public class TestFixtures {
+    /**
+     * Sets the scorecards the bots play with (always the first of each),
+     * which scoring needs, without leaving the game in bot mode.
+     */
+    static void useBotScorecards() {
+        boolean botMode = Game.botMode;
+        Game.botMode = true;
+        ScoreCards.generateScorecards();
+        Game.botMode = botMode;
+    }
+
+    /**
+     * Returns a map with a single tile, at (9, 9).
+     */
+    static PlayerMap oneTileMap() {
+        PlayerMap map = PlayerMap.empty();
+        map.addTileToMap(new HabitatTile(Habitat.Forest, Habitat.River, 2), 9, 9);
+        return map;
+    }
+
+    /**
+     * Returns a deck of four tiles to place on {@link #oneTileMap()}.
+     */
+    static List<HabitatTile> deckTiles() {
+        return List.of(new HabitatTile(Habitat.Forest, Habitat.Forest, 1),
+                new HabitatTile(Habitat.River, Habitat.Wetland, 3),
+                new HabitatTile(Habitat.Mountain, Habitat.Prairie, 2),
+                new HabitatTile(Habitat.Wetland, Habitat.Wetland, 1));
+    }
+
+    /**
+     * Returns {row, col, rotation} of each of the {@link #deckTiles()}, each
+     * next to the tile on {@link #oneTileMap()}.
+     */
+    static int[][] deckPlacements() {
+        return new int[][]{{9, 10, 0}, {10, 9, 0}, {8, 9, 0}, {10, 10, 0}};
+    }
+}
@@ -15,18 +15,14 @@
 
 package cascadia;
 
-import org.junit.Ignore;
 import org.junit.Test;
 
 import cascadia.HabitatTile.Habitat;
 
 import static org.junit.Assert.*;
 
-import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
-import java.util.List;
 
 public class TileBotTest {
 	
@@ -60,107 +56,4 @@ public class TileBotTest {
 		String properOrder2 = "{Mountain=5, Prairie=4, Wetland=2, Forest=1, River=1,}";
 		assertEquals(properOrder2, maxMinCorrs.toString());
 	}
-	@Ignore
-	@Test
-	public void rankGaps() {
-		TileBot bot = new TileBot();
-		Player p1 = new Player("p1");
-		Player p2 = new Player("p2");
-		int[] p1corrs = {1,1,1,1,1};
-		int[] p2corrs = {1,2,3,4,5};
-		p1.setLongestCorridorSizes(p1corrs);
-		p2.setLongestCorridorSizes(p2corrs);
-		
-		ArrayList<HabitatTile> deckTiles = new ArrayList<>();
-		deckTiles.add(newTile(Habitat.River, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Forest, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Prairie, Habitat.Wetland, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Mountain, Habitat.Wetland, WildlifeToken.Fox));
-		
-		int[] rankGaps = bot.rankGaps(deckTiles, p1, p2);
-	}
-	@Ignore
-	@Test
-	public void testRankDeckTiles1() {
-		TileBot bot = new TileBot();
-		ArrayList<HabitatTile> deckTiles = new ArrayList<>();
-		deckTiles.add(newTile(Habitat.River, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Forest, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Prairie, Habitat.Wetland, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Mountain, Habitat.Wetland, WildlifeToken.Fox));
-		LinkedHashMap<Habitat, Integer> matchHabitatCorridors = new LinkedHashMap<>();
-		//indexing -> 0: Forest corridor, 1: Wetland corridor, 2: River corridor, 3: Mountain corridor, 4: Prairie corridor
-		matchHabitatCorridors.put(Habitat.Forest, 1); //4
-		matchHabitatCorridors.put(Habitat.Wetland, 2); //3
-		matchHabitatCorridors.put(Habitat.River, 3); //2
-		matchHabitatCorridors.put(Habitat.Mountain, 3); //2
-		matchHabitatCorridors.put(Habitat.Prairie, 4); //1
-		
-		int[] rankedDeck = bot.rankDeckTiles(deckTiles, matchHabitatCorridors);
-		String ranked = "[4, 0, 3, 1]";
-		assertEquals(ranked, Arrays.toString(rankedDeck));
-	}
-	@Ignore
-	@Test
-	public void testRankDeckTiles2() {
-		TileBot bot = new TileBot();
-		ArrayList<HabitatTile> deckTiles = new ArrayList<>();
-		deckTiles.add(newTile(Habitat.River, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Wetland, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Mountain, Habitat.Wetland, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Mountain, Habitat.River, WildlifeToken.Fox));
-		LinkedHashMap<Habitat, Integer> matchHabitatCorridors = new LinkedHashMap<>();
-		//indexing -> 0: Forest corridor, 1: Wetland corridor, 2: River corridor, 3: Mountain corridor, 4: Prairie corridor
-		matchHabitatCorridors.put(Habitat.Forest, 1); //4
-		matchHabitatCorridors.put(Habitat.Wetland, 2); //3
-		matchHabitatCorridors.put(Habitat.River, 3); //2
-		matchHabitatCorridors.put(Habitat.Mountain, 3); //2
-		matchHabitatCorridors.put(Habitat.Prairie, 4); //1
-		
-		int[] rankedDeck = bot.rankDeckTiles(deckTiles, matchHabitatCorridors);
-		String ranked = "[4, 3, 1, 1]";
-		assertEquals(ranked, Arrays.toString(rankedDeck));
-	}
-	@Ignore
-	@Test
-	public void testRankDeckTiles3() {
-		TileBot bot = new TileBot();
-		ArrayList<HabitatTile> deckTiles = new ArrayList<>();
-		deckTiles.add(newTile(Habitat.River, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Wetland, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Prairie, Habitat.Wetland, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Mountain, Habitat.River, WildlifeToken.Fox));
-		LinkedHashMap<Habitat, Integer> matchHabitatCorridors = new LinkedHashMap<>();
-		//indexing -> 0: Forest corridor, 1: Wetland corridor, 2: River corridor, 3: Mountain corridor, 4: Prairie corridor
-		matchHabitatCorridors.put(Habitat.Forest, 2); //4
-		matchHabitatCorridors.put(Habitat.Wetland, 2); //3
-		matchHabitatCorridors.put(Habitat.River, 2); //2
-		matchHabitatCorridors.put(Habitat.Mountain, 2); //2
-		matchHabitatCorridors.put(Habitat.Prairie, 4); //1
-		
-		int[] rankedDeck = bot.rankDeckTiles(deckTiles, matchHabitatCorridors);
-		String ranked = "[1, 1, 0, 1]";
-		assertEquals(ranked, Arrays.toString(rankedDeck));
-	}
-	@Ignore
-	@Test
-	public void testRankDeckTiles4() {
-		TileBot bot = new TileBot();
-		ArrayList<HabitatTile> deckTiles = new ArrayList<>();
-		deckTiles.add(newTile(Habitat.Forest, Habitat.Forest, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Wetland, Habitat.Wetland, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.River, Habitat.River, WildlifeToken.Fox));
-		deckTiles.add(newTile(Habitat.Mountain, Habitat.Mountain, WildlifeToken.Fox));
-		LinkedHashMap<Habitat, Integer> matchHabitatCorridors = new LinkedHashMap<>();
-		//indexing -> 0: Forest corridor, 1: Wetland corridor, 2: River corridor, 3: Mountain corridor, 4: Prairie corridor
-		matchHabitatCorridors.put(Habitat.Forest, 1); //4
-		matchHabitatCorridors.put(Habitat.Wetland, 2); //3
-		matchHabitatCorridors.put(Habitat.River, 3); //2
-		matchHabitatCorridors.put(Habitat.Mountain, 4); //2
-		matchHabitatCorridors.put(Habitat.Prairie, 5); //1
-		
-		int[] rankedDeck = bot.rankDeckTiles(deckTiles, matchHabitatCorridors);
-		String ranked = "[4, 3, 2, 1]";
-		assertEquals(ranked, Arrays.toString(rankedDeck));
-	}
 }
@@ -0,0 +1,91 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimeAllocatorTest {
+    private static final long TURN = 1_000_000_000L;
+    private TimeAllocator allocator;
+
+    @Before
+    public void makeAllocator() {
+        allocator = new TimeAllocator(TURN);
+    }
+
+    @Test
+    public void testLaterTurnsGetMoreTime() {
+        long first = allocator.allocate(20, 1);
+        assertEquals(20 * TURN, allocator.getGameBudgetNanos());
+        // with no time used, the middle of the game gets more than the start
+        long middle = allocator.allocate(12, 1);
+        long end = allocator.allocate(2, 1);
+        assertTrue(first < middle);
+        assertTrue(middle < end);
+        // the last turn gets everything that is left
+        assertEquals(20 * TURN, allocator.allocate(1, 1));
+    }
+
+    @Test
+    public void testAverageStaysTheSame() {
+        long total = 0;
+        for (int turnsLeft = 20; turnsLeft >= 1; turnsLeft--) {
+            long budget = allocator.allocate(turnsLeft, 1);
+            total += budget;
+            allocator.record(budget);
+        }
+        assertEquals(20 * TURN, total, TURN / 100);
+    }
+
+    @Test
+    public void testComplexityScalesTheShare() {
+        allocator.allocate(20, 1);
+        long easy = allocator.allocate(10, 0.5);
+        long usual = allocator.allocate(10, 1);
+        long hard = allocator.allocate(10, 1.5);
+        assertEquals(usual / 2, easy, 1);
+        assertTrue(hard > usual);
+        // however hard a turn is it doesn't take most of what's left
+        assertTrue(allocator.allocate(3, 100) <= 0.4 * 20 * TURN);
+    }
+
+    @Test
+    public void testOverrunsLeaveLessForLater() {
+        long before = allocator.allocate(20, 1);
+        allocator.record(5 * TURN);
+        assertTrue(allocator.allocate(19, 1) < before);
+    }
+
+    @Test
+    public void testDeckDiversity() {
+        PlayerMap map = new PlayerMap();
+        HabitatTile tile = new HabitatTile(HabitatTile.Habitat.Forest,
+                HabitatTile.Habitat.River, 2);
+        HabitatTile other = new HabitatTile(HabitatTile.Habitat.Wetland,
+                HabitatTile.Habitat.Mountain, 2);
+        // identical pairs are only counted once
+        double same = TimeAllocator.complexity(map, List.of(tile, tile.duplicate()),
+                List.of(WildlifeToken.Bear, WildlifeToken.Bear));
+        double different = TimeAllocator.complexity(map, List.of(tile, other),
+                List.of(WildlifeToken.Bear, WildlifeToken.Elk));
+        assertEquals(Math.sqrt(2), different / same, 1e-9);
+    }
+}
@@ -0,0 +1,166 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+
+package cascadia;
+
+import java.util.function.BooleanSupplier;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class TimeControlTest {
+    private long now;
+    private TimeControl time;
+
+    @Before
+    public void makeClock() {
+        now = 0;
+        // 100ns budget, 20ns increment, soft deadline half way
+        time = new TimeControl(100, 20, 0.5, () -> now);
+    }
+
+    private boolean pollFully(BooleanSupplier check) {
+        boolean left = true;
+        for (int i = 0; i < TimeControl.POLL_INTERVAL; i++) {
+            left = check.getAsBoolean();
+        }
+        return left;
+    }
+
+    @Test
+    public void testNoTimeOutsideTurns() {
+        assertFalse(time.isTimeLeft());
+        time.startTurn();
+        assertTrue(time.isTimeLeft());
+        time.endTurn();
+        assertFalse(time.isTimeLeft());
+        assertFalse(time.isSoftTimeLeft());
+    }
+
+    @Test
+    public void testSoftAndHardDeadlines() {
+        time.startTurn();
+        now = 40;
+        assertTrue(time.isSoftTimeLeft());
+        now = 60;
+        assertFalse(time.isSoftTimeLeft());
+        assertTrue(pollFully(time::isTimeLeft));
+        assertTrue(time.isTimeLeft(0.75));
+        now = 80;
+        assertFalse(time.isTimeLeft(0.75));
+        now = 101;
+        assertFalse(pollFully(time::isTimeLeft));
+        // once it has run out it stays out without reading the clock again
+        now = 50;
+        assertFalse(time.isTimeLeft());
+    }
+
+    @Test
+    public void testClockOnlyReadEveryInterval() {
+        time.startTurn();
+        now = 1000;
+        for (int i = 1; i < TimeControl.POLL_INTERVAL; i++) {
+            assertTrue(time.isTimeLeft());
+        }
+        assertFalse(time.isTimeLeft());
+    }
+
+    @Test
+    public void testPollersCountSeparately() {
+        time.startTurn();
+        BooleanSupplier first = time.poller();
+        BooleanSupplier second = time.poller();
+        now = 1000;
+        assertFalse(pollFully(first));
+        // the first poller noticed the deadline, so the second one stops too
+        assertFalse(second.getAsBoolean());
+    }
+
+    @Test
+    public void testFractionPollerStops() {
+        time.startTurn();
+        BooleanSupplier half = time.poller(0.5);
+        now = 40;
+        assertTrue(pollFully(half));
+        now = 60;
+        assertFalse(pollFully(half));
+        // it doesn't start again between readings of the clock, though the turn goes on
+        assertFalse(half.getAsBoolean());
+        assertTrue(time.isTimeLeft(1));
+    }
+
+    @Test
+    public void testBankGrowsAndOverrunsCostTime() {
+        time.startTurn();
+        now = 50;
+        assertEquals(50, time.endTurn());
+        assertEquals(20, time.getBankNanos());
+
+        // the banked time extends the hard deadline
+        time.startTurn();
+        now = 165;
+        assertTrue(pollFully(time::isTimeLeft));
+        now = 200;
+        time.endTurn();
+        // 20 banked + 20 increment - 50 over the budget, but never below 0
+        assertEquals(0, time.getBankNanos());
+    }
+
+    @Test
+    public void testCancelledBudget() {
+        time.startTurn();
+        TurnBudget budget = new TurnBudget(time);
+        assertTrue(budget.isTimeLeft());
+        budget.cancel();
+        assertFalse(budget.isTimeLeft());
+        assertFalse(budget.poller().getAsBoolean());
+        assertTrue(time.isTimeLeft());
+    }
+
+    @Test
+    public void testBestMoveChangesPushBackTheSoftDeadline() {
+        time.startTurn(200);
+        TurnBudget budget = new TurnBudget(time);
+        now = 120;
+        budget.reportBestMove(new int[]{0, 0});
+        budget.reportBestMove(new int[]{0, 0});
+        assertFalse(budget.isSoftTimeLeft());
+        budget.reportBestMove(new int[]{1, 0});
+        // half way from the soft deadline (100) to the hard one (200)
+        assertTrue(budget.isSoftTimeLeft());
+        now = 151;
+        assertFalse(budget.isSoftTimeLeft());
+    }
+
+    @Test
+    public void testBestSoFar() {
+        time.startTurn();
+        TurnBudget budget = new TurnBudget(time);
+        assertNull(budget.getBestSoFar());
+        budget.offerFallback(new int[]{0, 0});
+        budget.offerFallback(new int[]{1, 1});
+        assertArrayEquals(new int[]{0, 0}, budget.getBestSoFar());
+        budget.reportBestMove(new int[]{2, 2});
+        budget.offerFallback(new int[]{3, 3});
+        assertArrayEquals(new int[]{2, 2}, budget.getBestSoFar());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBudgetMustBePositive() {
+        new TimeControl(0, 0);
+    }
+}
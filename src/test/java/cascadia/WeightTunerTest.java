@@ -0,0 +1,70 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WeightTunerTest {
+    @Before
+    public void generateScorecards() {
+        TestFixtures.useBotScorecards();
+    }
+
+    @Test
+    public void testSelfPlayIsRepeatable() {
+        LinearEvaluator[] evaluators = {new LinearEvaluator(), new LinearEvaluator()};
+        int[] scores = SelfPlay.play(evaluators, 42);
+        assertEquals(2, scores.length);
+        assertTrue(scores[0] > 0 && scores[1] > 0);
+        assertArrayEquals(scores, SelfPlay.play(evaluators, 42));
+    }
+
+    @Test
+    public void testCheckpointResumes() throws Exception {
+        Path dir = Files.createTempDirectory("tuner");
+        Path checkpoint = dir.resolve("weights.txt");
+        WeightTuner tuner = new WeightTuner(checkpoint, 2, 1);
+        try {
+            tuner.step(2);
+        } finally {
+            tuner.shutdown();
+        }
+        assertTrue(Files.exists(checkpoint));
+        assertFalse(Files.exists(dir.resolve("weights.txt.tmp")));
+
+        WeightTuner resumed = new WeightTuner(checkpoint, 1, 2);
+        resumed.shutdown();
+        assertEquals(1, resumed.getIteration());
+        assertEquals(2, resumed.getGames());
+        assertArrayEquals(tuner.getWeights(), resumed.getWeights(), 0f);
+        // the bias and turns left aren't tuned
+        assertEquals(LinearEvaluator.defaultWeights()[FeatureExtractor.BIAS],
+                resumed.getWeights()[FeatureExtractor.BIAS], 0f);
+    }
+
+    @Test
+    public void testWeightsRoundTrip() {
+        float[] weights = LinearEvaluator.defaultWeights();
+        weights[3] = -1.25f;
+        assertArrayEquals(weights,
+                WeightTuner.parseWeights(WeightTuner.formatWeights(weights)), 0f);
+    }
+}
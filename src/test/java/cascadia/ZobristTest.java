@@ -0,0 +1,115 @@
+/*
+	COMP20050 Group 12
+	Eoin Creavin – Student ID: 21390601
+	eoin.creavin@ucdconnect.ie
+	GitHub ID: eoin-cr
+
+	Mynah Bhattacharyya – Student ID: 21201085
+	malhar.bhattacharyya@ucdconnect.ie
+	GitHub ID: mynah-bird
+
+	Ben McDowell – Student ID: 21495144
+	ben.mcdowell@ucdconnect.ie
+	GitHub ID: Benmc1
+ */
+
+package cascadia;
+
+import cascadia.HabitatTile.Habitat;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ZobristTest {
+    private Player player;
+    private PlayerMap map;
+
+    @Before
+    public void generateMap() {
+        player = new Player("p");
+        map = player.getMap();
+        map.clearTileBoard();
+    }
+
+    @Test
+    public void testIncrementalHashMatchesFullHash() {
+        map.addTileToMap(new HabitatTile(Habitat.Forest, Habitat.River, 2), 9, 9);
+        HabitatTile rotated = new HabitatTile(Habitat.Wetland, Habitat.Mountain, 3);
+        rotated.rotateTile(2);
+        map.addTileToMap(rotated, 9, 10);
+        HabitatTile keystone = new HabitatTile(Habitat.Prairie, Habitat.Prairie, 1);
+        map.addTileToMap(keystone, 10, 9);
+        assertEquals(Zobrist.hashBoard(map.getTileBoardPosition()), map.getZobristHash());
+
+        map.addTokenToTileForTesting(keystone.getTokenOptions()[0], keystone.getTileID(), player);
+        assertEquals(Zobrist.hashBoard(map.getTileBoardPosition()), map.getZobristHash());
+    }
+
+    @Test
+    public void testTranspositionsHashTheSame() {
+        HabitatTile first = new HabitatTile(Habitat.Forest, Habitat.River, 1);
+        HabitatTile second = new HabitatTile(Habitat.Mountain, Habitat.Mountain, 1);
+        map.addTileToMap(first, 9, 9);
+        map.addTileToMap(second, 9, 10);
+
+        PlayerMap other = new PlayerMap();
+        other.clearTileBoard();
+        other.addTileToMap(second.duplicate(), 9, 10);
+        other.addTileToMap(first.duplicate(), 9, 9);
+        assertEquals(map.getZobristHash(), other.getZobristHash());
+    }
+
+    @Test
+    public void testRotationChangesHash() {
+        HabitatTile tile = new HabitatTile(Habitat.Forest, Habitat.River, 1);
+        long before = Zobrist.tileKey(tile, 9, 9);
+        tile.rotateTile(1);
+        assertNotEquals(before, Zobrist.tileKey(tile, 9, 9));
+
+        // copies keep the rotation, so hash the same
+        assertEquals(Zobrist.tileKey(tile, 9, 9), Zobrist.tileKey(tile.duplicate(), 9, 9));
+    }
+
+    @Test
+    public void testDeckHashIgnoresOrder() {
+        HabitatTile a = new HabitatTile(Habitat.Forest, Habitat.River, 1);
+        HabitatTile b = new HabitatTile(Habitat.Wetland, Habitat.Prairie, 1);
+        long hash = Zobrist.hashDeck(java.util.List.of(a, b),
+                java.util.List.of(WildlifeToken.Bear, WildlifeToken.Elk));
+        long swapped = Zobrist.hashDeck(java.util.List.of(b, a),
+                java.util.List.of(WildlifeToken.Elk, WildlifeToken.Bear));
+        long repaired = Zobrist.hashDeck(java.util.List.of(a, b),
+                java.util.List.of(WildlifeToken.Elk, WildlifeToken.Bear));
+        assertEquals(hash, swapped);
+        assertNotEquals(hash, repaired);
+    }
+
+    @Test
+    public void testTableStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(4);
+        assertEquals(TranspositionTable.MISS, table.probe(12345L));
+        table.store(12345L, -7, 3, 42);
+        long entry = table.probe(12345L);
+        assertEquals(-7, TranspositionTable.score(entry));
+        assertEquals(3, TranspositionTable.depth(entry));
+        assertEquals(42, TranspositionTable.move(entry));
+
+        // a shallower search of the same position doesn't replace a deeper one
+        table.store(12345L, 10, 1, 0);
+        assertEquals(-7, TranspositionTable.score(table.probe(12345L)));
+    }
+
+    @Test
+    public void testTableReplacesOldEntriesFirst() {
+        TranspositionTable table = new TranspositionTable(2);
+        // with 4 entries in buckets of 2, these keys all land in the same bucket
+        table.store(0L, 1, 5, 0);
+        table.store(2L << 32 | 2L, 2, 5, 0);
+        table.newSearch();
+        table.store(4L << 32 | 4L, 3, 0, 0);
+        assertEquals(3, TranspositionTable.score(table.probe(4L << 32 | 4L)));
+        assertEquals(2, TranspositionTable.score(table.probe(2L << 32 | 2L)));
+        assertEquals(TranspositionTable.MISS, table.probe(0L));
+    }
+}